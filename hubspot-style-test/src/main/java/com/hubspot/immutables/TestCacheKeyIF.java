@@ -0,0 +1,15 @@
+package com.hubspot.immutables;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutables.style.HubSpotImmutableStyle;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@HubSpotImmutableStyle
+public interface TestCacheKeyIF {
+  long getPortalId();
+  String getName();
+  ImmutableList<String> getPath();
+  ImmutableMap<String, String> getLabels();
+}
@@ -0,0 +1,15 @@
+package com.hubspot.immutables;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutables.style.HubSpotFastStyle;
+import org.immutables.value.Value.Immutable;
+
+@Immutable(prehash = true)
+@HubSpotFastStyle
+public interface TestFastCacheKeyIF {
+  long getPortalId();
+  String getName();
+  ImmutableList<String> getPath();
+  ImmutableMap<String, String> getLabels();
+}
@@ -0,0 +1,21 @@
+package com.hubspot.immutables;
+
+import com.hubspot.immutable.collection.encoding.jdk.JdkListEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.jdk.JdkMapEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.jdk.JdkSetEncodingEnabled;
+import com.hubspot.immutables.style.HubSpotStyle;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@HubSpotStyle
+@JdkListEncodingEnabled
+@JdkSetEncodingEnabled
+@JdkMapEncodingEnabled
+public interface TestJdkCollectionsIF {
+  List<String> getNames();
+  Set<Integer> getIds();
+  Map<String, Integer> getCounts();
+}
@@ -0,0 +1,134 @@
+package com.hubspot.immutables;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@code HubSpotFastStyle} against {@code HubSpotImmutableStyle} on
+ * the same cache key model: building keys (where the fast style pays for
+ * hashing up front), hash map lookups with equal but not identical keys (where
+ * it saves rehashing), and {@code with*} copies that change one attribute.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="HubSpotFastStyleBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HubSpotFastStyleBenchmark {
+
+  private static final int KEYS = 1024;
+
+  @Param({ "1", "16" })
+  public int pathLength;
+
+  private Map<TestCacheKey, Integer> standardMap;
+  private Map<TestFastCacheKey, Integer> fastMap;
+  private TestCacheKey[] standardLookups;
+  private TestFastCacheKey[] fastLookups;
+
+  @Setup
+  public void setup() {
+    standardMap = new HashMap<>();
+    fastMap = new HashMap<>();
+    standardLookups = new TestCacheKey[KEYS];
+    fastLookups = new TestFastCacheKey[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      standardMap.put(standardKey(i), i);
+      fastMap.put(fastKey(i), i);
+      // built separately, so lookups can't short-circuit on identity
+      standardLookups[i] = standardKey(i);
+      fastLookups[i] = fastKey(i);
+    }
+  }
+
+  @Benchmark
+  public void standardBuild(Blackhole blackhole) {
+    for (int i = 0; i < KEYS; i++) {
+      blackhole.consume(standardKey(i));
+    }
+  }
+
+  @Benchmark
+  public void fastBuild(Blackhole blackhole) {
+    for (int i = 0; i < KEYS; i++) {
+      blackhole.consume(fastKey(i));
+    }
+  }
+
+  @Benchmark
+  public void standardLookup(Blackhole blackhole) {
+    for (TestCacheKey key : standardLookups) {
+      blackhole.consume(standardMap.get(key));
+    }
+  }
+
+  @Benchmark
+  public void fastLookup(Blackhole blackhole) {
+    for (TestFastCacheKey key : fastLookups) {
+      blackhole.consume(fastMap.get(key));
+    }
+  }
+
+  @Benchmark
+  public void standardWithAndLookup(Blackhole blackhole) {
+    for (TestCacheKey key : standardLookups) {
+      blackhole.consume(standardMap.get(key.withPortalId(key.getPortalId() + 1)));
+    }
+  }
+
+  @Benchmark
+  public void fastWithAndLookup(Blackhole blackhole) {
+    for (TestFastCacheKey key : fastLookups) {
+      blackhole.consume(fastMap.get(key.withPortalId(key.getPortalId() + 1)));
+    }
+  }
+
+  private TestCacheKey standardKey(int i) {
+    return TestCacheKey
+      .builder()
+      .setPortalId(i)
+      .setName("object-" + (i % 7))
+      .setPath(path(i))
+      .setLabels(ImmutableMap.of("env", "prod", "shard", Integer.toString(i % 3)))
+      .build();
+  }
+
+  private TestFastCacheKey fastKey(int i) {
+    return TestFastCacheKey
+      .builder()
+      .setPortalId(i)
+      .setName("object-" + (i % 7))
+      .setPath(path(i))
+      .setLabels(ImmutableMap.of("env", "prod", "shard", Integer.toString(i % 3)))
+      .build();
+  }
+
+  private ImmutableList<String> path(int i) {
+    ImmutableList.Builder<String> path = ImmutableList.builder();
+    for (int segment = 0; segment < pathLength; segment++) {
+      path.add("segment-" + ((i + segment) % 11));
+    }
+    return path.build();
+  }
+}
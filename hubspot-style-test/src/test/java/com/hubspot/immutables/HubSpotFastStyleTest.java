@@ -0,0 +1,72 @@
+package com.hubspot.immutables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutables.validation.InvalidImmutableStateException;
+import org.junit.Test;
+
+public class HubSpotFastStyleTest {
+
+  @Test
+  public void itKeepsHubSpotNaming() {
+    TestFastCacheKey key = TestFastCacheKey
+      .builder()
+      .setPortalId(53)
+      .setName("contacts")
+      .addPath("a", "b")
+      .putLabels("env", "prod")
+      .build();
+
+    assertThat(key.getPortalId()).isEqualTo(53);
+    assertThat(key.getName()).isEqualTo("contacts");
+    assertThat(key.getPath()).containsExactly("a", "b");
+    assertThat(key.getLabels()).containsEntry("env", "prod");
+  }
+
+  @Test
+  public void itThrowsInvalidImmutableStateException() {
+    assertThatThrownBy(() -> TestFastCacheKey.builder().setPortalId(53).build())
+      .isInstanceOf(InvalidImmutableStateException.class);
+  }
+
+  @Test
+  public void itHashesLikeTheDefaultStyle() {
+    TestFastCacheKey fast = TestFastCacheKey
+      .builder()
+      .setPortalId(53)
+      .setName("contacts")
+      .setPath(ImmutableList.of("a", "b"))
+      .setLabels(ImmutableMap.of("env", "prod"))
+      .build();
+    TestCacheKey standard = TestCacheKey
+      .builder()
+      .setPortalId(53)
+      .setName("contacts")
+      .setPath(ImmutableList.of("a", "b"))
+      .setLabels(ImmutableMap.of("env", "prod"))
+      .build();
+
+    assertThat(fast.hashCode()).isEqualTo(standard.hashCode());
+  }
+
+  @Test
+  public void itComparesEqualValues() {
+    TestFastCacheKey key = TestFastCacheKey
+      .builder()
+      .setPortalId(53)
+      .setName("contacts")
+      .addPath("a")
+      .build();
+    TestFastCacheKey copy = TestFastCacheKey.builder().from(key).build();
+    TestFastCacheKey other = key.withName("companies");
+
+    assertThat(copy).isEqualTo(key);
+    assertThat(copy.hashCode()).isEqualTo(key.hashCode());
+    assertThat(other).isNotEqualTo(key);
+    assertThat(other.withName("contacts")).isEqualTo(key);
+    assertThat(other.withName("contacts").hashCode()).isEqualTo(key.hashCode());
+  }
+}
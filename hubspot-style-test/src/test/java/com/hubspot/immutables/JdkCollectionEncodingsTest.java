@@ -0,0 +1,149 @@
+package com.hubspot.immutables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class JdkCollectionEncodingsTest {
+
+  @Test
+  public void itBuildsInInsertionOrder() {
+    TestJdkCollections value = TestJdkCollections
+      .builder()
+      .addNames("b", "a")
+      .addNames("c")
+      .addIds(3, 1, 3)
+      .addAllIds(Arrays.asList(2, 1))
+      .putCounts("z", 1)
+      .putCounts("y", 2)
+      .build();
+
+    assertThat(value.getNames()).containsExactly("b", "a", "c");
+    assertThat(value.getIds()).containsExactly(3, 1, 2);
+    assertThat(value.getCounts().keySet()).containsExactly("z", "y");
+    assertThat(value.getCounts()).containsEntry("y", 2);
+  }
+
+  @Test
+  public void itKeepsTheLastValueForARepeatedKey() {
+    TestJdkCollections value = TestJdkCollections
+      .builder()
+      .putCounts("a", 1)
+      .putCounts("b", 2)
+      .putCounts("a", 3)
+      .build();
+
+    assertThat(value.getCounts()).containsExactly(entry("a", 3), entry("b", 2));
+  }
+
+  @Test
+  public void itDefaultsToEmptyCollections() {
+    TestJdkCollections value = TestJdkCollections.builder().build();
+
+    assertThat(value.getNames()).isEmpty();
+    assertThat(value.getIds()).isEmpty();
+    assertThat(value.getCounts()).isEmpty();
+  }
+
+  @Test
+  public void itIsUnmodifiable() {
+    TestJdkCollections value = TestJdkCollections
+      .builder()
+      .addNames("a")
+      .addIds(1)
+      .putCounts("a", 1)
+      .build();
+
+    assertThatThrownBy(() -> value.getNames().add("b"))
+      .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> value.getIds().remove(1))
+      .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> value.getCounts().put("b", 2))
+      .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void itCopiesMutableInput() {
+    ArrayList<String> names = new ArrayList<>(Arrays.asList("a", "b"));
+    Map<String, Integer> counts = new LinkedHashMap<>();
+    counts.put("a", 1);
+
+    TestJdkCollections value = TestJdkCollections
+      .builder()
+      .setNames(names)
+      .setCounts(counts)
+      .build();
+    names.add("c");
+    counts.put("b", 2);
+
+    assertThat(value.getNames()).containsExactly("a", "b");
+    assertThat(value.getCounts()).containsOnlyKeys("a");
+  }
+
+  @Test
+  public void itDoesNotCopyCollectionsItAlreadyBuilt() {
+    TestJdkCollections value = TestJdkCollections
+      .builder()
+      .addNames("a", "b")
+      .addIds(1, 2)
+      .putCounts("a", 1)
+      .build();
+
+    TestJdkCollections copy = TestJdkCollections.builder().from(value).build();
+    TestJdkCollections with = value.withNames(value.getNames());
+
+    assertThat(copy.getNames()).isSameAs(value.getNames());
+    assertThat(copy.getIds()).isSameAs(value.getIds());
+    assertThat(copy.getCounts()).isSameAs(value.getCounts());
+    assertThat(with.getNames()).isSameAs(value.getNames());
+  }
+
+  @Test
+  public void itAppendsToACollectionThatWasSet() {
+    TestJdkCollections value = TestJdkCollections
+      .builder()
+      .setNames(Arrays.asList("a", "b"))
+      .addNames("c")
+      .setIds(Arrays.asList(1, 2))
+      .addIds(2, 3)
+      .build();
+
+    assertThat(value.getNames()).containsExactly("a", "b", "c");
+    assertThat(value.getIds()).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void itRejectsNullElements() {
+    assertThatThrownBy(() -> TestJdkCollections.builder().addNames("a", null))
+      .isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> TestJdkCollections.builder().putCounts("a", null))
+      .isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  public void itHasValueEquality() {
+    TestJdkCollections one = TestJdkCollections
+      .builder()
+      .addNames("a")
+      .addIds(1, 2)
+      .putCounts("a", 1)
+      .build();
+    TestJdkCollections two = TestJdkCollections
+      .builder()
+      .setNames(new ArrayList<>(Arrays.asList("a")))
+      .addIds(2, 1)
+      .putCounts("a", 1)
+      .build();
+
+    assertThat(one).isEqualTo(two);
+    assertThat(one.hashCode()).isEqualTo(two.hashCode());
+    assertThat(one.getIds()).isEqualTo(new HashSet<>(Arrays.asList(1, 2)));
+  }
+}
@@ -0,0 +1,50 @@
+package com.hubspot.immutables.style;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.hubspot.immutable.collection.encoding.CachedHashImmutableListEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.ImmutableMapEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.ImmutableSetEncodingEnabled;
+import com.hubspot.immutables.validation.InvalidImmutableStateException;
+import com.hubspot.rosetta.annotations.RosettaAnnotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.immutables.value.Value;
+import org.immutables.value.Value.Style.ImplementationVisibility;
+
+/**
+ * A variant of {@link HubSpotImmutableStyle} for values that are mostly used as
+ * hash keys, e.g. cache keys or keys of large maps. Annotate the type with
+ * {@code @Value.Immutable(prehash = true)} as well, a style can't set
+ * {@code prehash} for the types using it.
+ * <br>
+ * Compared to {@link HubSpotImmutableStyle}:
+ * <ul>
+ *   <li>With {@code prehash = true}, the hash code is computed once, when an instance is constructed, and kept in an extra {@code int} field. {@code hashCode()} is a field read, and {@code equals} compares hash codes before comparing any attribute, so unequal values are usually rejected without touching their attributes.</li>
+ *   <li>{@code ImmutableList} attributes are stored with their own hash code (see {@code CachedHashImmutableListEncoding}), which the generated {@code hashCode()} and {@code equals} use. A {@code with*} copy that changes another attribute reuses the list and its hash; {@code from} and builders hash each list once when they build it.</li>
+ *   <li>Every construction pays for hashing all attributes, including instances that are never hashed or compared. Values that are built often and rarely used as keys are better off with {@link HubSpotImmutableStyle}.</li>
+ * </ul>
+ * Naming, validation and the Guava collection requirements are the same as for {@link HubSpotImmutableStyle}.
+ */
+@Target({ ElementType.PACKAGE, ElementType.TYPE })
+@Retention(RetentionPolicy.CLASS) // Make it class retention for incremental compilation
+@JsonSerialize
+@Value.Style(
+  get = { "is*", "get*" }, // Detect 'get' and 'is' prefixes in accessor methods
+  init = "set*", // Builder initialization methods will have 'set' prefix
+  typeAbstract = { "Abstract*", "*IF" }, // 'Abstract' prefix, and 'IF' suffix, will be detected and trimmed
+  typeImmutable = "*", // No prefix or suffix for generated immutable type
+  throwForInvalidImmutableState = InvalidImmutableStateException.class,
+  optionalAcceptNullable = true, // allow for an Optional<T> to have a setter that takes a null value of T
+  forceJacksonPropertyNames = false, // otherwise we can't use RosettaNamingStrategies
+  visibility = ImplementationVisibility.SAME, // Generated class will have the same visibility as the abstract class/interface)
+  toBuilder = "toBuilder", // Generated immutables get toBuilder(), a builder holding all of their attributes
+  passAnnotations = { ImmutableInherited.class, RosettaAnnotation.class },
+  redactedMask = "**REDACTED**"
+)
+@ImmutableSetEncodingEnabled
+@CachedHashImmutableListEncodingEnabled
+@ImmutableMapEncodingEnabled
+public @interface HubSpotFastStyle {
+}
@@ -35,6 +35,7 @@ import org.immutables.value.Value.Style.ImplementationVisibility;
   optionalAcceptNullable = true, // allow for an Optional<T> to have a setter that takes a null value of T
   forceJacksonPropertyNames = false, // otherwise we can't use RosettaNamingStrategies
   visibility = ImplementationVisibility.SAME, // Generated class will have the same visibility as the abstract class/interface)
+  toBuilder = "toBuilder", // Generated immutables get toBuilder(), a builder holding all of their attributes
   passAnnotations = { ImmutableInherited.class, RosettaAnnotation.class },
   redactedMask = "**REDACTED**"
 )
@@ -12,6 +12,13 @@ import org.immutables.value.Value.Style.ImplementationVisibility;
 
 /**
  * Consider using {@link HubSpotImmutableStyle} instead.
+ *
+ * Collection attributes are built with JDK collections. To store them as
+ * exact-size unmodifiable collections that aren't copied again by
+ * {@code with*} and {@code from}, still without Guava, depend on
+ * {@code immutable-jdk-collection-encodings} and add
+ * {@code @JdkListEncodingEnabled}, {@code @JdkSetEncodingEnabled} and
+ * {@code @JdkMapEncodingEnabled} to the type.
  */
 @Target({ ElementType.PACKAGE, ElementType.TYPE })
 @Retention(RetentionPolicy.CLASS) // Make it class retention for incremental compilation
@@ -25,6 +32,7 @@ import org.immutables.value.Value.Style.ImplementationVisibility;
   optionalAcceptNullable = true, // allow for an Optional<T> to have a setter that takes a null value of T
   forceJacksonPropertyNames = false, // otherwise we can't use RosettaNamingStrategies
   visibility = ImplementationVisibility.SAME, // Generated class will have the same visibility as the abstract class/interface)
+  toBuilder = "toBuilder", // Generated immutables get toBuilder(), a builder holding all of their attributes
   jdkOnly = true, // For Guava 18+, this stops MoreObjects from being used in toString and ImmutableHashMap.Builder from being used for building map fields (among other effects).
   passAnnotations = { ImmutableInherited.class, RosettaAnnotation.class },
   redactedMask = "**REDACTED**"
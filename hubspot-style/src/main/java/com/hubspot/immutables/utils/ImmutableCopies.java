@@ -0,0 +1,231 @@
+package com.hubspot.immutables.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * {@link #freeze(Object)} converts a {@code @Value.Modifiable} that is about to
+ * be discarded with one copy of its lists and maps instead of two.
+ *
+ * To apply several changes to an immutable with one copy and one run of
+ * {@code @Value.Check}, use the {@code toBuilder()} that the HubSpot styles
+ * generate, the changes and {@code build()} rather than chained {@code with*}
+ * calls.
+ *
+ * The generated {@code builder()}, {@code from} and {@code build()} methods are
+ * looked up reflectively once per type and cached.
+ */
+public final class ImmutableCopies {
+
+  private static final ClassValue<Freezer> FREEZERS = new ClassValue<Freezer>() {
+    @Override
+    protected Freezer computeValue(Class<?> type) {
+      return Freezer.forType(type);
+    }
+  };
+
+  private ImmutableCopies() {}
+
+  /**
+   * Converts a generated {@code @Value.Modifiable} to its immutable type like
+   * {@code toImmutable()} does, with one copy of each list and map attribute
+   * instead of two. {@code toImmutable()} copies them into a builder, whose
+   * {@code build()} copies them again; here the builder gets the modifiable's
+   * {@code ArrayList} and {@code LinkedHashMap} as they are, and only
+   * {@code build()} copies them. Set attributes are copied twice, as before.
+   *
+   * Afterwards the modifiable's list and map attributes are {@code null}, so
+   * any further use of them fails with a {@code NullPointerException}. The
+   * modifiable must not be used again, and nothing may keep a reference to
+   * collections it returned. If the conversion fails, e.g. because a required
+   * attribute is missing, the modifiable is left as it was.
+   *
+   * The hand-off relies on the fields Immutables generates for modifiables
+   * and builders, and is checked once per type: if the builder has no field
+   * to take over one of the modifiable's lists or maps, freezing that type
+   * fails rather than falling back to a copy.
+   *
+   * @throws IllegalArgumentException if {@code modifiable} isn't a generated
+   *     modifiable whose immutable builder can take over its collections
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T freeze(Object modifiable) {
+    Freezer freezer = FREEZERS.get(
+      Objects.requireNonNull(modifiable, "modifiable").getClass()
+    );
+    try {
+      return (T) freezer.freeze(modifiable);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IllegalStateException(t);
+    }
+  }
+
+  private static final class Freezer {
+
+    private final MethodHandle builder;
+    private final MethodHandle from;
+    private final MethodHandle build;
+    private final List<HandOff> handOffs;
+
+    private Freezer(
+      MethodHandle builder,
+      MethodHandle from,
+      MethodHandle build,
+      List<HandOff> handOffs
+    ) {
+      this.builder = builder;
+      this.from = from;
+      this.build = build;
+      this.handOffs = handOffs;
+    }
+
+    private Object freeze(Object modifiable) throws Throwable {
+      Object[] owned = new Object[handOffs.size()];
+      for (int i = 0; i < owned.length; i++) {
+        HandOff handOff = handOffs.get(i);
+        owned[i] = handOff.modifiableGetter.invoke(modifiable);
+        // a fresh empty collection stands in while from() copies everything else
+        handOff.modifiableSetter.invoke(modifiable, handOff.empty.get());
+      }
+
+      Object result;
+      try {
+        Object builder = from.invoke(this.builder.invoke(), modifiable);
+        for (int i = 0; i < owned.length; i++) {
+          handOffs.get(i).builderSetter.invoke(builder, owned[i]);
+        }
+        result = build.invoke(builder);
+      } catch (Throwable t) {
+        for (int i = 0; i < owned.length; i++) {
+          handOffs.get(i).modifiableSetter.invoke(modifiable, owned[i]);
+        }
+        throw t;
+      }
+
+      for (HandOff handOff : handOffs) {
+        handOff.modifiableSetter.invoke(modifiable, null);
+      }
+      return result;
+    }
+
+    private static Freezer forType(Class<?> modifiableType) {
+      try {
+        Class<?> immutableType = modifiableType
+          .getDeclaredMethod("toImmutable")
+          .getReturnType();
+        Method builder = immutableType.getDeclaredMethod("builder");
+        if (!Modifier.isStatic(builder.getModifiers())) {
+          throw new NoSuchMethodException(immutableType.getName() + ".builder()");
+        }
+        Class<?> builderType = builder.getReturnType();
+
+        // generated builders have a from overload per abstract supertype; the
+        // one for the most specific type copies every attribute
+        Method from = null;
+        for (Method method : builderType.getDeclaredMethods()) {
+          if (
+            method.getName().equals("from") &&
+            method.getParameterCount() == 1 &&
+            method.getParameterTypes()[0].isAssignableFrom(modifiableType) &&
+            (from == null ||
+              from.getParameterTypes()[0].isAssignableFrom(method.getParameterTypes()[0]))
+          ) {
+            from = method;
+          }
+        }
+        if (from == null) {
+          throw new NoSuchMethodException(builderType.getName() + ".from");
+        }
+        Method build = builderType.getDeclaredMethod("build");
+
+        // the generated type may be package-private, like its abstract type
+        builder.setAccessible(true);
+        from.setAccessible(true);
+        build.setAccessible(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<HandOff> handOffs = new ArrayList<>();
+        for (Field field : modifiableType.getDeclaredFields()) {
+          Supplier<Object> empty = emptyFor(field.getType());
+          if (empty == null || Modifier.isStatic(field.getModifiers())) {
+            continue;
+          }
+
+          // the builder accumulates the attribute in a field of the same name
+          Field builderField = builderType.getDeclaredField(field.getName());
+          if (
+            Modifier.isStatic(builderField.getModifiers()) ||
+            !builderField.getType().isAssignableFrom(field.getType())
+          ) {
+            throw new NoSuchFieldException(
+              builderField + " can't take over a " + field.getType().getName()
+            );
+          }
+
+          field.setAccessible(true);
+          builderField.setAccessible(true);
+          handOffs.add(
+            new HandOff(
+              lookup.unreflectGetter(field),
+              lookup.unreflectSetter(field),
+              lookup.unreflectSetter(builderField),
+              empty
+            )
+          );
+        }
+        return new Freezer(
+          lookup.unreflect(builder),
+          lookup.unreflect(from),
+          lookup.unreflect(build),
+          Collections.unmodifiableList(handOffs)
+        );
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        throw new IllegalArgumentException(
+          modifiableType.getName() +
+          " is not a generated modifiable whose builder can take over its collections",
+          e
+        );
+      }
+    }
+
+    private static Supplier<Object> emptyFor(Class<?> type) {
+      if (type == ArrayList.class) {
+        return () -> new ArrayList<>(0);
+      } else if (type == LinkedHashMap.class) {
+        return () -> new LinkedHashMap<>(0);
+      } else {
+        return null;
+      }
+    }
+  }
+
+  private static final class HandOff {
+
+    private final MethodHandle modifiableGetter;
+    private final MethodHandle modifiableSetter;
+    private final MethodHandle builderSetter;
+    private final Supplier<Object> empty;
+
+    private HandOff(
+      MethodHandle modifiableGetter,
+      MethodHandle modifiableSetter,
+      MethodHandle builderSetter,
+      Supplier<Object> empty
+    ) {
+      this.modifiableGetter = modifiableGetter;
+      this.modifiableSetter = modifiableSetter;
+      this.builderSetter = builderSetter;
+      this.empty = empty;
+    }
+  }
+}
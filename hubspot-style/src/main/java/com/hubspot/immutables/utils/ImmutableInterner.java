@@ -0,0 +1,265 @@
+package com.hubspot.immutables.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizes equal immutables of one type to a single instance, so caches
+ * holding many equal values (e.g. identical settings for many portals) keep
+ * one copy. Unlike {@code @Value.Immutable(intern = true)}, which uses an
+ * unbounded strong interner, an {@code ImmutableInterner} either holds its
+ * canonical instances weakly ({@link #weak(Class)}) or keeps at most a fixed
+ * number of them ({@link #bounded(Class, long)}), and it counts hits, misses
+ * and retained instances per type. Every interner that is still reachable is
+ * listed by {@link #all()} so a metrics library can poll them.
+ *
+ * Interning is opted into per type with a {@code @Value.Check} method, which
+ * Immutables calls on every built instance and whose result replaces it:
+ *
+ * <pre>
+ * &#64;Value.Immutable
+ * &#64;HubSpotStyle
+ * public interface PortalSettingsIF {
+ *   ImmutableInterner&lt;PortalSettingsIF&gt; INTERNER = ImmutableInterner.weak(
+ *     PortalSettingsIF.class
+ *   );
+ *
+ *   &#64;Value.Check
+ *   default PortalSettingsIF intern() {
+ *     return INTERNER.intern(this);
+ *   }
+ * }
+ * </pre>
+ *
+ * Only intern types whose equality covers everything observable about them;
+ * callers get back an instance that is equal to, not identical to, what they
+ * built.
+ */
+public final class ImmutableInterner<T> {
+
+  // weakly held, so registering doesn't keep an interner or its type alive
+  private static final Set<ImmutableInterner<?>> REGISTRY = Collections.newSetFromMap(
+    new MapMaker().weakKeys().makeMap()
+  );
+
+  private final Class<T> type;
+  private final Store<T> store;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private ImmutableInterner(Class<T> type, Store<T> store) {
+    this.type = Objects.requireNonNull(type, "type");
+    this.store = store;
+  }
+
+  /**
+   * An interner that holds canonical instances weakly, so an instance is
+   * retained only while something else still references it.
+   */
+  public static <T> ImmutableInterner<T> weak(Class<T> type) {
+    return register(new ImmutableInterner<>(type, new WeakStore<>()));
+  }
+
+  /**
+   * An interner that strongly holds at most {@code maximumSize} canonical
+   * instances, evicting the least recently used ones first. An evicted
+   * instance stays valid; the next equal value just becomes canonical instead.
+   */
+  public static <T> ImmutableInterner<T> bounded(Class<T> type, long maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException(
+        "maximumSize must be positive, got " + maximumSize
+      );
+    }
+    return register(new ImmutableInterner<>(type, new BoundedStore<>(maximumSize)));
+  }
+
+  private static <T> ImmutableInterner<T> register(ImmutableInterner<T> interner) {
+    REGISTRY.add(interner);
+    return interner;
+  }
+
+  /**
+   * The interners that are still reachable, in no particular order.
+   */
+  public static List<ImmutableInterner<?>> all() {
+    return ImmutableList.copyOf(REGISTRY);
+  }
+
+  /**
+   * Returns the canonical instance equal to {@code value}, making
+   * {@code value} canonical if there is none.
+   */
+  public T intern(T value) {
+    T canonical = store.intern(Objects.requireNonNull(value, "value"));
+    if (canonical == value) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return canonical;
+  }
+
+  public Class<T> getType() {
+    return type;
+  }
+
+  /**
+   * Number of interned values that were replaced by an existing canonical
+   * instance.
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Number of interned values that became the canonical instance.
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public double getHitRate() {
+    long hits = this.hits.sum();
+    long total = hits + misses.sum();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * Number of canonical instances currently held. For weak interners this
+   * includes instances that were collected but not yet cleaned up.
+   */
+  public long getRetainedCount() {
+    return store.size();
+  }
+
+  public void resetStats() {
+    hits.reset();
+    misses.reset();
+  }
+
+  @Override
+  public String toString() {
+    return (
+      "ImmutableInterner{type=" +
+      type.getName() +
+      ", hits=" +
+      getHitCount() +
+      ", misses=" +
+      getMissCount() +
+      ", retained=" +
+      getRetainedCount() +
+      "}"
+    );
+  }
+
+  private interface Store<T> {
+    T intern(T value);
+
+    long size();
+  }
+
+  private static final class BoundedStore<T> implements Store<T> {
+
+    private final Cache<T, T> cache;
+
+    private BoundedStore(long maximumSize) {
+      this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    @Override
+    public T intern(T value) {
+      T existing = cache.asMap().putIfAbsent(value, value);
+      return existing != null ? existing : value;
+    }
+
+    @Override
+    public long size() {
+      return cache.size();
+    }
+  }
+
+  private static final class WeakStore<T> implements Store<T> {
+
+    private final ConcurrentMap<WeakEntry<T>, WeakEntry<T>> entries =
+      new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    @Override
+    public T intern(T value) {
+      expungeCollected();
+
+      // an entry that isn't inserted is never enqueued, since it's unreachable
+      WeakEntry<T> entry = new WeakEntry<>(value, queue);
+      while (true) {
+        WeakEntry<T> existing = entries.putIfAbsent(entry, entry);
+        if (existing == null) {
+          return value;
+        }
+
+        T canonical = existing.get();
+        if (canonical != null) {
+          return canonical;
+        }
+        // collected after it matched, drop it and try again
+        entries.remove(existing, existing);
+      }
+    }
+
+    @Override
+    public long size() {
+      expungeCollected();
+      return entries.size();
+    }
+
+    private void expungeCollected() {
+      Reference<? extends T> reference;
+      while ((reference = queue.poll()) != null) {
+        entries.remove(reference);
+      }
+    }
+  }
+
+  private static final class WeakEntry<T> extends WeakReference<T> {
+
+    private final int hash;
+
+    private WeakEntry(T referent, ReferenceQueue<T> queue) {
+      super(referent, queue);
+      this.hash = referent.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (o == this) {
+        return true;
+      } else if (!(o instanceof WeakEntry)) {
+        return false;
+      }
+
+      WeakEntry<?> other = (WeakEntry<?>) o;
+      if (hash != other.hash) {
+        return false;
+      }
+      T referent = get();
+      return referent != null && referent.equals(other.get());
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
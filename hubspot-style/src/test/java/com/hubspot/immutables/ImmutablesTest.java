@@ -71,6 +71,51 @@ public class ImmutablesTest {
       .isInstanceOf(InvalidImmutableStateException.class);
   }
 
+  @Test
+  public void itAppliesSeveralChangesThroughToBuilder() {
+    WidgetGuava widget = WidgetGuava
+      .builder()
+      .setAnInt(1)
+      .addSomeVals("a")
+      .addSomeOtherVals("b", "c")
+      .build();
+
+    WidgetGuava copy = widget
+      .toBuilder()
+      .setAnInt(2)
+      .setAnOptionalString("x")
+      .addSomeVals("d")
+      .build();
+
+    assertThat(copy.getAnInt()).isEqualTo(2);
+    assertThat(copy.getAnOptionalString()).contains("x");
+    assertThat(copy.getSomeVals()).containsExactly("a", "d");
+    assertThat(copy.getSomeOtherVals()).isSameAs(widget.getSomeOtherVals());
+    assertThat(widget.getAnInt()).isEqualTo(1);
+    assertThat(widget.getSomeVals()).containsExactly("a");
+  }
+
+  @Test
+  public void itValidatesOnlyTheResultOfToBuilder() {
+    WidgetGuava widget = WidgetGuava.builder().setAnInt(1).build();
+
+    // an intermediate withAnInt(10) copy would fail the check
+    assertThat(widget.toBuilder().setAnInt(10).setAnInt(5).build().getAnInt())
+      .isEqualTo(5);
+    assertThatThrownBy(() -> widget.toBuilder().setAnInt(10).build())
+      .isInstanceOf(InvalidImmutableStateException.class);
+  }
+
+  @Test
+  public void itCopiesInheritedAttributesThroughToBuilder() {
+    Foo foo = Foo.builder().setId(1).setName("name").build();
+
+    Foo copy = foo.toBuilder().setId(2).build();
+
+    assertThat(copy.getId()).isEqualTo(2);
+    assertThat(copy.getName()).isEqualTo("name");
+  }
+
   @Test
   public void itDeserializesJson() throws IOException {
     String inputJson =
@@ -0,0 +1,22 @@
+package com.hubspot.immutables.model;
+
+import com.hubspot.immutables.style.HubSpotStyle;
+import com.hubspot.immutables.utils.ImmutableInterner;
+import java.util.Set;
+import org.immutables.value.Value;
+
+@HubSpotStyle
+@Value.Immutable
+public interface PortalSettingsIF {
+  ImmutableInterner<PortalSettingsIF> INTERNER = ImmutableInterner.weak(
+    PortalSettingsIF.class
+  );
+
+  String getTimeZone();
+  Set<String> getEnabledFeatures();
+
+  @Value.Check
+  default PortalSettingsIF intern() {
+    return INTERNER.intern(this);
+  }
+}
@@ -0,0 +1,86 @@
+package com.hubspot.immutables.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hubspot.immutables.model.Foo;
+import com.hubspot.immutables.model.FooIF;
+import com.hubspot.immutables.model.ImmutableWithModifiable;
+import com.hubspot.immutables.model.ModifiableImmutableWithModifiable;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ImmutableCopiesTest {
+
+  @Test
+  public void itFreezesAModifiable() {
+    ModifiableImmutableWithModifiable modifiable = ModifiableImmutableWithModifiable
+      .create()
+      .setId(1)
+      .setDescription("Foo")
+      .addNames("Bill", "Bob");
+    ImmutableWithModifiable expected = modifiable.toImmutable();
+
+    ImmutableWithModifiable frozen = ImmutableCopies.freeze(modifiable);
+
+    assertThat(frozen).isEqualTo(expected);
+    assertThatThrownBy(() -> modifiable.addNames("Bert"))
+      .isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  public void itLeavesTheModifiableIntactIfFreezingFails() {
+    ModifiableImmutableWithModifiable modifiable = ModifiableImmutableWithModifiable
+      .create()
+      .setDescription("Foo")
+      .addNames("Bill");
+
+    assertThatThrownBy(() -> ImmutableCopies.freeze(modifiable))
+      .hasMessageContaining("not set [id]");
+
+    assertThat(modifiable.setId(1).addNames("Bob").toImmutable().getNames())
+      .containsExactly("Bill", "Bob");
+  }
+
+  // freeze relies on these private fields generated by Immutables; if their
+  // names or types change, freeze fails for every modifiable
+  @Test
+  public void itMatchesTheGeneratedFieldLayout() throws NoSuchFieldException {
+    assertThat(ModifiableImmutableWithModifiable.class.getDeclaredField("names").getType())
+      .isEqualTo(ArrayList.class);
+    assertThat(ImmutableWithModifiable.Builder.class.getDeclaredField("names").getType())
+      .isAssignableFrom(ArrayList.class);
+  }
+
+  @Test
+  public void itFailsForCollectionsTheBuilderCanNotTakeOver() {
+    assertThatThrownBy(() -> ImmutableCopies.freeze(new FooWithTags()))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasRootCauseMessage("tags");
+  }
+
+  // looks like a modifiable, but Foo's builder has nowhere to put its tags
+  private static final class FooWithTags implements FooIF {
+
+    private final ArrayList<String> tags = new ArrayList<>();
+
+    @Override
+    public int getId() {
+      return 1;
+    }
+
+    @Override
+    public String getName() {
+      return "name";
+    }
+
+    public List<String> getTags() {
+      return tags;
+    }
+
+    public Foo toImmutable() {
+      return Foo.builder().from(this).build();
+    }
+  }
+}
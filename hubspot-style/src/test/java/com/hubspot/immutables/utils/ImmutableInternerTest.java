@@ -0,0 +1,106 @@
+package com.hubspot.immutables.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hubspot.immutables.model.PortalSettings;
+import com.hubspot.immutables.model.PortalSettingsIF;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ImmutableInternerTest {
+
+  @Test
+  public void itCanonicalizesBuiltImmutables() {
+    PortalSettings first = PortalSettings
+      .builder()
+      .setTimeZone("America/New_York")
+      .addEnabledFeatures("a", "b")
+      .build();
+    PortalSettings second = PortalSettings
+      .builder()
+      .setTimeZone("America/New_York")
+      .addEnabledFeatures("a", "b")
+      .build();
+    PortalSettings other = second.withTimeZone("Europe/Dublin");
+
+    assertThat(second).isSameAs(first);
+    assertThat(other).isNotSameAs(first);
+    assertThat(other.withTimeZone("America/New_York")).isSameAs(first);
+    assertThat(ImmutableInterner.all()).contains(PortalSettingsIF.INTERNER);
+  }
+
+  @Test
+  public void itCountsHitsAndMisses() {
+    ImmutableInterner<String> interner = ImmutableInterner.weak(String.class);
+    String first = new String("value");
+    String second = new String("value");
+
+    assertThat(interner.intern(first)).isSameAs(first);
+    assertThat(interner.intern(second)).isSameAs(first);
+
+    assertThat(interner.getHitCount()).isEqualTo(1);
+    assertThat(interner.getMissCount()).isEqualTo(1);
+    assertThat(interner.getHitRate()).isEqualTo(0.5);
+    assertThat(interner.getRetainedCount()).isEqualTo(1);
+
+    interner.resetStats();
+    assertThat(interner.getHitCount()).isZero();
+  }
+
+  @Test
+  public void itReleasesWeaklyHeldInstances() throws InterruptedException {
+    ImmutableInterner<String> interner = ImmutableInterner.weak(String.class);
+    List<String> retained = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      String value = "value" + i;
+      if (i % 100 == 0) {
+        retained.add(value);
+      }
+      interner.intern(value);
+    }
+
+    for (int i = 0; i < 10 && interner.getRetainedCount() > retained.size(); i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertThat(interner.getRetainedCount()).isEqualTo(retained.size());
+    for (String value : retained) {
+      assertThat(interner.intern(new String(value))).isSameAs(value);
+    }
+  }
+
+  @Test
+  public void itBoundsRetainedInstances() {
+    ImmutableInterner<String> interner = ImmutableInterner.bounded(String.class, 100);
+
+    for (int i = 0; i < 1_000; i++) {
+      interner.intern("value" + i);
+    }
+
+    assertThat(interner.getRetainedCount()).isLessThanOrEqualTo(100);
+    assertThat(interner.getMissCount()).isEqualTo(1_000);
+  }
+
+  @Test
+  public void itRejectsBoundsBelowOne() {
+    assertThatThrownBy(() -> ImmutableInterner.bounded(String.class, 0))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("got 0");
+  }
+
+  @Test
+  public void itDoesNotKeepUnreachableInternersRegistered() throws InterruptedException {
+    int registered = ImmutableInterner.all().size();
+    ImmutableInterner.weak(String.class);
+
+    for (int i = 0; i < 10 && ImmutableInterner.all().size() > registered; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertThat(ImmutableInterner.all().size()).isLessThanOrEqualTo(registered);
+  }
+}
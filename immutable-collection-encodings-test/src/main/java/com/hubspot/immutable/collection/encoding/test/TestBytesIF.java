@@ -0,0 +1,13 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.hubspot.immutable.collection.encoding.ImmutableBytes;
+import com.hubspot.immutable.collection.encoding.ImmutableBytesEncodingEnabled;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@ImmutableBytesEncodingEnabled
+public interface TestBytesIF {
+  String getName();
+  ImmutableBytes getPayload();
+}
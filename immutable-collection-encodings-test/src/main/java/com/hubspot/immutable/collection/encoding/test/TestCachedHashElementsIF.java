@@ -0,0 +1,11 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.google.common.collect.ImmutableList;
+import org.immutables.value.Value.Immutable;
+
+// holds arbitrary elements, so tests can count how often they are hashed
+@Immutable
+@TestCachedHashStyle
+public interface TestCachedHashElementsIF {
+  ImmutableList<Object> getElements();
+}
@@ -0,0 +1,12 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestCachedHashStyle
+public interface TestCachedHashIF {
+  ImmutableList<String> getSegments();
+  List<Integer> getSortKeys();
+}
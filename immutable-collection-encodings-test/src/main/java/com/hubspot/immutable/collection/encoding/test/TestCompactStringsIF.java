@@ -0,0 +1,16 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.hubspot.immutable.collection.encoding.FrontCodedStringSet;
+import com.hubspot.immutable.collection.encoding.FrontCodedStringSetEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.Utf8StringList;
+import com.hubspot.immutable.collection.encoding.Utf8StringListEncodingEnabled;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@Utf8StringListEncodingEnabled
+@FrontCodedStringSetEncodingEnabled
+public interface TestCompactStringsIF {
+  Utf8StringList getWords();
+  FrontCodedStringSet getDomains();
+}
@@ -0,0 +1,16 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.hubspot.immutable.collection.encoding.DeltaLongList;
+import com.hubspot.immutable.collection.encoding.DeltaLongListEncodingEnabled;
+import java.util.List;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@DeltaLongListEncodingEnabled
+public interface TestDeltaLongIF {
+  DeltaLongList getTimestamps();
+
+  // encoded with ImmutableListEncoding, for comparison
+  List<Long> getBoxedTimestamps();
+}
@@ -0,0 +1,12 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.hubspot.immutable.collection.encoding.FrozenStringMap;
+import com.hubspot.immutable.collection.encoding.FrozenStringMapEncodingEnabled;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@FrozenStringMapEncodingEnabled
+public interface TestFrozenMapIF {
+  FrozenStringMap<Integer> getFlags();
+}
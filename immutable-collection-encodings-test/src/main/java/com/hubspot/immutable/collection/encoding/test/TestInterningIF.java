@@ -0,0 +1,14 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.Set;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestInterningStyle
+public interface TestInterningIF {
+  ImmutableList<String> getPath();
+  Set<String> getTags();
+  ImmutableMap<String, String> getProperties();
+}
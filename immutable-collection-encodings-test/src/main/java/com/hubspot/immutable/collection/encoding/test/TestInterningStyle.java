@@ -0,0 +1,30 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.hubspot.immutable.collection.encoding.InterningImmutableListEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.InterningImmutableMapEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.InterningImmutableSetEncodingEnabled;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.immutables.value.Value;
+import org.immutables.value.Value.Style.ImplementationVisibility;
+
+@Target({ ElementType.PACKAGE, ElementType.TYPE })
+@Retention(RetentionPolicy.CLASS) // Make it class retention for incremental compilation
+@JsonSerialize
+@Value.Style(
+  get = { "is*", "get*" }, // Detect 'get' and 'is' prefixes in accessor methods
+  init = "set*", // Builder initialization methods will have 'set' prefix
+  typeAbstract = { "Abstract*", "*IF" }, // 'Abstract' prefix, and 'IF' suffix, will be detected and trimmed
+  typeImmutable = "*", // No prefix or suffix for generated immutable type
+  visibility = ImplementationVisibility.SAME,
+  forceJacksonPropertyNames = false, // otherwise we can't use RosettaNamingStrategies
+  jacksonIntegration = true
+)
+@InterningImmutableMapEncodingEnabled
+@InterningImmutableSetEncodingEnabled
+@InterningImmutableListEncodingEnabled
+public @interface TestInterningStyle {
+}
@@ -0,0 +1,17 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.hubspot.immutable.collection.encoding.LazyImmutableList;
+import com.hubspot.immutable.collection.encoding.LazyImmutableListEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.LazyImmutableMap;
+import com.hubspot.immutable.collection.encoding.LazyImmutableMapEncodingEnabled;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@LazyImmutableListEncodingEnabled
+@LazyImmutableMapEncodingEnabled
+public interface TestLazyIF {
+  String getName();
+  LazyImmutableList<Long> getIds();
+  LazyImmutableMap<String, Integer> getCounts();
+}
@@ -0,0 +1,12 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.hubspot.immutable.collection.encoding.LongKeyedMap;
+import com.hubspot.immutable.collection.encoding.LongKeyedMapEncodingEnabled;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@LongKeyedMapEncodingEnabled
+public interface TestLongKeyedIF {
+  LongKeyedMap<String> getOwners();
+}
@@ -0,0 +1,10 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.google.common.collect.ImmutableMap;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+public interface TestMapLongKeyedIF {
+  ImmutableMap<Long, String> getOwners();
+}
@@ -0,0 +1,16 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.hubspot.immutable.collection.encoding.MappedStringMap;
+import com.hubspot.immutable.collection.encoding.MappedStringMapEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.MappedStringSet;
+import com.hubspot.immutable.collection.encoding.MappedStringSetEncodingEnabled;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@MappedStringSetEncodingEnabled
+@MappedStringMapEncodingEnabled
+public interface TestMappedIF {
+  MappedStringSet getBlockedDomains();
+  MappedStringMap getCategories();
+}
@@ -0,0 +1,13 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.hubspot.immutable.collection.encoding.PagedImmutableList;
+import com.hubspot.immutable.collection.encoding.PagedImmutableListEncodingEnabled;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@PagedImmutableListEncodingEnabled
+public interface TestPagedIF {
+  String getName();
+  PagedImmutableList<Integer> getValues();
+}
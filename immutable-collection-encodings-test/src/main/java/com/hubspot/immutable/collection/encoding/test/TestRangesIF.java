@@ -0,0 +1,16 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.google.common.collect.ImmutableRangeMap;
+import com.google.common.collect.ImmutableRangeSet;
+import com.hubspot.immutable.collection.encoding.ImmutableRangeMapEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.ImmutableRangeSetEncodingEnabled;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@ImmutableRangeSetEncodingEnabled
+@ImmutableRangeMapEncodingEnabled
+public interface TestRangesIF {
+  ImmutableRangeSet<Integer> getOpenHours();
+  ImmutableRangeMap<Long, String> getPriceTiers();
+}
@@ -0,0 +1,19 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.hubspot.immutable.collection.encoding.RoaringIntSet;
+import com.hubspot.immutable.collection.encoding.RoaringIntSetEncodingEnabled;
+import com.hubspot.immutable.collection.encoding.RoaringLongSet;
+import com.hubspot.immutable.collection.encoding.RoaringLongSetEncodingEnabled;
+import org.immutables.value.Value.Immutable;
+
+@Immutable
+@TestStyle
+@RoaringIntSetEncodingEnabled
+@RoaringLongSetEncodingEnabled
+public interface TestRoaringIF {
+  RoaringIntSet getPortalIds();
+
+  @JsonSerialize(using = RoaringLongSet.CompactSerializer.class)
+  RoaringLongSet getUserIds();
+}
@@ -0,0 +1,47 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hubspot.immutable.collection.encoding.AdaptiveExpectedSize;
+import org.junit.Test;
+
+public class AdaptiveExpectedSizeTest {
+
+  @Test
+  public void itTracksDecayingMax() {
+    AdaptiveExpectedSize expectedSize = new AdaptiveExpectedSize(true);
+
+    expectedSize.record(100);
+    assertThat(expectedSize.get()).isEqualTo(100);
+
+    expectedSize.record(10);
+    assertThat(expectedSize.get()).isEqualTo(88);
+
+    for (int i = 0; i < 100; i++) {
+      expectedSize.record(10);
+    }
+    assertThat(expectedSize.get()).isBetween(10, 16);
+
+    expectedSize.record(200);
+    assertThat(expectedSize.get()).isEqualTo(200);
+  }
+
+  @Test
+  public void itCapsEstimate() {
+    AdaptiveExpectedSize expectedSize = new AdaptiveExpectedSize(true);
+
+    expectedSize.record(Integer.MAX_VALUE);
+
+    assertThat(expectedSize.get()).isEqualTo(1 << 14);
+  }
+
+  @Test
+  public void itDoesNothingWhenDisabled() {
+    AdaptiveExpectedSize expectedSize = new AdaptiveExpectedSize(false);
+
+    expectedSize.record(100);
+
+    assertThat(expectedSize.get()).isZero();
+    assertThat(expectedSize.<String>newListBuilder().add("a").build()).containsExactly("a");
+  }
+}
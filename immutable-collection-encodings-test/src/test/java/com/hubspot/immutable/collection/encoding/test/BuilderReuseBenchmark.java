@@ -0,0 +1,89 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds one {@link TestList} and one {@link TestMap} per invocation, the way a
+ * batch job builds values in a loop, comparing a fresh generated builder for
+ * every value against one builder per thread that is reused with
+ * {@code clearStrings()}. Run it with the GC profiler to compare allocation
+ * rates ({@code gc.alloc.rate.norm} is bytes allocated per value):
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="BuilderReuseBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuilderReuseBenchmark {
+
+  @Param({ "4", "64" })
+  public int size;
+
+  private String[] keys;
+  // builders are thread-confined, hence the per-thread state
+  private TestList.Builder listBuilder;
+  private TestMap.Builder mapBuilder;
+
+  @Setup
+  public void setup() {
+    keys = new String[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = "key" + i;
+    }
+    listBuilder = TestList.builder();
+    mapBuilder = TestMap.builder();
+  }
+
+  @Benchmark
+  public TestList freshListBuilder() {
+    TestList.Builder builder = TestList.builder();
+    for (String key : keys) {
+      builder.addStrings(key);
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public TestList reusedListBuilder() {
+    listBuilder.clearStrings();
+    for (String key : keys) {
+      listBuilder.addStrings(key);
+    }
+    return listBuilder.build();
+  }
+
+  @Benchmark
+  public TestMap freshMapBuilder() {
+    TestMap.Builder builder = TestMap.builder();
+    for (String key : keys) {
+      builder.putStrings(key, key);
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public TestMap reusedMapBuilder() {
+    mapBuilder.clearStrings();
+    for (String key : keys) {
+      mapBuilder.putStrings(key, key);
+    }
+    return mapBuilder.build();
+  }
+}
@@ -0,0 +1,142 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import com.google.common.collect.ImmutableList;
+import com.hubspot.immutable.collection.encoding.HashedImmutableList;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class CachedHashListEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper()
+    .registerModule(new GuavaModule());
+
+  @Test
+  public void itBuildsLikeAnImmutableList() {
+    TestCachedHash test = TestCachedHash
+      .builder()
+      .addSegments("a", "b")
+      .addAllSegments(ImmutableList.of("c"))
+      .addSortKeys(2, 1)
+      .build();
+
+    assertThat(test.getSegments()).containsExactly("a", "b", "c");
+    assertThat(test.getSortKeys()).containsExactly(2, 1);
+    assertThat(test.toString()).contains("segments=[a, b, c]");
+  }
+
+  @Test
+  public void itWorksAsAHashKey() {
+    Map<TestCachedHash, String> owners = new HashMap<>();
+    owners.put(key("a", "b"), "first");
+    owners.put(key("a", "c"), "second");
+
+    assertThat(owners.get(key("a", "b"))).isEqualTo("first");
+    assertThat(owners.get(key("a", "c"))).isEqualTo("second");
+    assertThat(owners.get(key("a"))).isNull();
+    assertThat(key("a", "b").withSegments("a", "c")).isEqualTo(key("a", "c"));
+  }
+
+  @Test
+  public void itHashesElementsOnlyWhenBuilt() {
+    CountingHash element = new CountingHash();
+    HashedImmutableList<CountingHash> list = HashedImmutableList.of(
+      ImmutableList.of(element)
+    );
+    int hashesAtBuild = element.hashes;
+
+    list.hashCode();
+    list.equals(HashedImmutableList.of(ImmutableList.of(new CountingHash())));
+
+    assertThat(hashesAtBuild).isEqualTo(1);
+    assertThat(element.hashes).isEqualTo(1);
+    assertThat(list.hashCode()).isEqualTo(list.list().hashCode());
+  }
+
+  @Test
+  public void itSkipsElementComparisonWhenHashesDiffer() {
+    CountingHash first = new CountingHash();
+    CountingHash second = new CountingHash();
+    second.hash = 1;
+
+    assertThat(HashedImmutableList.of(ImmutableList.of(first)))
+      .isNotEqualTo(HashedImmutableList.of(ImmutableList.of(second)));
+    assertThat(first.comparisons + second.comparisons).isZero();
+  }
+
+  @Test
+  public void itUsesTheCachedHashInGeneratedHashCode() {
+    CountingHash element = new CountingHash();
+    TestCachedHashElements test = TestCachedHashElements
+      .builder()
+      .addElements(element)
+      .build();
+    int hashesAtBuild = element.hashes;
+
+    int hash = test.hashCode();
+    test.hashCode();
+    test.withElements(element, "other").hashCode();
+
+    assertThat(hashesAtBuild).isEqualTo(1);
+    // only the copy hashes its new list, once, when it's built
+    assertThat(element.hashes).isEqualTo(2);
+    assertThat(hash).isEqualTo(
+      TestCachedHashElements.builder().addElements(new CountingHash()).build().hashCode()
+    );
+  }
+
+  @Test
+  public void itComparesCachedHashesFirstInGeneratedEquals() {
+    CountingHash first = new CountingHash();
+    CountingHash second = new CountingHash();
+    second.hash = 1;
+    CountingHash equalToFirst = new CountingHash();
+
+    assertThat(TestCachedHashElements.builder().addElements(first).build())
+      .isNotEqualTo(TestCachedHashElements.builder().addElements(second).build());
+    assertThat(first.comparisons + second.comparisons).isZero();
+
+    assertThat(TestCachedHashElements.builder().addElements(first).build())
+      .isEqualTo(TestCachedHashElements.builder().addElements(equalToFirst).build());
+    assertThat(first.comparisons + equalToFirst.comparisons).isEqualTo(1);
+  }
+
+  @Test
+  public void itRoundTripsJson() throws IOException {
+    TestCachedHash test = key("a", "b");
+
+    String json = MAPPER.writeValueAsString(test);
+
+    assertThat(MAPPER.readTree(json).get("segments").toString())
+      .isEqualTo("[\"a\",\"b\"]");
+    assertThat(MAPPER.readValue(json, TestCachedHash.class)).isEqualTo(test);
+  }
+
+  private static TestCachedHash key(String... segments) {
+    return TestCachedHash.builder().addSegments(segments).addSortKeys(1).build();
+  }
+
+  private static class CountingHash {
+
+    private int hash = 0;
+    private int hashes = 0;
+    private int comparisons = 0;
+
+    @Override
+    public int hashCode() {
+      hashes++;
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      comparisons++;
+      return o instanceof CountingHash && ((CountingHash) o).hash == hash;
+    }
+  }
+}
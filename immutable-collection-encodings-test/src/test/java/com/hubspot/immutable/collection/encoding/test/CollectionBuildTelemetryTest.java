@@ -0,0 +1,127 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hubspot.immutable.collection.encoding.CollectionBuildTelemetry;
+import org.junit.Test;
+
+public class CollectionBuildTelemetryTest {
+
+  private static final CollectionBuildTelemetry STRINGS_TELEMETRY =
+    new CollectionBuildTelemetry(CollectionBuildTelemetryTest.class, "list", true, 1);
+
+  @Test
+  public void itRecordsSizeHistogram() {
+    CollectionBuildTelemetry telemetry = new CollectionBuildTelemetry(
+      CollectionBuildTelemetryTest.class,
+      "list",
+      true,
+      1
+    );
+
+    telemetry.recordBuild(0, true);
+    telemetry.recordBuild(1, false);
+    telemetry.recordBuild(5, false);
+    telemetry.recordBuild(7, false);
+    telemetry.recordBuild(Integer.MAX_VALUE, true);
+
+    long[] histogram = telemetry.getSizeHistogram();
+    assertThat(histogram[0]).isEqualTo(1);
+    assertThat(histogram[1]).isEqualTo(1);
+    assertThat(histogram[3]).isEqualTo(2);
+    assertThat(histogram[31]).isEqualTo(1);
+    assertThat(telemetry.getBuilds()).isEqualTo(5);
+    assertThat(telemetry.getTotalSize()).isEqualTo(13L + Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void itCountsAdoptedAndCopiedCollections() {
+    CollectionBuildTelemetry telemetry = new CollectionBuildTelemetry(
+      CollectionBuildTelemetryTest.class,
+      "map",
+      true,
+      1
+    );
+
+    telemetry.recordBuild(2, true);
+    telemetry.recordBuild(3, true);
+    telemetry.recordBuild(4, false);
+
+    assertThat(telemetry.getAdopted()).isEqualTo(2);
+    assertThat(telemetry.getCopied()).isEqualTo(1);
+    assertThat(telemetry.getBuilds()).isEqualTo(3);
+  }
+
+  @Test
+  public void itCountsUnsetAttributesApart() {
+    CollectionBuildTelemetry telemetry = new CollectionBuildTelemetry(
+      CollectionBuildTelemetryTest.class,
+      "set",
+      true,
+      1
+    );
+
+    telemetry.recordUnset();
+    telemetry.recordUnset();
+    telemetry.recordBuild(0, false);
+
+    assertThat(telemetry.getUnset()).isEqualTo(2);
+    assertThat(telemetry.getBuilds()).isEqualTo(1);
+    assertThat(telemetry.getSizeHistogram()[0]).isEqualTo(1);
+    assertThat(telemetry.getAdopted()).isZero();
+    assertThat(telemetry.getCopied()).isEqualTo(1);
+  }
+
+  @Test
+  public void itSamplesCalls() {
+    CollectionBuildTelemetry telemetry = new CollectionBuildTelemetry(
+      CollectionBuildTelemetryTest.class,
+      "set",
+      true,
+      10
+    );
+
+    for (int i = 0; i < 100_000; i++) {
+      telemetry.recordBuild(1, false);
+    }
+
+    assertThat(telemetry.getSampleRate()).isEqualTo(10);
+    assertThat(telemetry.getBuilds()).isBetween(9_000L, 11_000L);
+    assertThat(telemetry.getCopied()).isEqualTo(telemetry.getBuilds());
+  }
+
+  @Test
+  public void itDoesNothingWhenDisabled() {
+    CollectionBuildTelemetry telemetry = new CollectionBuildTelemetry(
+      CollectionBuildTelemetryTest.class,
+      "list",
+      false,
+      1
+    );
+
+    telemetry.recordBuild(10, true);
+
+    assertThat(telemetry.getBuilds()).isZero();
+    assertThat(telemetry.getAdopted()).isZero();
+  }
+
+  @Test
+  public void itResolvesAttributeFromOwningField() {
+    assertThat(STRINGS_TELEMETRY.getOwner())
+      .isEqualTo(CollectionBuildTelemetryTest.class);
+    assertThat(STRINGS_TELEMETRY.getAttribute()).isEqualTo("strings");
+  }
+
+  @Test
+  public void itRegistersNothingWhenDisabled() {
+    CollectionBuildTelemetry telemetry = CollectionBuildTelemetry.forAttribute(
+      CollectionBuildTelemetryTest.class,
+      "list"
+    );
+
+    telemetry.recordBuild(1, false);
+
+    assertThat(telemetry.getBuilds()).isZero();
+    assertThat(CollectionBuildTelemetry.all()).doesNotContain(telemetry);
+  }
+}
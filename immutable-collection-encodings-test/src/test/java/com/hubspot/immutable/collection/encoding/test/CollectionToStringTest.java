@@ -0,0 +1,72 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutable.collection.encoding.CollectionToString;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class CollectionToStringTest {
+
+  private static final List<Integer> LARGE_LIST = IntStream
+    .range(0, 10_000)
+    .boxed()
+    .collect(ImmutableList.toImmutableList());
+
+  @Test
+  public void itCapsRenderedElements() throws IOException {
+    assertThat(CollectionToString.appendTo(new StringBuilder(), LARGE_LIST, 3))
+      .hasToString("[0, 1, 2, ...and 9,997 more]");
+    assertThat(CollectionToString.appendTo(new StringBuilder(), LARGE_LIST, 0))
+      .hasToString("[...and 10,000 more]");
+  }
+
+  @Test
+  public void itRendersCollectionsWithinTheCapLikeToString() throws IOException {
+    List<String> list = ImmutableList.of("a", "b", "c");
+    ImmutableMap<String, Integer> map = ImmutableMap.of("a", 1, "b", 2);
+
+    assertThat(CollectionToString.appendTo(new StringBuilder(), list, 3))
+      .hasToString(list.toString());
+    assertThat(CollectionToString.appendTo(new StringBuilder(), map, 2))
+      .hasToString(map.toString());
+    assertThat(CollectionToString.appendTo(new StringBuilder(), ImmutableList.of(), 0))
+      .hasToString("[]");
+  }
+
+  @Test
+  public void itCapsRenderedMapEntries() throws IOException {
+    ImmutableMap<String, Integer> map = ImmutableMap.of("a", 1, "b", 2, "c", 3);
+
+    assertThat(CollectionToString.appendTo(new StringBuilder("map="), map, 1))
+      .hasToString("map={a=1, ...and 2 more}");
+  }
+
+  @Test
+  public void itAppendsToAnyAppendable() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    CollectionToString.appendTo(writer, LARGE_LIST, 2);
+
+    assertThat(writer).hasToString("[0, 1, ...and 9,998 more]");
+  }
+
+  @Test
+  public void itRendersEncodedAttributesWithoutCapByDefault() {
+    TestMap value = TestMap.of(
+      IntStream
+        .range(0, 100)
+        .boxed()
+        .collect(Collectors.toMap(i -> "k" + i, i -> "v" + i))
+    );
+
+    assertThat(CollectionToString.getMaxElements()).isEqualTo(Integer.MAX_VALUE);
+    assertThat(value.toString()).contains(value.getStrings().toString());
+  }
+}
@@ -0,0 +1,145 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.google.common.collect.ImmutableList;
+import com.hubspot.immutable.collection.encoding.CombinableImmutableListBuilder;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds a {@link TestList} with millions of elements from a fork-join task
+ * tree, comparing subtasks that gather into {@link ArrayList}s merged on the
+ * way up against subtasks that use {@link CombinableImmutableListBuilder},
+ * across pool sizes. The sequential benchmark is the single-threaded baseline.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="CombinableBuilderBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CombinableBuilderBenchmark {
+
+  private static final int LEAF_SIZE = 16_384;
+
+  @Param({ "1000000", "10000000" })
+  public int size;
+
+  @Param({ "1", "2", "4", "8" })
+  public int parallelism;
+
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setup() {
+    pool = new ForkJoinPool(parallelism);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public TestList sequential() {
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    for (int i = 0; i < size; i++) {
+      builder.add(element(i));
+    }
+    return TestList.builder().setStrings(builder.build()).build();
+  }
+
+  @Benchmark
+  public TestList forkJoinArrayListMerge() {
+    ArrayList<String> elements = pool.invoke(new ArrayListTask(0, size));
+    return TestList.builder().addAllStrings(elements).build();
+  }
+
+  @Benchmark
+  public TestList forkJoinCombine() {
+    CombinableImmutableListBuilder<String> elements = pool.invoke(
+      new CombiningTask(0, size)
+    );
+    return TestList.builder().addAllStrings(elements).build();
+  }
+
+  private static String element(int i) {
+    return Integer.toString(i);
+  }
+
+  private static class ArrayListTask extends RecursiveTask<ArrayList<String>> {
+
+    private final int from;
+    private final int to;
+
+    private ArrayListTask(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected ArrayList<String> compute() {
+      if (to - from <= LEAF_SIZE) {
+        ArrayList<String> elements = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+          elements.add(element(i));
+        }
+        return elements;
+      }
+
+      int middle = (from + to) >>> 1;
+      ArrayListTask right = new ArrayListTask(middle, to);
+      right.fork();
+      ArrayList<String> elements = new ArrayListTask(from, middle).compute();
+      elements.addAll(right.join());
+      return elements;
+    }
+  }
+
+  private static class CombiningTask
+    extends RecursiveTask<CombinableImmutableListBuilder<String>> {
+
+    private final int from;
+    private final int to;
+
+    private CombiningTask(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected CombinableImmutableListBuilder<String> compute() {
+      if (to - from <= LEAF_SIZE) {
+        CombinableImmutableListBuilder<String> elements =
+          new CombinableImmutableListBuilder<>();
+        for (int i = from; i < to; i++) {
+          elements.add(element(i));
+        }
+        return elements;
+      }
+
+      int middle = (from + to) >>> 1;
+      CombiningTask right = new CombiningTask(middle, to);
+      right.fork();
+      return new CombiningTask(from, middle).compute().combine(right.join());
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.hubspot.immutable.collection.encoding.FrontCodedStringSet;
+import com.hubspot.immutable.collection.encoding.Utf8StringList;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Measures retained size with JOL. The bounds are ratios with some headroom
+ * rather than exact numbers, since those depend on the JVM's object layout.
+ * On JDK 17 with compressed oops, 10,000 URLs take 1,000,032 bytes as an
+ * ImmutableList, 588,960 as a Utf8StringList, 1,065,600 as an ImmutableSet
+ * and 234,376 as a FrontCodedStringSet.
+ */
+public class CompactStringEncodingFootprintTest {
+
+  private static final int SIZE = 10_000;
+
+  @Test
+  public void itIsSmallerThanGuavaCollections() {
+    List<String> elements = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      elements.add("https://app.hubspot.com/contacts/" + i + "/objects/0-1/views");
+    }
+
+    long immutableList = GraphLayout
+      .parseInstance(ImmutableList.copyOf(elements))
+      .totalSize();
+    long utf8List = GraphLayout
+      .parseInstance(Utf8StringList.copyOf(elements))
+      .totalSize();
+    long immutableSet = GraphLayout
+      .parseInstance(ImmutableSet.copyOf(elements))
+      .totalSize();
+    long frontCodedSet = GraphLayout
+      .parseInstance(FrontCodedStringSet.copyOf(elements))
+      .totalSize();
+
+    assertThat(utf8List).isLessThan(immutableList * 7 / 10);
+    assertThat(frontCodedSet).isLessThan(utf8List / 2);
+    assertThat(frontCodedSet).isLessThan(immutableSet * 3 / 10);
+  }
+}
@@ -0,0 +1,107 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.hubspot.immutable.collection.encoding.FrontCodedStringSet;
+import com.hubspot.immutable.collection.encoding.Utf8StringList;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class CompactStringEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void itBuildsCompactStrings() {
+    TestCompactStrings test = TestCompactStrings
+      .builder()
+      .addWords("one", "two")
+      .addAllWords(Lists.newArrayList("three", "two"))
+      .addDomains("www.hubspot.com", "app.hubspot.com")
+      .addAllDomains(Lists.newArrayList("api.hubspot.com", "app.hubspot.com"))
+      .build();
+
+    assertThat(test.getWords()).containsExactly("one", "two", "three", "two");
+    assertThat(test.getDomains())
+      .containsExactly("api.hubspot.com", "app.hubspot.com", "www.hubspot.com");
+    assertThat(test.getDomains().contains("app.hubspot.com")).isTrue();
+    assertThat(test.getDomains().contains("hubspot.com")).isFalse();
+  }
+
+  @Test
+  public void itDefaultsToEmpty() {
+    TestCompactStrings test = TestCompactStrings.builder().build();
+
+    assertThat(test.getWords()).isSameAs(Utf8StringList.of());
+    assertThat(test.getDomains()).isSameAs(FrontCodedStringSet.of());
+  }
+
+  @Test
+  public void itReusesCompactCollectionsWhenCopying() {
+    TestCompactStrings test = TestCompactStrings
+      .builder()
+      .addWords("a")
+      .addDomains("b")
+      .build();
+
+    TestCompactStrings copy = TestCompactStrings.builder().from(test).build();
+
+    assertThat(copy.getWords()).isSameAs(test.getWords());
+    assertThat(copy.getDomains()).isSameAs(test.getDomains());
+    assertThat(test.withWords("c", "d").getWords()).containsExactly("c", "d");
+  }
+
+  @Test
+  public void itRoundTripsThroughJackson() throws JsonProcessingException {
+    TestCompactStrings test = TestCompactStrings
+      .builder()
+      .addWords("café", "", "😀")
+      .addDomains("b", "a", "😀")
+      .build();
+
+    String json = MAPPER.writeValueAsString(test);
+
+    assertThat(MAPPER.readValue(json, TestCompactStrings.class)).isEqualTo(test);
+  }
+
+  @Test
+  public void itRejectsUnpairedSurrogates() {
+    // getBytes would store both as "a?", equal to each other and to "a?"
+    assertThatThrownBy(() -> Utf8StringList.of("a\uD800"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("index 1");
+    assertThatThrownBy(() -> FrontCodedStringSet.of("a\uDC00"))
+      .isInstanceOf(IllegalArgumentException.class);
+
+    Utf8StringList list = Utf8StringList.of("a?", "\uD83D\uDE00");
+    FrontCodedStringSet set = FrontCodedStringSet.of("a?", "\uD83D\uDE00");
+    assertThat(list).containsExactly("a?", "\uD83D\uDE00");
+    assertThat(list.contains("a\uD800")).isFalse();
+    assertThat(set).containsExactly("a?", "\uD83D\uDE00");
+    assertThat(set.contains("a\uD800")).isFalse();
+  }
+
+  @Test
+  public void itMatchesJdkCollectionsAcrossBlocks() {
+    List<String> elements = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      elements.add("prefix/" + (i * 7 % 1_000));
+    }
+
+    Utf8StringList list = Utf8StringList.copyOf(elements);
+    FrontCodedStringSet set = FrontCodedStringSet.copyOf(elements);
+
+    assertThat(list).isEqualTo(elements);
+    assertThat(list.hashCode()).isEqualTo(elements.hashCode());
+    assertThat(set).hasSize(1_000).containsAll(elements);
+    assertThat(set.first()).isEqualTo("prefix/0");
+    assertThat(set.last()).isEqualTo("prefix/999");
+    assertThat(set.contains("prefix/1000")).isFalse();
+    assertThat(set.encodedSize()).isLessThan(list.encodedSize());
+  }
+}
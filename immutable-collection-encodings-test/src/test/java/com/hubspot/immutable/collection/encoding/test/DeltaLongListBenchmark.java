@@ -0,0 +1,100 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.hubspot.immutable.collection.encoding.DeltaLongList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares a {@link DeltaLongList} against the {@code ImmutableList<Long>}
+ * built by {@code ImmutableListEncoding}, for event timestamps a few seconds
+ * apart. Their retained sizes are compared by
+ * {@code DeltaLongListEncodingTest}.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="DeltaLongListBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DeltaLongListBenchmark {
+
+  private static final int LOOKUPS = 1024;
+
+  @Param({ "1000", "100000", "1000000" })
+  public int size;
+
+  private List<Long> boxed;
+  private DeltaLongList delta;
+  private int[] indexes;
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(42);
+    TestDeltaLong.Builder builder = TestDeltaLong.builder();
+    long timestamp = 1_700_000_000_000L;
+    for (int i = 0; i < size; i++) {
+      timestamp += random.nextInt(10_000);
+      builder.addTimestamps(timestamp).addBoxedTimestamps(timestamp);
+    }
+    TestDeltaLong test = builder.build();
+    boxed = test.getBoxedTimestamps();
+    delta = test.getTimestamps();
+
+    indexes = new int[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      indexes[i] = random.nextInt(size);
+    }
+  }
+
+  @Benchmark
+  public long boxedSum() {
+    long sum = 0;
+    for (Long timestamp : boxed) {
+      sum += timestamp;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long deltaSum() {
+    long sum = 0;
+    PrimitiveIterator.OfLong iterator = delta.longIterator();
+    while (iterator.hasNext()) {
+      sum += iterator.nextLong();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public void boxedGet(Blackhole blackhole) {
+    for (int index : indexes) {
+      blackhole.consume(boxed.get(index).longValue());
+    }
+  }
+
+  @Benchmark
+  public void deltaGet(Blackhole blackhole) {
+    for (int index : indexes) {
+      blackhole.consume(delta.getLong(index));
+    }
+  }
+}
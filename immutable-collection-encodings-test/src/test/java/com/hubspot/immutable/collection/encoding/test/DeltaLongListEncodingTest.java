@@ -0,0 +1,122 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.hubspot.immutable.collection.encoding.DeltaLongList;
+import java.io.IOException;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+public class DeltaLongListEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final long START = 1_700_000_000_000L;
+
+  @Test
+  public void itBuildsFromPrimitives() {
+    TestDeltaLong test = TestDeltaLong
+      .builder()
+      .addTimestamps(START, START + 5)
+      .addAllTimestamps(LongStream.of(START + 7, START + 1_000))
+      .addAllTimestamps(ImmutableList.of(START - 1))
+      .build();
+
+    assertThat(test.getTimestamps())
+      .containsExactly(START, START + 5, START + 7, START + 1_000, START - 1);
+    assertThat(test.getTimestamps().getLong(4)).isEqualTo(START - 1);
+  }
+
+  @Test
+  public void itSupportsRandomAccessAcrossCheckpoints() {
+    List<Long> expected = LongStream
+      .range(0, 1_000)
+      .map(i -> START + i * i)
+      .boxed()
+      .collect(Collectors.toList());
+    DeltaLongList list = DeltaLongList.copyOf(expected);
+
+    for (int i = 999; i >= 0; i -= 7) {
+      assertThat(list.getLong(i)).isEqualTo(expected.get(i));
+    }
+    assertThat(list).isEqualTo(expected);
+    assertThat(expected).isEqualTo(list);
+    assertThat(list.hashCode()).isEqualTo(expected.hashCode());
+  }
+
+  @Test
+  public void itIteratesWithoutBoxing() {
+    DeltaLongList list = DeltaLongList.of(3, 1, 4, 1, 5);
+
+    PrimitiveIterator.OfLong iterator = list.longIterator();
+    long sum = 0;
+    while (iterator.hasNext()) {
+      sum += iterator.nextLong();
+    }
+
+    assertThat(sum).isEqualTo(14);
+    assertThat(list.longStream().max().getAsLong()).isEqualTo(5);
+    assertThat(list.toLongArray()).containsExactly(3, 1, 4, 1, 5);
+  }
+
+  @Test
+  public void itHandlesExtremeDeltas() {
+    DeltaLongList list = DeltaLongList.of(Long.MIN_VALUE, Long.MAX_VALUE, 0, -1);
+
+    assertThat(list).containsExactly(Long.MIN_VALUE, Long.MAX_VALUE, 0L, -1L);
+  }
+
+  @Test
+  public void itStoresSmallDeltasCompactly() {
+    DeltaLongList list = DeltaLongList.copyOf(
+      LongStream
+        .range(0, 10_000)
+        .map(i -> START + i * 60_000)
+        .boxed()
+        .collect(Collectors.toList())
+    );
+
+    // one large first delta, then three bytes per one-minute step
+    assertThat(list.encodedSize()).isLessThan(10_000 * 3 + 10);
+  }
+
+  @Test
+  public void itRoundTripsJson() throws IOException {
+    TestDeltaLong test = TestDeltaLong
+      .builder()
+      .addTimestamps(START, START + 1, START + 2)
+      .build();
+
+    String json = MAPPER.writeValueAsString(test);
+
+    assertThat(MAPPER.readTree(json).get("timestamps").toString())
+      .isEqualTo("[" + START + "," + (START + 1) + "," + (START + 2) + "]");
+    assertThat(MAPPER.readValue(json, TestDeltaLong.class)).isEqualTo(test);
+  }
+
+  @Test
+  public void itIsMuchSmallerThanABoxedList() {
+    // JOL retained sizes for 100,000 timestamps 0-10s apart on JDK 17:
+    // 2,800,032 bytes as an ImmutableList<Long>, 236,328 as a DeltaLongList
+    SplittableRandom random = new SplittableRandom(42);
+    TestDeltaLong.Builder builder = TestDeltaLong.builder();
+    long timestamp = START;
+    for (int i = 0; i < 100_000; i++) {
+      timestamp += random.nextInt(10_000);
+      builder.addTimestamps(timestamp).addBoxedTimestamps(timestamp);
+    }
+    TestDeltaLong test = builder.build();
+
+    long boxed = GraphLayout.parseInstance(test.getBoxedTimestamps()).totalSize();
+    long delta = GraphLayout.parseInstance(test.getTimestamps()).totalSize();
+
+    assertThat(delta).isLessThan(boxed / 8);
+  }
+}
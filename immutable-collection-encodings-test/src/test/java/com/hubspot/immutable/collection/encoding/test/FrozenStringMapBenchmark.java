@@ -0,0 +1,96 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutable.collection.encoding.FrozenStringMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares lookups in the {@link ImmutableMap} built by
+ * {@code ImmutableMapEncoding} against {@link FrozenStringMap}, for keys that
+ * are present and keys that are not. Lookup keys are distinct instances from
+ * the map keys, so every hit pays for a full {@link String#equals}.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="FrozenStringMapBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrozenStringMapBenchmark {
+
+  private static final int LOOKUPS = 1024;
+
+  @Param({ "10", "1000", "100000" })
+  public int size;
+
+  private Map<String, String> immutableMap;
+  private Map<String, String> frozenMap;
+  private String[] hits;
+  private String[] misses;
+
+  @Setup
+  public void setup() {
+    TestMapWithParam.Builder builder = TestMapWithParam.builder().setName("benchmark");
+    for (int i = 0; i < size; i++) {
+      builder.putStrings("feature-flag-" + i, "value-" + i);
+    }
+    immutableMap = builder.build().getStrings();
+    frozenMap = FrozenStringMap.copyOf(immutableMap);
+
+    hits = new String[LOOKUPS];
+    misses = new String[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      // new String instances with their hash codes cached, like long-lived keys
+      hits[i] = new String("feature-flag-" + (i * 7919 % size));
+      hits[i].hashCode();
+      misses[i] = new String("feature-flag-missing-" + i);
+      misses[i].hashCode();
+    }
+  }
+
+  @Benchmark
+  public void immutableMapHits(Blackhole blackhole) {
+    for (String key : hits) {
+      blackhole.consume(immutableMap.get(key));
+    }
+  }
+
+  @Benchmark
+  public void frozenMapHits(Blackhole blackhole) {
+    for (String key : hits) {
+      blackhole.consume(frozenMap.get(key));
+    }
+  }
+
+  @Benchmark
+  public void immutableMapMisses(Blackhole blackhole) {
+    for (String key : misses) {
+      blackhole.consume(immutableMap.get(key));
+    }
+  }
+
+  @Benchmark
+  public void frozenMapMisses(Blackhole blackhole) {
+    for (String key : misses) {
+      blackhole.consume(frozenMap.get(key));
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutable.collection.encoding.FrozenStringMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class FrozenStringMapEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void itBuildsFrozenMap() {
+    TestFrozenMap test = TestFrozenMap
+      .builder()
+      .putFlags("one", 1)
+      .putFlags(entry("two", 2))
+      .putAllFlags(ImmutableMap.of("three", 3))
+      .build();
+
+    assertThat(test.getFlags())
+      .containsExactly(entry("one", 1), entry("two", 2), entry("three", 3));
+    assertThat(test.getFlags().get("two")).isEqualTo(2);
+    assertThat(test.getFlags().get("four")).isNull();
+    assertThat(test.getFlags().containsKey(2)).isFalse();
+  }
+
+  @Test
+  public void itReusesFrozenMapWhenCopying() {
+    TestFrozenMap test = TestFrozenMap.builder().putFlags("one", 1).build();
+
+    assertThat(TestFrozenMap.builder().from(test).build().getFlags())
+      .isSameAs(test.getFlags());
+    assertThat(test.withFlags(ImmutableMap.of("two", 2)).getFlags())
+      .containsExactly(entry("two", 2));
+  }
+
+  @Test
+  public void itMatchesHashMapLookups() {
+    Map<String, Integer> expected = new LinkedHashMap<>();
+    for (int i = 0; i < 10_000; i++) {
+      expected.put("flag-" + i, i);
+    }
+
+    FrozenStringMap<Integer> frozen = FrozenStringMap.copyOf(expected);
+
+    assertThat(frozen.isPerfectlyHashed()).isTrue();
+    assertThat(frozen).isEqualTo(expected);
+    assertThat(frozen.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(frozen.keySet()).containsExactlyElementsOf(expected.keySet());
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(frozen.get("flag-" + i)).isEqualTo(i);
+      assertThat(frozen.get("missing-" + i)).isNull();
+    }
+  }
+
+  @Test
+  public void itHandlesKeysWithEqualHashCodes() {
+    // "Aa" and "BB" have the same String#hashCode
+    FrozenStringMap<Integer> frozen = FrozenStringMap
+      .<Integer>builder()
+      .put("Aa", 1)
+      .put("BB", 2)
+      .put("C", 3)
+      .build();
+
+    assertThat(frozen.isPerfectlyHashed()).isFalse();
+    assertThat(frozen).containsExactly(entry("Aa", 1), entry("BB", 2), entry("C", 3));
+    assertThat(frozen.get("BB")).isEqualTo(2);
+  }
+
+  @Test
+  public void itRejectsDuplicateKeys() {
+    FrozenStringMap.Builder<Integer> builder = FrozenStringMap
+      .<Integer>builder()
+      .put("one", 1)
+      .put("two", 2)
+      .put("one", 3);
+
+    assertThatThrownBy(builder::build)
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("one");
+    assertThatThrownBy(() ->
+        MAPPER.readValue("{\"flags\":{\"a\":1,\"a\":2}}", TestFrozenMap.class)
+      )
+      .isInstanceOf(JsonMappingException.class)
+      .hasMessageContaining("same key: a");
+  }
+
+  @Test
+  public void itRoundTripsThroughJackson() throws JsonProcessingException {
+    TestFrozenMap test = TestFrozenMap
+      .builder()
+      .putFlags("b", 2)
+      .putFlags("a", 1)
+      .build();
+
+    TestFrozenMap read = MAPPER.readValue(
+      MAPPER.writeValueAsString(test),
+      TestFrozenMap.class
+    );
+
+    assertThat(read).isEqualTo(test);
+    assertThat(read.getFlags()).containsExactly(entry("b", 2), entry("a", 1));
+  }
+}
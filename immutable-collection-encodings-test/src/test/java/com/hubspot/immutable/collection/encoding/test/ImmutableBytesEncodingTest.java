@@ -0,0 +1,107 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hubspot.immutable.collection.encoding.ImmutableBytes;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.Test;
+
+public class ImmutableBytesEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final byte[] PAYLOAD = "payload".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] LOAD = "load".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void itCopiesCallerOwnedArraysOnce() {
+    byte[] input = PAYLOAD.clone();
+    TestBytes test = TestBytes.builder().setName("test").setPayload(input).build();
+    input[0] = 'X';
+
+    assertThat(test.getPayload().toByteArray()).isEqualTo(PAYLOAD);
+    assertThat(test.getPayload()).isSameAs(test.getPayload());
+  }
+
+  @Test
+  public void itCopiesTheRemainingBytesOfABuffer() {
+    ByteBuffer buffer = ByteBuffer.wrap(PAYLOAD);
+    buffer.position(3);
+
+    TestBytes test = TestBytes.builder().setName("test").setPayload(buffer).build();
+
+    assertThat(test.getPayload().toByteArray()).isEqualTo(LOAD);
+    assertThat(buffer.position()).isEqualTo(3);
+  }
+
+  @Test
+  public void itReadsWithoutCopying() throws IOException {
+    TestBytes test = TestBytes.builder().setName("test").setPayload(PAYLOAD).build();
+
+    ByteBuffer buffer = test.getPayload().asReadOnlyByteBuffer();
+    assertThat(buffer.isReadOnly()).isTrue();
+    assertThat(buffer.remaining()).isEqualTo(PAYLOAD.length);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    test.getPayload().writeTo(out);
+    test.getPayload().writeTo(Channels.newChannel(out));
+    assertThat(out.toString("UTF-8")).isEqualTo("payloadpayload");
+
+    assertThat(ImmutableBytes.readFrom(test.getPayload().newInput()))
+      .isEqualTo(test.getPayload());
+  }
+
+  @Test
+  public void itSharesTheArrayForSlices() {
+    ImmutableBytes bytes = ImmutableBytes.copyOf(PAYLOAD);
+    ImmutableBytes slice = bytes.slice(3, 7);
+
+    assertThat(slice).isEqualTo(ImmutableBytes.copyOf(LOAD));
+    assertThat(slice.hashCode()).isEqualTo(ImmutableBytes.copyOf(LOAD).hashCode());
+    assertThat(slice.asReadOnlyByteBuffer().get(0)).isEqualTo((byte) 'l');
+    assertThat(bytes.slice(0, PAYLOAD.length)).isSameAs(bytes);
+    assertThat(bytes.slice(2, 2)).isSameAs(ImmutableBytes.of());
+  }
+
+  @Test
+  public void itComparesContents() {
+    TestBytes one = TestBytes.builder().setName("test").setPayload(PAYLOAD).build();
+    TestBytes two = TestBytes
+      .builder()
+      .setName("test")
+      .setPayload(ByteBuffer.wrap(PAYLOAD.clone()))
+      .build();
+
+    assertThat(one).isEqualTo(two);
+    assertThat(one.hashCode()).isEqualTo(two.hashCode());
+    assertThat(one.withPayload(new byte[] { 1 })).isNotEqualTo(two);
+    assertThat(one.toString()).contains("payload=ImmutableBytes[size=7]");
+  }
+
+  @Test
+  public void itRoundTripsAsBase64() throws IOException {
+    TestBytes test = TestBytes.builder().setName("test").setPayload(PAYLOAD).build();
+
+    String json = MAPPER.writeValueAsString(test);
+    assertThat(MAPPER.readTree(json).get("payload").asText())
+      .isEqualTo(Base64.getEncoder().encodeToString(PAYLOAD));
+
+    assertThat(MAPPER.readValue(json, TestBytes.class)).isEqualTo(test);
+    assertThat(MAPPER.readValue(json.getBytes(StandardCharsets.UTF_8), TestBytes.class))
+      .isEqualTo(test);
+  }
+
+  @Test
+  public void itSerializesLikeAByteArray() throws IOException {
+    ImmutableBytes bytes = ImmutableBytes.copyOf(PAYLOAD).slice(1, 5);
+
+    assertThat(MAPPER.writeValueAsString(bytes))
+      .isEqualTo(MAPPER.writeValueAsString(bytes.toByteArray()));
+  }
+}
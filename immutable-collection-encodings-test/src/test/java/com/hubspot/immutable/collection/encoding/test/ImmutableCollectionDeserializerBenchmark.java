@@ -0,0 +1,85 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import com.hubspot.immutable.collection.encoding.ImmutableCollectionEncodingModule;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading an {@code ImmutableList} attribute through
+ * jackson-datatype-guava against {@link ImmutableCollectionEncodingModule}.
+ *
+ * Run with {@code -prof gc} to see the allocation difference as well:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="ImmutableCollectionDeserializerBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImmutableCollectionDeserializerBenchmark {
+
+  private static final ObjectMapper GUAVA_MAPPER = new ObjectMapper()
+    .registerModule(new GuavaModule());
+  private static final ObjectMapper ENCODING_MAPPER = new ObjectMapper()
+    .registerModule(new GuavaModule())
+    .registerModule(new ImmutableCollectionEncodingModule());
+
+  @Param({ "10", "1000", "100000" })
+  public int size;
+
+  private String listJson;
+  private String mapJson;
+
+  @Setup
+  public void setup() {
+    StringBuilder list = new StringBuilder("{\"name\":\"benchmark\",\"strings\":[");
+    StringBuilder map = new StringBuilder("{\"name\":\"benchmark\",\"strings\":{");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        list.append(',');
+        map.append(',');
+      }
+      list.append("\"value").append(i).append('"');
+      map.append("\"key").append(i).append("\":\"value").append(i).append('"');
+    }
+    listJson = list.append("]}").toString();
+    mapJson = map.append("}}").toString();
+  }
+
+  @Benchmark
+  public TestListWithParam guavaModuleList() throws IOException {
+    return GUAVA_MAPPER.readValue(listJson, TestListWithParam.class);
+  }
+
+  @Benchmark
+  public TestListWithParam encodingModuleList() throws IOException {
+    return ENCODING_MAPPER.readValue(listJson, TestListWithParam.class);
+  }
+
+  @Benchmark
+  public TestMapWithParam guavaModuleMap() throws IOException {
+    return GUAVA_MAPPER.readValue(mapJson, TestMapWithParam.class);
+  }
+
+  @Benchmark
+  public TestMapWithParam encodingModuleMap() throws IOException {
+    return ENCODING_MAPPER.readValue(mapJson, TestMapWithParam.class);
+  }
+}
@@ -0,0 +1,102 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.hubspot.immutable.collection.encoding.ImmutableCollectionEncodingModule;
+import org.junit.Test;
+
+public class ImmutableCollectionEncodingModuleTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper()
+    .registerModule(new GuavaModule())
+    .registerModule(new ImmutableCollectionEncodingModule());
+
+  @Test
+  public void itReadsImmutableListAttribute() throws JsonProcessingException {
+    TestListWithParam test = MAPPER.readValue(
+      "{\"name\":\"test\",\"strings\":[\"one\",\"two\"]}",
+      TestListWithParam.class
+    );
+
+    assertThat(test.getStrings()).containsExactly("one", "two");
+  }
+
+  @Test
+  public void itReadsImmutableSetAttribute() throws JsonProcessingException {
+    TestSetWithParam test = MAPPER.readValue(
+      "{\"name\":\"test\",\"strings\":[\"one\",\"two\",\"one\"]}",
+      TestSetWithParam.class
+    );
+
+    assertThat(test.getStrings()).containsExactly("one", "two");
+  }
+
+  @Test
+  public void itReadsImmutableMapAttribute() throws JsonProcessingException {
+    TestMapWithParam test = MAPPER.readValue(
+      "{\"name\":\"test\",\"strings\":{\"one\":\"1\",\"two\":\"2\"}}",
+      TestMapWithParam.class
+    );
+
+    assertThat(test.getStrings()).containsExactly(entry("one", "1"), entry("two", "2"));
+  }
+
+  @Test
+  public void itReadsLargeAndNestedCollections() throws JsonProcessingException {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 10_000; i++) {
+      json.append(i == 0 ? "" : ",").append("[").append(i).append("]");
+    }
+    json.append("]");
+
+    ImmutableList<ImmutableSet<Integer>> values = MAPPER.readValue(
+      json.toString(),
+      new TypeReference<ImmutableList<ImmutableSet<Integer>>>() {}
+    );
+
+    assertThat(values).hasSize(10_000);
+    assertThat(values.get(9_999)).containsExactly(9_999);
+  }
+
+  @Test
+  public void itConvertsMapKeys() throws JsonProcessingException {
+    ImmutableMap<Long, ImmutableList<String>> values = MAPPER.readValue(
+      "{\"1\":[\"a\"],\"2\":[]}",
+      new TypeReference<ImmutableMap<Long, ImmutableList<String>>>() {}
+    );
+
+    assertThat(values).containsOnlyKeys(1L, 2L);
+    assertThat(values.get(1L)).containsExactly("a");
+  }
+
+  @Test
+  public void itRejectsNullElements() {
+    assertThatThrownBy(() ->
+        MAPPER.readValue("[\"a\",null]", new TypeReference<ImmutableList<String>>() {})
+      )
+      .isInstanceOf(JsonMappingException.class)
+      .hasMessageContaining("Null elements are not allowed in ImmutableList");
+  }
+
+  @Test
+  public void itRejectsDuplicateKeys() {
+    assertThatThrownBy(() ->
+        MAPPER.readValue(
+          "{\"a\":\"1\",\"a\":\"2\"}",
+          new TypeReference<ImmutableMap<String, String>>() {}
+        )
+      )
+      .isInstanceOf(JsonMappingException.class)
+      .hasMessageContaining("Multiple entries with same key");
+  }
+}
@@ -1,6 +1,7 @@
 package com.hubspot.immutable.collection.encoding.test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -8,8 +9,14 @@ import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.hubspot.immutable.collection.encoding.CombinableImmutableListBuilder;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.Test;
 
 public class ImmutableListEncodingTest {
@@ -154,4 +161,141 @@ public class ImmutableListEncodingTest {
     TestListWithParamAndDefault param = TestListWithParamAndDefault.of("test");
     assertThat(param.getStrings()).containsExactly("default");
   }
+
+  @Test
+  public void itCanAcceptStream() {
+    TestList test = TestList
+      .builder()
+      .addAllStrings(Stream.of("testing", "a stream"))
+      .build();
+
+    assertThat(test.getStrings()).containsExactly("testing", "a stream");
+  }
+
+  @Test
+  public void itCanAcceptParallelStream() {
+    TestList test = TestList
+      .builder()
+      .addStrings("first")
+      .addAllStrings(IntStream.range(0, 10_000).parallel().mapToObj(Integer::toString))
+      .build();
+
+    assertThat(test.getStrings()).hasSize(10_001);
+    assertThat(test.getStrings().get(0)).isEqualTo("first");
+    assertThat(test.getStrings().get(10_000)).isEqualTo("9999");
+  }
+
+  @Test
+  public void itCanAppendStreamToInputImmutableList() {
+    List<String> strings = ImmutableList.of("testing");
+
+    TestList test = TestList
+      .builder()
+      .setStrings(strings)
+      .addAllStrings(Stream.of("a stream"))
+      .build();
+
+    assertThat(test.getStrings()).containsExactly("testing", "a stream");
+  }
+
+  @Test
+  public void itCanAcceptUnsizedSpliterator() {
+    Iterator<String> strings = Lists.newArrayList("testing", "a spliterator").iterator();
+
+    TestList test = TestList
+      .builder()
+      .addAllStrings(Spliterators.spliteratorUnknownSize(strings, Spliterator.ORDERED))
+      .build();
+
+    assertThat(test.getStrings()).containsExactly("testing", "a spliterator");
+  }
+
+  @Test
+  public void itAcceptsCombinedBuilders() {
+    CombinableImmutableListBuilder<String> left =
+      new CombinableImmutableListBuilder<String>().add("one", "two");
+    CombinableImmutableListBuilder<String> right =
+      new CombinableImmutableListBuilder<String>().addAll(ImmutableList.of("three"));
+
+    TestList test = TestList.builder().addAllStrings(left.combine(right)).build();
+
+    assertThat(test.getStrings()).containsExactly("one", "two", "three");
+    assertThat(right.size()).isZero();
+  }
+
+  @Test
+  public void itAppendsCombinedBuilders() {
+    TestList test = TestList
+      .builder()
+      .addStrings("first")
+      .addAllStrings(new CombinableImmutableListBuilder<String>().add("second"))
+      .build();
+
+    assertThat(test.getStrings()).containsExactly("first", "second");
+  }
+
+  @Test
+  public void itAcceptsExpectedSizeHint() {
+    TestList test = TestList
+      .builder()
+      .setStrings(ImmutableList.of("first"))
+      .expectedSizeOfStrings(3)
+      .addStrings("second", "third")
+      .build();
+
+    assertThat(test.getStrings()).containsExactly("first", "second", "third");
+  }
+
+  @Test
+  public void itDoesNotInitializeAttributeWithExpectedSizeHint() {
+    ImmutableList<String> strings = ImmutableList.of("first");
+
+    assertThat(TestListWithDefault.builder().expectedSizeOfInts(3).build().getInts())
+      .containsExactly(1);
+    assertThat(
+      TestList.builder().setStrings(strings).expectedSizeOfStrings(3).build().getStrings()
+    )
+      .isSameAs(strings);
+  }
+
+  @Test
+  public void itRejectsNegativeExpectedSizeHint() {
+    assertThatThrownBy(() -> TestList.builder().expectedSizeOfStrings(-1))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Expected size of strings cannot be negative but was: -1");
+  }
+
+  @Test
+  public void itCanReuseClearedBuilder() {
+    TestList.Builder builder = TestList.builder();
+
+    TestList first = builder.addStrings("a", "b").build();
+    TestList second = builder.clearStrings().addStrings("c").build();
+    TestList third = builder.clearStrings().build();
+
+    assertThat(first.getStrings()).containsExactly("a", "b");
+    assertThat(second.getStrings()).containsExactly("c");
+    assertThat(third.getStrings()).isEmpty();
+  }
+
+  @Test
+  public void itKeepsOtherAttributesOfAClearedBuilder() {
+    TestListWithParam.Builder builder = TestListWithParam.builder();
+
+    TestListWithParam first = builder.setName("first").addStrings("a").build();
+    TestListWithParam second = builder
+      .clearStrings()
+      .setName("second")
+      .addStrings("b")
+      .build();
+    // clear* only empties its collection; the name is stale until set again
+    TestListWithParam third = builder.clearStrings().addStrings("c").build();
+
+    assertThat(first.getName()).isEqualTo("first");
+    assertThat(first.getStrings()).containsExactly("a");
+    assertThat(second.getName()).isEqualTo("second");
+    assertThat(second.getStrings()).containsExactly("b");
+    assertThat(third.getName()).isEqualTo("second");
+    assertThat(third.getStrings()).containsExactly("c");
+  }
 }
@@ -1,13 +1,17 @@
 package com.hubspot.immutable.collection.encoding.test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.hubspot.immutable.collection.encoding.CombinableImmutableMapBuilder;
 import java.util.Map;
+import java.util.stream.IntStream;
 import org.junit.Test;
 
 public class ImmutableMapEncodingTest {
@@ -119,4 +123,188 @@ public class ImmutableMapEncodingTest {
     TestMapWithParam param = TestMapWithParam.of("test");
     assertThat(param.getStrings()).isNotNull();
   }
+
+  @Test
+  public void itCanAcceptEntryStream() {
+    TestMap test = TestMap
+      .builder()
+      .putAllStrings(ImmutableMap.of("testing", "this is a test").entrySet().stream())
+      .build();
+
+    assertThat(test.getStrings()).containsEntry("testing", "this is a test");
+  }
+
+  @Test
+  public void itCanAcceptParallelEntryStream() {
+    TestMap test = TestMap
+      .builder()
+      .putStrings("first", "value")
+      .putAllStrings(
+        IntStream
+          .range(0, 10_000)
+          .parallel()
+          .mapToObj(i -> Maps.immutableEntry("key" + i, "value" + i))
+      )
+      .build();
+
+    assertThat(test.getStrings()).hasSize(10_001);
+    assertThat(test.getStrings()).containsEntry("key9999", "value9999");
+  }
+
+  @Test
+  public void itAcceptsCombinedBuilders() {
+    CombinableImmutableMapBuilder<String, String> left =
+      new CombinableImmutableMapBuilder<String, String>().put("one", "1");
+    CombinableImmutableMapBuilder<String, String> right =
+      new CombinableImmutableMapBuilder<String, String>().put("two", "2");
+
+    TestMap test = TestMap.builder().putAllStrings(left.combine(right)).build();
+
+    assertThat(test.getStrings()).containsExactly(entry("one", "1"), entry("two", "2"));
+  }
+
+  @Test
+  public void itAcceptsExpectedSizeHint() {
+    TestMap test = TestMap
+      .builder()
+      .expectedSizeOfStrings(2)
+      .putStrings("one", "1")
+      .putStrings("two", "2")
+      .build();
+
+    assertThat(test.getStrings()).containsExactly(entry("one", "1"), entry("two", "2"));
+  }
+
+  @Test
+  public void itDoesNotInitializeAttributeWithExpectedSizeHint() {
+    assertThat(TestMapWithDefault.builder().expectedSizeOfInts(2).build().getInts())
+      .containsExactly(entry("one", 1));
+  }
+
+  @Test
+  public void itKeepsLastValueWhenReplacing() {
+    TestMap test = TestMap
+      .builder()
+      .putStrings("one", "1")
+      .putOrReplaceStrings("one", "uno")
+      .putAllOrReplaceStrings(ImmutableMap.of("two", "2", "one", "eins"))
+      .build();
+
+    assertThat(test.getStrings())
+      .containsExactly(entry("one", "eins"), entry("two", "2"));
+  }
+
+  @Test
+  public void itStillRejectsDuplicateKeysWithoutReplacing() {
+    assertThatThrownBy(() ->
+        TestMap.builder().putStrings("one", "1").putStrings("one", "uno").build()
+      )
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Multiple entries with same key");
+  }
+
+  @Test
+  public void itOnlyReplacesForThePutOrReplaceCall() {
+    assertThatThrownBy(() ->
+        TestMap
+          .builder()
+          .putOrReplaceStrings("one", "1")
+          .putStrings("one", "uno")
+          .build()
+      )
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Multiple entries with same key");
+
+    TestMap test = TestMap
+      .builder()
+      .putOrReplaceStrings("one", "1")
+      .putStrings("two", "2")
+      .build();
+
+    assertThat(test.getStrings()).containsExactly(entry("one", "1"), entry("two", "2"));
+  }
+
+  @Test
+  public void itReportsDuplicatesPutAroundReplacingPuts() {
+    assertThatThrownBy(() ->
+        TestMap
+          .builder()
+          .putOrReplaceStrings("one", "1")
+          .putStrings("two", "2")
+          .putAllStrings(ImmutableMap.of("two", "zwei"))
+          .build()
+      )
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Multiple entries with same key: two");
+
+    TestMap test = TestMap
+      .builder()
+      .setStrings(ImmutableMap.of("one", "1", "two", "2"))
+      .putOrReplaceStrings("two", "zwei")
+      .putStrings("three", "3")
+      .putOrReplaceStrings("three", "drei")
+      .build();
+
+    assertThat(test.getStrings())
+      .containsExactly(entry("one", "1"), entry("two", "zwei"), entry("three", "drei"));
+  }
+
+  @Test
+  public void itReportsDuplicateKeysOnBuild() {
+    TestMap.Builder builder = TestMap
+      .builder()
+      .putStrings("one", "1")
+      .putStrings("one", "uno")
+      .mergeStrings("two", "2", String::concat);
+
+    assertThatThrownBy(builder::build)
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Multiple entries with same key: one=");
+
+    TestMap test = builder
+      .setStrings(ImmutableMap.of("one", "1"))
+      .putOrReplaceStrings("one", "uno")
+      .build();
+
+    assertThat(test.getStrings()).containsExactly(entry("one", "uno"));
+  }
+
+  @Test
+  public void itMergesValues() {
+    TestMap test = TestMap
+      .builder()
+      .putStrings("a", "1")
+      .mergeStrings("a", "2", String::concat)
+      .mergeStrings("b", "3", String::concat)
+      .putStrings("c", "4")
+      .mergeStrings("a", "5", String::concat)
+      .build();
+
+    assertThat(test.getStrings())
+      .containsExactly(entry("a", "125"), entry("b", "3"), entry("c", "4"));
+    assertThatThrownBy(() ->
+        TestMap
+          .builder()
+          .mergeStrings("a", "1", String::concat)
+          .putStrings("a", "2")
+          .build()
+      )
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Multiple entries with same key");
+  }
+
+  @Test
+  public void itCanReuseClearedBuilder() {
+    TestMap.Builder builder = TestMap.builder();
+
+    TestMap first = builder.putOrReplaceStrings("a", "1").build();
+    TestMap second = builder.clearStrings().putStrings("b", "2").build();
+
+    assertThat(first.getStrings()).containsExactly(entry("a", "1"));
+    assertThat(second.getStrings()).containsExactly(entry("b", "2"));
+    assertThatThrownBy(() ->
+        builder.clearStrings().putStrings("c", "3").putStrings("c", "4").build()
+      )
+      .isInstanceOf(IllegalArgumentException.class);
+  }
 }
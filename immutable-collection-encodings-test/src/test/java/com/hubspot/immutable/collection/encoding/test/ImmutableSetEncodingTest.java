@@ -8,8 +8,11 @@ import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.hubspot.immutable.collection.encoding.CombinableImmutableSetBuilder;
 import java.util.Collections;
 import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.Test;
 
 public class ImmutableSetEncodingTest {
@@ -140,4 +143,51 @@ public class ImmutableSetEncodingTest {
     TestSetWithParam param = TestSetWithParam.of("test");
     assertThat(param.getStrings()).isNotNull();
   }
+
+  @Test
+  public void itCanAcceptStream() {
+    TestSet test = TestSet
+      .builder()
+      .addAllStrings(Stream.of("testing", "a stream", "testing"))
+      .build();
+
+    assertThat(test.getStrings()).containsExactly("testing", "a stream");
+  }
+
+  @Test
+  public void itCanAcceptParallelStream() {
+    TestSet test = TestSet
+      .builder()
+      .addStrings("first")
+      .addAllStrings(IntStream.range(0, 10_000).parallel().mapToObj(Integer::toString))
+      .build();
+
+    assertThat(test.getStrings()).hasSize(10_001);
+    assertThat(test.getStrings().iterator().next()).isEqualTo("first");
+  }
+
+  @Test
+  public void itCanAppendStreamToInputImmutableSet() {
+    Set<String> strings = ImmutableSet.of("testing");
+
+    TestSet test = TestSet
+      .builder()
+      .setStrings(strings)
+      .addAllStrings(Stream.of("a stream"))
+      .build();
+
+    assertThat(test.getStrings()).containsExactly("testing", "a stream");
+  }
+
+  @Test
+  public void itAcceptsCombinedBuilders() {
+    CombinableImmutableSetBuilder<String> left =
+      new CombinableImmutableSetBuilder<String>().add("one", "two");
+    CombinableImmutableSetBuilder<String> right =
+      new CombinableImmutableSetBuilder<String>().add("two", "three");
+
+    TestSet test = TestSet.builder().addAllStrings(left.combine(right)).build();
+
+    assertThat(test.getStrings()).containsExactly("one", "two", "three");
+  }
 }
@@ -0,0 +1,123 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.hubspot.immutable.collection.encoding.ImmutableCollectionInterner;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InterningImmutableEncodingTest {
+
+  @Before
+  public void setup() {
+    ImmutableCollectionInterner.resetStats();
+  }
+
+  @Test
+  public void itSharesEqualCollectionsAcrossInstances() {
+    TestInterning first = TestInterning
+      .builder()
+      .addPath("a", "b")
+      .addTags("tag")
+      .putProperties("key", "value")
+      .build();
+    TestInterning second = TestInterning
+      .builder()
+      .addAllPath(Lists.newArrayList("a", "b"))
+      .addTags("tag")
+      .putProperties("key", "value")
+      .build();
+
+    assertThat(second.getPath()).isSameAs(first.getPath());
+    assertThat(second.getTags()).isSameAs(first.getTags());
+    assertThat(second.getProperties()).isSameAs(first.getProperties());
+  }
+
+  @Test
+  public void itInternsCopiedValues() {
+    TestInterning first = TestInterning.builder().addPath("with", "path").build();
+
+    TestInterning second = TestInterning
+      .builder()
+      .build()
+      .withPath(Lists.newArrayList("with", "path"));
+
+    assertThat(second.getPath()).isSameAs(first.getPath());
+  }
+
+  @Test
+  public void itCountsHitsAndSavedBytes() {
+    // keep every instance reachable so the weakly held canonical map survives
+    TestInterning first = TestInterning
+      .builder()
+      .putProperties("counted", "value")
+      .build();
+    TestInterning second = TestInterning
+      .builder()
+      .putProperties("counted", "value")
+      .build();
+    TestInterning third = TestInterning
+      .builder()
+      .putProperties("counted", "value")
+      .build();
+
+    assertThat(second.getProperties()).isSameAs(first.getProperties());
+    assertThat(third.getProperties()).isSameAs(first.getProperties());
+    assertThat(ImmutableCollectionInterner.getHitCount()).isEqualTo(2);
+    assertThat(ImmutableCollectionInterner.getMissCount()).isEqualTo(1);
+    assertThat(ImmutableCollectionInterner.getHitRate()).isEqualTo(2.0 / 3);
+    assertThat(ImmutableCollectionInterner.getEstimatedSavedBytes()).isPositive();
+  }
+
+  @Test
+  public void itDoesNotInternCollectionsAboveMaxSize() {
+    List<String> path = IntStream
+      .rangeClosed(0, ImmutableCollectionInterner.getMaxInternedSize())
+      .mapToObj(Integer::toString)
+      .collect(ImmutableList.toImmutableList());
+    TestInterning first = TestInterning.builder().setPath(path).build();
+    TestInterning second = TestInterning
+      .builder()
+      .setPath(ImmutableList.copyOf(path.toArray(new String[0])))
+      .build();
+
+    assertThat(first.getPath()).isSameAs(path);
+    assertThat(second.getPath()).isNotSameAs(first.getPath());
+    assertThat(ImmutableCollectionInterner.getHitCount()).isZero();
+    assertThat(ImmutableCollectionInterner.getMissCount()).isZero();
+  }
+
+  @Test
+  public void itKeepsTheIterationOrderOfSetsAndMaps() {
+    TestInterning first = TestInterning
+      .builder()
+      .addTags("a", "b")
+      .putProperties("x", "1")
+      .putProperties("y", "2")
+      .build();
+    TestInterning second = TestInterning
+      .builder()
+      .addTags("b", "a")
+      .putProperties("y", "2")
+      .putProperties("x", "1")
+      .build();
+
+    assertThat(second.getTags()).containsExactly("b", "a").isNotSameAs(first.getTags());
+    assertThat(second.getProperties().keySet()).containsExactly("y", "x");
+    assertThat(second.toString()).contains("tags=[b, a]", "properties={y=2, x=1}");
+    assertThat(ImmutableCollectionInterner.getHitCount()).isZero();
+  }
+
+  @Test
+  public void itDoesNotInternEmptyCollections() {
+    TestInterning test = TestInterning.builder().build();
+
+    assertThat(test.getProperties()).isSameAs(ImmutableMap.of());
+    assertThat(ImmutableCollectionInterner.getMissCount()).isZero();
+  }
+}
@@ -0,0 +1,143 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutable.collection.encoding.LazyImmutableList;
+import java.io.UncheckedIOException;
+import org.junit.Test;
+
+public class LazyImmutableEncodingTest {
+
+  public static final String INPUT_JSON =
+    "{\"name\":\"test\",\"ids\":[1,2,3],\"counts\":{\"one\":1,\"two\":2}}";
+  public static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void itDoesNotMaterializeOnDeserialization() throws JsonProcessingException {
+    TestLazy test = MAPPER.readValue(INPUT_JSON, TestLazy.class);
+
+    assertThat(test.getName()).isEqualTo("test");
+    assertThat(test.getIds().isMaterialized()).isFalse();
+    assertThat(test.getCounts().isMaterialized()).isFalse();
+  }
+
+  @Test
+  public void itMaterializesOnFirstAccess() throws JsonProcessingException {
+    TestLazy test = MAPPER.readValue(INPUT_JSON, TestLazy.class);
+
+    assertThat(test.getIds()).containsExactly(1L, 2L, 3L);
+    assertThat(test.getIds().isMaterialized()).isTrue();
+    assertThat(test.getIds().asImmutableList()).isSameAs(test.getIds().asImmutableList());
+
+    assertThat(test.getCounts()).containsEntry("two", 2);
+    assertThat(test.getCounts().asImmutableMap()).containsOnlyKeys("one", "two");
+  }
+
+  @Test
+  public void itReserializesWithoutMaterializing() throws JsonProcessingException {
+    TestLazy test = MAPPER.readValue(INPUT_JSON, TestLazy.class);
+
+    assertThat(MAPPER.readTree(MAPPER.writeValueAsString(test)))
+      .isEqualTo(MAPPER.readTree(INPUT_JSON));
+    assertThat(test.getIds().isMaterialized()).isFalse();
+    assertThat(test.getCounts().isMaterialized()).isFalse();
+  }
+
+  @Test
+  public void itDoesNotMaterializeWhenCopying() throws JsonProcessingException {
+    TestLazy test = MAPPER.readValue(INPUT_JSON, TestLazy.class);
+
+    TestLazy copy = TestLazy.builder().from(test).setName("copy").build();
+
+    assertThat(copy.getIds()).isSameAs(test.getIds());
+    assertThat(copy.getCounts()).isSameAs(test.getCounts());
+    assertThat(test.getIds().isMaterialized()).isFalse();
+  }
+
+  @Test
+  public void itCanExpandDeserializedList() throws JsonProcessingException {
+    TestLazy test = MAPPER.readValue(INPUT_JSON, TestLazy.class);
+
+    TestLazy copy = TestLazy
+      .builder()
+      .from(test)
+      .addIds(4L)
+      .putCounts("three", 3)
+      .build();
+
+    assertThat(copy.getIds()).containsExactly(1L, 2L, 3L, 4L);
+    assertThat(copy.getCounts()).containsOnlyKeys("one", "two", "three");
+  }
+
+  @Test
+  public void itCanBuildWithoutJson() throws JsonProcessingException {
+    TestLazy test = TestLazy
+      .builder()
+      .setName("test")
+      .addIds(1L, 2L)
+      .addAllIds(ImmutableList.of(3L))
+      .putAllCounts(ImmutableMap.of("one", 1, "two", 2))
+      .build();
+
+    assertThat(test.getIds()).containsExactly(1L, 2L, 3L);
+    assertThat(test.getIds().isMaterialized()).isTrue();
+    assertThat(MAPPER.readTree(MAPPER.writeValueAsString(test)))
+      .isEqualTo(MAPPER.readTree(INPUT_JSON));
+  }
+
+  @Test
+  public void itDefaultsToEmpty() throws JsonProcessingException {
+    TestLazy test = MAPPER.readValue("{\"name\":\"test\"}", TestLazy.class);
+
+    assertThat(test.getIds()).isSameAs(LazyImmutableList.of());
+    assertThat(test.getCounts()).isEmpty();
+  }
+
+  @Test
+  public void itComparesMaterializedValues() throws JsonProcessingException {
+    TestLazy fromJson = MAPPER.readValue(INPUT_JSON, TestLazy.class);
+    TestLazy built = TestLazy
+      .builder()
+      .setName("test")
+      .addIds(1L, 2L, 3L)
+      .putCounts("one", 1)
+      .putCounts("two", 2)
+      .build();
+
+    assertThat(fromJson).isEqualTo(built);
+    assertThat(fromJson.hashCode()).isEqualTo(built.hashCode());
+  }
+
+  @Test
+  public void itComparesIdenticalJsonWithoutMaterializing()
+    throws JsonProcessingException {
+    TestLazy first = MAPPER.readValue(INPUT_JSON, TestLazy.class);
+    TestLazy second = MAPPER.readValue(INPUT_JSON, TestLazy.class);
+
+    assertThat(first.getIds()).isEqualTo(second.getIds());
+    assertThat(first.getCounts()).isEqualTo(second.getCounts());
+    assertThat(first.getIds().isMaterialized()).isFalse();
+    assertThat(second.getCounts().isMaterialized()).isFalse();
+  }
+
+  @Test
+  public void itMaterializesWithTheReaderConfiguration() throws JsonProcessingException {
+    String json = "{\"name\":\"test\",\"ids\":[1.5]}";
+
+    TestLazy lenient = MAPPER.readValue(json, TestLazy.class);
+    TestLazy strict = MAPPER
+      .readerFor(TestLazy.class)
+      .without(DeserializationFeature.ACCEPT_FLOAT_AS_INT)
+      .readValue(json);
+
+    assertThat(lenient.getIds()).containsExactly(1L);
+    assertThatThrownBy(() -> strict.getIds().get(0))
+      .isInstanceOf(UncheckedIOException.class);
+  }
+}
@@ -0,0 +1,98 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutable.collection.encoding.LongKeyedMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares lookups in the {@link ImmutableMap} built by
+ * {@code ImmutableMapEncoding} against {@link LongKeyedMap#get(long)}, using
+ * sparse, portal-ID-like keys. Their retained sizes are compared by
+ * {@code LongKeyedMapEncodingTest}.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="LongKeyedMapBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LongKeyedMapBenchmark {
+
+  private static final int LOOKUPS = 1024;
+  private static final String VALUE = "value";
+
+  @Param({ "1000", "100000", "1000000" })
+  public int size;
+
+  private ImmutableMap<Long, String> immutableMap;
+  private LongKeyedMap<String> longKeyedMap;
+  private long[] hits;
+  private long[] misses;
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(42);
+    long[] keys = new long[size];
+    TestMapLongKeyed.Builder builder = TestMapLongKeyed.builder();
+    for (int i = 0; i < size; i++) {
+      // distinct, scattered and even, so odd keys are guaranteed misses
+      keys[i] = (i * 0x9E3779B97F4A7C15L) << 1;
+      builder.putOwners(keys[i], VALUE);
+    }
+    immutableMap = builder.build().getOwners();
+    longKeyedMap = LongKeyedMap.copyOf(immutableMap);
+
+    hits = new long[LOOKUPS];
+    misses = new long[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      hits[i] = keys[random.nextInt(size)];
+      misses[i] = hits[i] + 1;
+    }
+  }
+
+  @Benchmark
+  public void immutableMapHits(Blackhole blackhole) {
+    for (long key : hits) {
+      blackhole.consume(immutableMap.get(key));
+    }
+  }
+
+  @Benchmark
+  public void longKeyedMapHits(Blackhole blackhole) {
+    for (long key : hits) {
+      blackhole.consume(longKeyedMap.get(key));
+    }
+  }
+
+  @Benchmark
+  public void immutableMapMisses(Blackhole blackhole) {
+    for (long key : misses) {
+      blackhole.consume(immutableMap.get(key));
+    }
+  }
+
+  @Benchmark
+  public void longKeyedMapMisses(Blackhole blackhole) {
+    for (long key : misses) {
+      blackhole.consume(longKeyedMap.get(key));
+    }
+  }
+}
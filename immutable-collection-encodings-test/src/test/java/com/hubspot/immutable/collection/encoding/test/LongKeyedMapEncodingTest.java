@@ -0,0 +1,121 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutable.collection.encoding.LongKeyedMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+public class LongKeyedMapEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void itBuildsLongKeyedMap() {
+    TestLongKeyed test = TestLongKeyed
+      .builder()
+      .putOwners(53L, "first")
+      .putOwners(entry(-1L, "second"))
+      .putAllOwners(ImmutableMap.of(Long.MAX_VALUE, "third"))
+      .build();
+
+    assertThat(test.getOwners())
+      .containsExactly(
+        entry(53L, "first"),
+        entry(-1L, "second"),
+        entry(Long.MAX_VALUE, "third")
+      );
+    assertThat(test.getOwners().get(53L)).isEqualTo("first");
+    assertThat(test.getOwners().get(54L)).isNull();
+    assertThat(test.getOwners().containsKey(-1L)).isTrue();
+    assertThat(test.getOwners().containsKey((Object) 53)).isFalse();
+  }
+
+  @Test
+  public void itReusesMapWhenCopying() {
+    TestLongKeyed test = TestLongKeyed.builder().putOwners(1L, "one").build();
+
+    assertThat(TestLongKeyed.builder().from(test).build().getOwners())
+      .isSameAs(test.getOwners());
+    assertThat(
+      TestLongKeyed.builder().from(test).putOwners(2L, "two").build().getOwners()
+    )
+      .containsExactly(entry(1L, "one"), entry(2L, "two"));
+  }
+
+  @Test
+  public void itMatchesImmutableMap() {
+    Map<Long, String> expected = new LinkedHashMap<>();
+    for (long i = 0; i < 10_000; i++) {
+      expected.put(i * 31 - 5_000, "value" + i);
+    }
+
+    LongKeyedMap<String> map = LongKeyedMap.copyOf(expected);
+
+    assertThat(map).isEqualTo(ImmutableMap.copyOf(expected));
+    assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(map.keySet()).containsExactlyElementsOf(expected.keySet());
+    for (long key = -6_000; key < 6_000; key++) {
+      assertThat(map.get(key)).isEqualTo(expected.get(key));
+    }
+  }
+
+  @Test
+  public void itRejectsDuplicateKeys() {
+    assertThatThrownBy(() ->
+        TestLongKeyed.builder().putOwners(1L, "a").putOwners(1L, "b").build()
+      )
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Multiple entries with same key");
+  }
+
+  @Test
+  public void itRoundTripsThroughJackson() throws JsonProcessingException {
+    TestLongKeyed test = TestLongKeyed
+      .builder()
+      .putOwners(2L, "two")
+      .putOwners(-1L, "minus one")
+      .build();
+
+    String json = MAPPER.writeValueAsString(test);
+
+    assertThat(json).isEqualTo("{\"owners\":{\"2\":\"two\",\"-1\":\"minus one\"}}");
+    assertThat(MAPPER.readValue(json, TestLongKeyed.class)).isEqualTo(test);
+  }
+
+  @Test
+  public void itRejectsInvalidKeys() {
+    assertThatThrownBy(() ->
+        MAPPER.readValue("{\"owners\":{\"abc\":\"x\"}}", TestLongKeyed.class)
+      )
+      .isInstanceOf(JsonMappingException.class)
+      .hasMessageContaining("not a valid long");
+  }
+
+  @Test
+  public void itIsMuchSmallerThanAnImmutableMap() {
+    // LongKeyedMapBenchmark recorded these JOL retained sizes for 100,000
+    // entries on JDK 17, less the shared value: 5,724,400 bytes as an
+    // ImmutableMap, 2,248,656 as a LongKeyedMap
+    String value = "value";
+    TestMapLongKeyed.Builder builder = TestMapLongKeyed.builder();
+    for (long i = 0; i < 100_000; i++) {
+      builder.putOwners((i * 0x9E3779B97F4A7C15L) << 1, value);
+    }
+    ImmutableMap<Long, String> immutableMap = builder.build().getOwners();
+    LongKeyedMap<String> longKeyedMap = LongKeyedMap.copyOf(immutableMap);
+
+    long immutableSize = GraphLayout.parseInstance(immutableMap).totalSize();
+    long longKeyedSize = GraphLayout.parseInstance(longKeyedMap).totalSize();
+
+    assertThat(longKeyedSize).isLessThan(immutableSize / 2);
+  }
+}
@@ -0,0 +1,148 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.hubspot.immutable.collection.encoding.MappedStringMap;
+import com.hubspot.immutable.collection.encoding.MappedStringSet;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final ImmutableMap<String, String> CATEGORIES = ImmutableMap.of(
+    "hubspot.com",
+    "software",
+    "example.com",
+    "reserved",
+    "münchen.de",
+    "city"
+  );
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void itOpensWrittenFiles() throws IOException {
+    Path domains = folder.newFile().toPath();
+    Path categories = folder.newFile().toPath();
+    MappedStringSet.write(domains, ImmutableSet.of("spam.com", "ads.net", "spam.com"));
+    MappedStringMap.write(categories, CATEGORIES);
+
+    TestMapped test = TestMapped
+      .builder()
+      .setBlockedDomains(MappedStringSet.open(domains))
+      .setCategories(MappedStringMap.open(categories))
+      .build();
+
+    assertThat(test.getBlockedDomains()).containsExactly("ads.net", "spam.com");
+    assertThat(test.getBlockedDomains().contains("spam.com")).isTrue();
+    assertThat(test.getBlockedDomains().contains("spam.co")).isFalse();
+    assertThat(test.getCategories()).isEqualTo(CATEGORIES);
+    assertThat(test.getCategories().get("münchen.de")).isEqualTo("city");
+    assertThat(test.getCategories().get("missing.com")).isNull();
+    assertThat(test.getCategories().keySet())
+      .containsExactly("example.com", "hubspot.com", "münchen.de");
+  }
+
+  @Test
+  public void itKeepsMappedCollectionsWhenCopying() throws IOException {
+    Path domains = folder.newFile().toPath();
+    MappedStringSet.write(domains, ImmutableSet.of("spam.com"));
+    MappedStringSet mapped = MappedStringSet.open(domains);
+
+    TestMapped test = TestMapped.builder().setBlockedDomains(mapped).build();
+
+    assertThat(test.getBlockedDomains()).isSameAs(mapped);
+    assertThat(TestMapped.builder().from(test).build().getBlockedDomains())
+      .isSameAs(mapped);
+  }
+
+  @Test
+  public void itOpensAMapFileAsItsKeySet() throws IOException {
+    Path categories = folder.newFile().toPath();
+    MappedStringMap.write(categories, CATEGORIES);
+
+    assertThat(MappedStringSet.open(categories)).isEqualTo(CATEGORIES.keySet());
+  }
+
+  @Test
+  public void itComparesMappedSetsByTheirStoredBytes() throws IOException {
+    Path domains = folder.newFile().toPath();
+    Path categories = folder.newFile().toPath();
+    MappedStringSet.write(domains, CATEGORIES.keySet());
+    MappedStringMap.write(categories, CATEGORIES);
+
+    MappedStringSet mapped = MappedStringSet.open(domains);
+    MappedStringSet keySet = MappedStringSet.open(categories);
+    MappedStringSet heap = MappedStringSet.copyOf(CATEGORIES.keySet());
+
+    assertThat(mapped).isEqualTo(keySet).isEqualTo(heap).isEqualTo(CATEGORIES.keySet());
+    assertThat(mapped.hashCode())
+      .isEqualTo(keySet.hashCode())
+      .isEqualTo(CATEGORIES.keySet().hashCode());
+    // same bytes, split into elements differently
+    assertThat(MappedStringSet.copyOf(ImmutableSet.of("ab", "c")))
+      .isNotEqualTo(MappedStringSet.copyOf(ImmutableSet.of("a", "bc")));
+  }
+
+  @Test
+  public void itRejectsOtherFiles() throws IOException {
+    Path domains = folder.newFile().toPath();
+    Path garbage = folder.newFile().toPath();
+    MappedStringSet.write(domains, ImmutableSet.of("spam.com"));
+    Files.write(garbage, new byte[] { 1, 2, 3 });
+
+    assertThatThrownBy(() -> MappedStringMap.open(domains))
+      .isInstanceOf(IOException.class)
+      .hasMessageContaining("has no values");
+    assertThatThrownBy(() -> MappedStringSet.open(garbage))
+      .isInstanceOf(IOException.class)
+      .hasMessageContaining("is not a sorted string table");
+  }
+
+  @Test
+  public void itBuildsOnTheHeap() {
+    TestMapped test = TestMapped
+      .builder()
+      .addBlockedDomains("b.com", "a.com")
+      .addAllBlockedDomains(ImmutableSet.of("c.com", "a.com"))
+      .putCategories("b.com", "two")
+      .putCategories("a.com", "one")
+      .build();
+
+    assertThat(test.getBlockedDomains()).containsExactly("a.com", "b.com", "c.com");
+    assertThat(test.getCategories())
+      .isEqualTo(ImmutableMap.of("a.com", "one", "b.com", "two"));
+  }
+
+  @Test
+  public void itDefaultsToEmpty() {
+    TestMapped test = TestMapped.builder().build();
+
+    assertThat(test.getBlockedDomains()).isSameAs(MappedStringSet.of());
+    assertThat(test.getCategories()).isSameAs(MappedStringMap.of());
+  }
+
+  @Test
+  public void itRoundTripsJson() throws IOException {
+    TestMapped test = TestMapped
+      .builder()
+      .addBlockedDomains("spam.com")
+      .setCategories(CATEGORIES)
+      .build();
+
+    String json = MAPPER.writeValueAsString(test);
+
+    assertThat(MAPPER.readValue(json, TestMapped.class)).isEqualTo(test);
+  }
+}
@@ -0,0 +1,162 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.hubspot.immutable.collection.encoding.PagedImmutableList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class PagedImmutableListEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final int HUGE_SIZE = 2_000_000;
+  private static final Pattern HUMONGOUS_REGIONS = Pattern.compile(
+    "Humongous regions: (\\d+)->(\\d+)"
+  );
+
+  @Test
+  public void itBuildsAcrossPages() {
+    List<Integer> expected = IntStream
+      .range(0, 10_000)
+      .boxed()
+      .collect(Collectors.toList());
+
+    TestPaged test = TestPaged
+      .builder()
+      .setName("test")
+      .addAllValues(expected.subList(0, 5_000))
+      .addAllValues(expected.subList(5_000, 9_999))
+      .addValues(9_999)
+      .build();
+
+    assertThat(test.getValues()).isEqualTo(expected);
+    assertThat(test.getValues().get(4_096)).isEqualTo(4_096);
+    assertThat(test.getValues().hashCode()).isEqualTo(expected.hashCode());
+    assertThatThrownBy(() -> test.getValues().get(10_000))
+      .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void itDoesNotShareBuilderState() {
+    PagedImmutableList.Builder<Integer> builder = PagedImmutableList.builder();
+    IntStream.range(0, 4_097).forEach(builder::add);
+    PagedImmutableList<Integer> first = builder.build();
+    builder.add(-1);
+
+    assertThat(first).hasSize(4_097).endsWith(4_096);
+    assertThat(builder.build()).hasSize(4_098).endsWith(4_096, -1);
+  }
+
+  @Test
+  public void itReusesPagedListsWhenCopying() {
+    PagedImmutableList<Integer> values = PagedImmutableList.copyOf(
+      ImmutableList.of(1, 2, 3)
+    );
+    TestPaged test = TestPaged.builder().setName("test").setValues(values).build();
+
+    assertThat(test.getValues()).isSameAs(values);
+    assertThat(TestPaged.builder().from(test).build().getValues()).isSameAs(values);
+  }
+
+  @Test
+  public void itRoundTripsJson() throws IOException {
+    TestPaged test = TestPaged
+      .builder()
+      .setName("test")
+      .addAllValues(IntStream.range(0, 5_000).boxed().collect(Collectors.toList()))
+      .build();
+
+    String json = MAPPER.writeValueAsString(test);
+
+    assertThat(MAPPER.readValue(json, TestPaged.class)).isEqualTo(test);
+  }
+
+  @Test
+  public void itDoesNotAllocateHumongousObjects() throws Exception {
+    // -Xlog needs Java 9+
+    Assume.assumeFalse(System.getProperty("java.specification.version").startsWith("1."));
+
+    List<int[]> immutableList = humongousRegionsDuringBuild("immutable");
+    List<int[]> paged = humongousRegionsDuringBuild("paged");
+
+    // the control shows that the log reports the ImmutableList's backing arrays
+    assertThat(immutableList).anyMatch(regions -> regions[0] > 0);
+    assertThat(paged)
+      .isNotEmpty()
+      .allMatch(regions -> regions[0] == 0 && regions[1] == 0);
+  }
+
+  private static List<int[]> humongousRegionsDuringBuild(String kind) throws Exception {
+    Process process = new ProcessBuilder(
+      Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+      "-XX:+UseG1GC",
+      "-XX:G1HeapRegionSize=1m",
+      "-Xmx256m",
+      "-Xlog:gc+heap=info",
+      "-cp",
+      System.getProperty("java.class.path"),
+      BuildHugeList.class.getName(),
+      kind
+    )
+      .redirectErrorStream(true)
+      .start();
+
+    List<int[]> regions = new ArrayList<>();
+    try (
+      BufferedReader output = new BufferedReader(
+        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)
+      )
+    ) {
+      String line;
+      while ((line = output.readLine()) != null) {
+        Matcher matcher = HUMONGOUS_REGIONS.matcher(line);
+        if (matcher.find()) {
+          regions.add(
+            new int[] {
+              Integer.parseInt(matcher.group(1)),
+              Integer.parseInt(matcher.group(2)),
+            }
+          );
+        }
+      }
+    }
+    assertThat(process.waitFor()).isZero();
+    return regions;
+  }
+
+  /**
+   * Builds a huge list in a JVM with G1 logging, then collects while it is
+   * still reachable.
+   */
+  public static final class BuildHugeList {
+
+    private static List<Integer> list;
+
+    public static void main(String[] args) {
+      Iterable<Integer> values = () -> IntStream.range(0, HUGE_SIZE).boxed().iterator();
+      if (args[0].equals("paged")) {
+        list =
+          TestPaged.builder().setName("huge").addAllValues(values).build().getValues();
+      } else {
+        list = ImmutableList.copyOf(values);
+      }
+      System.gc();
+      System.out.println(list.size());
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import com.google.common.collect.ImmutableRangeMap;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Range;
+import com.hubspot.immutable.collection.encoding.ImmutableCollectionEncodingModule;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class RangeEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper()
+    .registerModule(new GuavaModule())
+    .registerModule(new ImmutableCollectionEncodingModule());
+
+  @Test
+  public void itBuildsRangeSet() {
+    TestRanges test = TestRanges
+      .builder()
+      .addOpenHours(Range.closedOpen(9, 12))
+      .addOpenHours(Range.closedOpen(11, 13))
+      .addAllOpenHours(Arrays.asList(Range.closedOpen(14, 18), Range.closed(20, 20)))
+      .build();
+
+    assertThat(test.getOpenHours().asRanges())
+      .containsExactly(
+        Range.closedOpen(9, 13),
+        Range.closedOpen(14, 18),
+        Range.closed(20, 20)
+      );
+    assertThat(test.getOpenHours().contains(12)).isTrue();
+    assertThat(test.getOpenHours().contains(13)).isFalse();
+    assertThat(test.getOpenHours().rangeContaining(15))
+      .isEqualTo(Range.closedOpen(14, 18));
+  }
+
+  @Test
+  public void itBuildsRangeMap() {
+    TestRanges test = TestRanges
+      .builder()
+      .putPriceTiers(Range.closedOpen(0L, 100L), "small")
+      .putPriceTiers(Range.atLeast(100L), "large")
+      .build();
+
+    assertThat(test.getPriceTiers().get(99L)).isEqualTo("small");
+    assertThat(test.getPriceTiers().get(100L)).isEqualTo("large");
+    assertThat(test.getPriceTiers().get(-1L)).isNull();
+  }
+
+  @Test
+  public void itRejectsOverlappingRangeMapEntries() {
+    assertThatThrownBy(() ->
+        TestRanges
+          .builder()
+          .putPriceTiers(Range.closed(0L, 10L), "a")
+          .putPriceTiers(Range.closed(10L, 20L), "b")
+          .build()
+      )
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Overlapping ranges");
+  }
+
+  @Test
+  public void itReusesRangesWhenCopying() {
+    TestRanges test = TestRanges
+      .builder()
+      .addOpenHours(Range.closed(1, 2))
+      .putPriceTiers(Range.all(), "any")
+      .build();
+
+    TestRanges copy = TestRanges.builder().from(test).build();
+
+    assertThat(copy.getOpenHours()).isSameAs(test.getOpenHours());
+    assertThat(copy.getPriceTiers()).isSameAs(test.getPriceTiers());
+    assertThat(
+      TestRanges
+        .builder()
+        .from(test)
+        .addOpenHours(Range.closed(2, 5))
+        .build()
+        .getOpenHours()
+    )
+      .isEqualTo(ImmutableRangeSet.of(Range.closed(1, 5)));
+  }
+
+  @Test
+  public void itRoundTripsThroughJackson() throws JsonProcessingException {
+    TestRanges test = TestRanges
+      .builder()
+      .addOpenHours(Range.lessThan(0))
+      .addOpenHours(Range.closedOpen(9, 17))
+      .putPriceTiers(Range.openClosed(1L, 10L), "low")
+      .putPriceTiers(Range.greaterThan(10L), "high")
+      .build();
+
+    String json = MAPPER.writeValueAsString(test);
+
+    assertThat(json)
+      .isEqualTo(
+        "{\"openHours\":[[\"(\",null,0,\")\"],[\"[\",9,17,\")\"]]," +
+        "\"priceTiers\":[[\"(\",1,10,\"]\",\"low\"],[\"(\",10,null,\")\",\"high\"]]}"
+      );
+    assertThat(MAPPER.readValue(json, TestRanges.class)).isEqualTo(test);
+  }
+
+  @Test
+  public void itReadsUnboundedRanges() throws JsonProcessingException {
+    TestRanges test = MAPPER.readValue(
+      "{\"openHours\":[[\"(\",null,null,\")\"]],\"priceTiers\":[]}",
+      TestRanges.class
+    );
+
+    assertThat(test.getOpenHours()).isEqualTo(ImmutableRangeSet.of(Range.all()));
+    assertThat(test.getPriceTiers()).isEqualTo(ImmutableRangeMap.of());
+  }
+
+  @Test
+  public void itRejectsInvalidRanges() {
+    assertThatThrownBy(() ->
+        MAPPER.readValue(
+          "{\"openHours\":[[\"[\",5,1,\")\"]],\"priceTiers\":[]}",
+          TestRanges.class
+        )
+      )
+      .isInstanceOf(JsonMappingException.class)
+      .hasMessageContaining("Invalid range");
+    assertThatThrownBy(() ->
+        MAPPER.readValue(
+          "{\"openHours\":[[\"<\",1,5,\")\"]],\"priceTiers\":[]}",
+          TestRanges.class
+        )
+      )
+      .isInstanceOf(JsonMappingException.class)
+      .hasMessageContaining("as a range bound");
+  }
+}
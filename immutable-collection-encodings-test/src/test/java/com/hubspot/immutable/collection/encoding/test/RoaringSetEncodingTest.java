@@ -0,0 +1,124 @@
+package com.hubspot.immutable.collection.encoding.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.common.collect.ImmutableSet;
+import com.hubspot.immutable.collection.encoding.RoaringIntSet;
+import com.hubspot.immutable.collection.encoding.RoaringLongSet;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.Test;
+
+public class RoaringSetEncodingTest {
+
+  public static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void itBuildsRoaringSets() {
+    TestRoaring test = TestRoaring
+      .builder()
+      .addPortalIds(3, 1, 2)
+      .addAllPortalIds(IntStream.range(100, 200))
+      .addAllPortalIds(ImmutableSet.of(1, 500))
+      .addUserIds(Long.MAX_VALUE, 1L)
+      .addAllUserIds(LongStream.of(1L, 2L))
+      .build();
+
+    assertThat(test.getPortalIds()).hasSize(104).startsWith(1, 2, 3, 100).endsWith(500);
+    assertThat(test.getPortalIds().contains(150)).isTrue();
+    assertThat(test.getPortalIds().contains(200)).isFalse();
+    assertThat(test.getUserIds()).containsExactly(1L, 2L, Long.MAX_VALUE);
+  }
+
+  @Test
+  public void itKeepsSetSemantics() {
+    Set<Integer> expected = ImmutableSet.of(1, 5, 70_000);
+    RoaringIntSet set = RoaringIntSet.of(70_000, 5, 1, 5);
+
+    assertThat(set).isEqualTo(expected);
+    assertThat(set.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(set.contains((Object) 5L)).isFalse();
+    assertThat(RoaringLongSet.of(7L).hashCode())
+      .isEqualTo(ImmutableSet.of(7L).hashCode());
+  }
+
+  @Test
+  public void itStreamsIntsInOrder() {
+    RoaringIntSet set = RoaringIntSet.of(70_000, 5, -1, 1);
+
+    assertThat(set.intStream().toArray()).containsExactly(1, 5, 70_000, -1);
+    assertThat(set.intStream().parallel().toArray()).containsExactly(1, 5, 70_000, -1);
+    assertThat(set.intStream().spliterator().getExactSizeIfKnown()).isEqualTo(4);
+    // negative ints iterate last, so only sets without them are sorted
+    assertThat(set.intStream().spliterator().hasCharacteristics(Spliterator.SORTED))
+      .isFalse();
+    assertThat(
+      RoaringIntSet.of(3, 1).intStream().spliterator().hasCharacteristics(Spliterator.SORTED)
+    )
+      .isTrue();
+  }
+
+  @Test
+  public void itCombinesSets() {
+    RoaringIntSet first = RoaringIntSet.of(1, 2, 3);
+    RoaringIntSet second = RoaringIntSet.of(2, 3, 4);
+
+    assertThat(first.and(second)).containsExactly(2, 3);
+    assertThat(first.or(second)).containsExactly(1, 2, 3, 4);
+    assertThat(first.andNot(second)).containsExactly(1);
+    assertThat(first.andNot(first)).isSameAs(RoaringIntSet.of());
+
+    RoaringLongSet longs = RoaringLongSet.of(1L, 2L);
+    assertThat(longs.and(RoaringLongSet.of(2L))).containsExactly(2L);
+    assertThat(longs.or(RoaringLongSet.of(3L))).containsExactly(1L, 2L, 3L);
+    assertThat(longs.andNot(RoaringLongSet.of(2L))).containsExactly(1L);
+    assertThat(longs).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void itDoesNotShareBuilderState() {
+    RoaringIntSet.Builder builder = RoaringIntSet.builder().add(1);
+    RoaringIntSet first = builder.build();
+    builder.add(2);
+
+    assertThat(first).containsExactly(1);
+    assertThat(builder.build()).containsExactly(1, 2);
+  }
+
+  @Test
+  public void itRoundTripsBothJsonForms() throws JsonProcessingException {
+    TestRoaring test = TestRoaring
+      .builder()
+      .addAllPortalIds(IntStream.range(0, 1_000))
+      .addAllUserIds(LongStream.range(0, 1_000))
+      .build();
+
+    String json = MAPPER.writeValueAsString(test);
+    JsonNode node = MAPPER.readTree(json);
+
+    assertThat(node.get("portalIds").isArray()).isTrue();
+    assertThat(node.get("userIds").isTextual()).isTrue();
+    assertThat(MAPPER.readValue(json, TestRoaring.class)).isEqualTo(test);
+  }
+
+  @Test
+  public void itReadsCompactIntForm() throws JsonProcessingException {
+    ObjectMapper compactMapper = new ObjectMapper()
+      .registerModule(
+        new SimpleModule()
+          .addSerializer(RoaringIntSet.class, new RoaringIntSet.CompactSerializer())
+      );
+    RoaringIntSet set = RoaringIntSet.of(1, 2, 1 << 20);
+
+    String json = compactMapper.writeValueAsString(set);
+
+    assertThat(MAPPER.readTree(json).isTextual()).isTrue();
+    assertThat(MAPPER.readValue(json, RoaringIntSet.class)).isEqualTo(set);
+  }
+}
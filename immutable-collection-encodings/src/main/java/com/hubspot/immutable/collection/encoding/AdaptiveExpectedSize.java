@@ -0,0 +1,137 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * A running estimate of how large one attribute's collection usually ends up,
+ * used by the List, Set and Map encodings to presize builders whose final size
+ * isn't known up front. Each encoded attribute gets its own instance.
+ *
+ * Adaptive presizing is off unless the {@value #ENABLED_PROPERTY} system
+ * property is {@code true}. The estimate is a decaying maximum: it jumps to any
+ * larger size that is built and gives up an eighth of itself for each smaller
+ * one, and it is capped at {@value #MAX_EXPECTED_SIZE} so a single outlier
+ * can't make every later builder allocate a huge array. Updates are racy on
+ * purpose; a lost update only costs a less accurate guess.
+ *
+ * The encodings create their instances with the generated class as the
+ * owner, so {@link #checkExpectedSize} can name the attribute it rejects a
+ * size hint for.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public final class AdaptiveExpectedSize {
+
+  public static final String ENABLED_PROPERTY = "hubspot.immutables.adaptivePresizing";
+
+  static final int MAX_EXPECTED_SIZE = 1 << 14;
+
+  private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+  private final Class<?> owner;
+  private final boolean enabled;
+  private int estimate = 0;
+
+  public AdaptiveExpectedSize() {
+    this(ENABLED);
+  }
+
+  public AdaptiveExpectedSize(boolean enabled) {
+    this(null, enabled);
+  }
+
+  /**
+   * Called from a static initializer inlined into the generated class, with
+   * {@code MethodHandles.lookup().lookupClass()} as the owner.
+   */
+  public AdaptiveExpectedSize(Class<?> owner) {
+    this(owner, ENABLED);
+  }
+
+  private AdaptiveExpectedSize(Class<?> owner, boolean enabled) {
+    this.owner = owner;
+    this.enabled = enabled;
+  }
+
+  public int get() {
+    return estimate;
+  }
+
+  public void record(int size) {
+    if (!enabled) {
+      return;
+    }
+
+    int current = estimate;
+    int next = Math.min(Math.max(size, current - (current >> 3)), MAX_EXPECTED_SIZE);
+    if (next != current) {
+      estimate = next;
+    }
+  }
+
+  /**
+   * Validates a size hint passed to a generated {@code expectedSizeOf*}
+   * method.
+   *
+   * @throws IllegalArgumentException naming the attribute if {@code
+   *     expectedSize} is negative
+   */
+  public int checkExpectedSize(int expectedSize) {
+    if (expectedSize < 0) {
+      String attribute = owner == null
+        ? null
+        : GeneratedAttributeNames.resolve(owner, this, "_EXPECTED_SIZE");
+      throw new IllegalArgumentException(
+        "Expected size of " +
+        (attribute == null ? "attribute" : attribute) +
+        " cannot be negative but was: " +
+        expectedSize
+      );
+    }
+    return expectedSize;
+  }
+
+  public <T> ImmutableList.Builder<T> newListBuilder() {
+    return newListBuilder(0);
+  }
+
+  /**
+   * Presizes for the larger of the estimate and {@code minimumExpectedSize},
+   * e.g. the size a cleared builder produced last time.
+   */
+  public <T> ImmutableList.Builder<T> newListBuilder(int minimumExpectedSize) {
+    int expectedSize = Math.max(estimate, minimumExpectedSize);
+    return expectedSize > 0
+      ? ImmutableList.builderWithExpectedSize(expectedSize)
+      : ImmutableList.builder();
+  }
+
+  public <T> ImmutableSet.Builder<T> newSetBuilder() {
+    return newSetBuilder(0);
+  }
+
+  /**
+   * See {@link #newListBuilder(int)}.
+   */
+  public <T> ImmutableSet.Builder<T> newSetBuilder(int minimumExpectedSize) {
+    int expectedSize = Math.max(estimate, minimumExpectedSize);
+    return expectedSize > 0
+      ? ImmutableSet.builderWithExpectedSize(expectedSize)
+      : ImmutableSet.builder();
+  }
+
+  public <K, V> ImmutableMap.Builder<K, V> newMapBuilder() {
+    return newMapBuilder(0);
+  }
+
+  /**
+   * See {@link #newListBuilder(int)}.
+   */
+  public <K, V> ImmutableMap.Builder<K, V> newMapBuilder(int minimumExpectedSize) {
+    int expectedSize = Math.max(estimate, minimumExpectedSize);
+    return expectedSize > 0
+      ? ImmutableMap.builderWithExpectedSize(expectedSize)
+      : ImmutableMap.builder();
+  }
+}
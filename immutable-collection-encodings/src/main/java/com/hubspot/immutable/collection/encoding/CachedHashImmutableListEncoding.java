@@ -0,0 +1,144 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.List;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+/**
+ * Variant of {@link ImmutableListEncoding} that stores each list with its hash
+ * code, computed when the value is built (see {@link HashedImmutableList}).
+ * Meant for values used as hash keys, such as composite keys with path
+ * segments or sort keys. Enable it instead of, not alongside,
+ * {@code @ImmutableListEncodingEnabled}.
+ */
+@Encoding
+public class CachedHashImmutableListEncoding<T> {
+
+  @Encoding.Impl
+  private HashedImmutableList<T> field = null;
+
+  @Encoding.Expose
+  ImmutableList<T> getImmutableList() {
+    if (field != null) {
+      return field.list();
+    } else {
+      return ImmutableList.of();
+    }
+  }
+
+  @Encoding.Expose
+  List<T> getList() {
+    if (field != null) {
+      return field.list();
+    } else {
+      return ImmutableList.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  HashedImmutableList<T> withCollectionVarargs(T... elements) {
+    return com.hubspot.immutable.collection.encoding.HashedImmutableList.of(
+      ImmutableList.copyOf(elements)
+    );
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  HashedImmutableList<T> withCollection(Iterable<? extends T> elements) {
+    return com.hubspot.immutable.collection.encoding.HashedImmutableList.of(
+      ImmutableList.copyOf(elements)
+    );
+  }
+
+  @Encoding.Of
+  static <T> HashedImmutableList<T> of(Collection<? extends T> input) {
+    return com.hubspot.immutable.collection.encoding.HashedImmutableList.of(
+      ImmutableList.copyOf(input)
+    );
+  }
+
+  // the generated hashCode() and equals() use these instead of the exposed list,
+  // so they read the cached hash and compare hashes before elements
+
+  @Override
+  public int hashCode() {
+    return field.hashCode();
+  }
+
+  boolean equals(CachedHashImmutableListEncoding<T> other) {
+    return field.equals(other.field);
+  }
+
+  @Override
+  public String toString() {
+    return field.toString();
+  }
+
+  @Encoding.Builder
+  static class Builder<T> {
+
+    // from set(), kept as is unless more elements are added
+    private ImmutableList<T> list = null;
+    private ImmutableList.Builder<T> builder = null;
+
+    @Encoding.Init
+    @Encoding.Naming(standard = StandardNaming.ADD)
+    void add(T... element) {
+      if (builder == null) {
+        builder = ImmutableList.builder();
+        if (list != null) {
+          builder.addAll(list);
+          list = null;
+        }
+      }
+      builder.add(element);
+    }
+
+    @Encoding.Init
+    @Encoding.Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<? extends T> elements) {
+      if (builder == null && list == null && elements instanceof ImmutableList) {
+        set(elements);
+      } else {
+        if (builder == null) {
+          builder = ImmutableList.builder();
+          if (list != null) {
+            builder.addAll(list);
+            list = null;
+          }
+        }
+        builder.addAll(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<? extends T> input) {
+      list = ImmutableList.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return list != null || builder != null;
+    }
+
+    @Encoding.Build
+    HashedImmutableList<T> build() {
+      if (builder != null) {
+        return com.hubspot.immutable.collection.encoding.HashedImmutableList.of(
+          builder.build()
+        );
+      } else if (list != null) {
+        return com.hubspot.immutable.collection.encoding.HashedImmutableList.of(list);
+      } else {
+        return com.hubspot.immutable.collection.encoding.HashedImmutableList.of();
+      }
+    }
+  }
+}
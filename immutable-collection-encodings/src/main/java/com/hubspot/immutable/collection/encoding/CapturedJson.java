@@ -0,0 +1,114 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.collect.MapMaker;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+// The tokens of one JSON value, captured for LazyImmutableList and
+// LazyImmutableMap together with the configuration of the read that captured
+// them, so decoding them later honors the same features as decoding them
+// right away would have, including ones set per call on an ObjectReader
+final class CapturedJson {
+
+  // one dummy context per configuration, shared by every value captured with
+  // it; weak values, since a dummy holds its configuration
+  private static final ConcurrentMap<
+    DeserializationConfig,
+    DefaultDeserializationContext
+  > CONTEXTS = new MapMaker().weakKeys().weakValues().makeMap();
+
+  private final TokenBuffer tokens;
+  private final DeserializationConfig config;
+  private final DefaultDeserializationContext contexts;
+  private final JavaType type;
+
+  private CapturedJson(
+    TokenBuffer tokens,
+    DeserializationConfig config,
+    DefaultDeserializationContext contexts,
+    JavaType type
+  ) {
+    this.tokens = tokens;
+    this.config = config;
+    this.contexts = contexts;
+    this.type = type;
+  }
+
+  /**
+   * Captures the value {@code p} is positioned at, or returns {@code null} if
+   * {@code ctxt} can't create contexts to decode it with later.
+   */
+  static CapturedJson capture(JsonParser p, DeserializationContext ctxt, JavaType type)
+    throws IOException {
+    if (!(ctxt instanceof DefaultDeserializationContext)) {
+      return null;
+    }
+
+    TokenBuffer tokens = new TokenBuffer(p, ctxt);
+    tokens.copyCurrentStructure(p);
+    DeserializationConfig config = ctxt.getConfig();
+    // a dummy context only holds the shared factory and caches, not the parser;
+    // a configuration belongs to one mapper, so its dummy serves every read
+    DefaultDeserializationContext contexts = CONTEXTS.computeIfAbsent(
+      config,
+      c -> ((DefaultDeserializationContext) ctxt).createDummyInstance(c)
+    );
+    return new CapturedJson(tokens, config, contexts, type);
+  }
+
+  <T> T read() {
+    try (JsonParser parser = tokens.asParser()) {
+      parser.nextToken();
+      DeserializationContext ctxt = contexts.createInstance(config, parser, null);
+      return ctxt.readValue(parser, type);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  void serialize(JsonGenerator gen) throws IOException {
+    tokens.serialize(gen);
+  }
+
+  /**
+   * Whether {@code other} holds the same tokens, read into the same type with
+   * the same configuration, in which case both decode to equal values.
+   */
+  boolean isSameAs(CapturedJson other) {
+    if (other == this) {
+      return true;
+    } else if (config != other.config || !type.equals(other.type)) {
+      return false;
+    }
+
+    try (JsonParser a = tokens.asParser(); JsonParser b = other.tokens.asParser()) {
+      JsonToken token;
+      while ((token = a.nextToken()) != null) {
+        if (token != b.nextToken()) {
+          return false;
+        } else if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+          if (!Objects.equals(a.getEmbeddedObject(), b.getEmbeddedObject())) {
+            return false;
+          }
+        } else if (token == JsonToken.FIELD_NAME || token.isScalarValue()) {
+          if (!a.getText().equals(b.getText())) {
+            return false;
+          }
+        }
+      }
+      return b.nextToken() == null;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
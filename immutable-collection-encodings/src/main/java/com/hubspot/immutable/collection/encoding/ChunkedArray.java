@@ -0,0 +1,111 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only element storage for the combinable builders. Elements go into
+ * chunks that double in size and are never grown in place, and
+ * {@link #combine(ChunkedArray)} appends the other storage's chunks by
+ * reference, so every element is copied exactly once: in {@link #toArray()},
+ * or by whatever {@link #forEachChunk(Consumer)} hands the chunks to.
+ */
+final class ChunkedArray {
+
+  private static final int FIRST_CHUNK_SIZE = 16;
+
+  private Object[][] chunks = new Object[4][];
+  private int[] chunkLengths = new int[4];
+  private int chunkCount = 0;
+  private int size = 0;
+
+  void add(Object element) {
+    Object[] current = chunkCount == 0 ? null : chunks[chunkCount - 1];
+    if (current == null || chunkLengths[chunkCount - 1] == current.length) {
+      current = newChunk(current == null ? FIRST_CHUNK_SIZE : current.length * 2);
+    }
+    current[chunkLengths[chunkCount - 1]++] = element;
+    size++;
+  }
+
+  void ensureRoomFor(int additional) {
+    Object[] current = chunkCount == 0 ? null : chunks[chunkCount - 1];
+    if (current == null || current.length - chunkLengths[chunkCount - 1] < additional) {
+      newChunk(
+        Math.max(additional, current == null ? FIRST_CHUNK_SIZE : current.length * 2)
+      );
+    }
+  }
+
+  void addAll(Collection<?> elements) {
+    ensureRoomFor(elements.size());
+    for (Object element : elements) {
+      add(element);
+    }
+  }
+
+  /**
+   * Appends the chunks of {@code other} after this storage's elements and
+   * empties {@code other}, which is how {@code other} gives up ownership of
+   * them.
+   */
+  void combine(ChunkedArray other) {
+    if (other == this) {
+      throw new IllegalArgumentException("Can't combine a builder with itself");
+    }
+    for (int i = 0; i < other.chunkCount; i++) {
+      appendChunk(other.chunks[i], other.chunkLengths[i]);
+    }
+    size += other.size;
+    other.clear();
+  }
+
+  int size() {
+    return size;
+  }
+
+  Object[] toArray() {
+    Object[] result = new Object[size];
+    int position = 0;
+    for (int i = 0; i < chunkCount; i++) {
+      System.arraycopy(chunks[i], 0, result, position, chunkLengths[i]);
+      position += chunkLengths[i];
+    }
+    return result;
+  }
+
+  /**
+   * Passes the filled part of each chunk, in order, to {@code action} as a
+   * view that must not be modified or retained.
+   */
+  void forEachChunk(Consumer<List<Object>> action) {
+    for (int i = 0; i < chunkCount; i++) {
+      action.accept(Arrays.asList(chunks[i]).subList(0, chunkLengths[i]));
+    }
+  }
+
+  void clear() {
+    chunks = new Object[4][];
+    chunkLengths = new int[4];
+    chunkCount = 0;
+    size = 0;
+  }
+
+  private Object[] newChunk(int capacity) {
+    Object[] chunk = new Object[capacity];
+    appendChunk(chunk, 0);
+    return chunk;
+  }
+
+  private void appendChunk(Object[] chunk, int length) {
+    if (chunkCount == chunks.length) {
+      chunks = Arrays.copyOf(chunks, chunkCount * 2);
+      chunkLengths = Arrays.copyOf(chunkLengths, chunkCount * 2);
+    }
+    chunks[chunkCount] = chunk;
+    chunkLengths[chunkCount] = length;
+    chunkCount++;
+  }
+}
@@ -0,0 +1,225 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sampled statistics about the collections one attribute's builder produces,
+ * recorded by the List, Set and Map encodings. Each encoded attribute gets its
+ * own instance, registered under the generated class that owns it, and
+ * {@link #all()} lists every registered instance for a metrics library to poll.
+ *
+ * Telemetry is off unless the {@value #ENABLED_PROPERTY} system property is
+ * {@code true}. While it is off, every attribute shares one disabled instance
+ * that is never registered, and recording returns after a single branch. When
+ * enabled, one in every N calls is recorded, with N read from the
+ * {@value #SAMPLE_RATE_PROPERTY} property (default 1). Recording only updates
+ * atomic counters, so it never allocates. Counts are of sampled calls;
+ * multiply by {@link #getSampleRate()} to estimate totals.
+ *
+ * Sizes are kept in power-of-two buckets: bucket 0 counts empty collections
+ * and bucket {@code i} counts sizes in {@code [2^(i-1), 2^i)}. Every recorded
+ * build is also counted once as either adopted or copied, so
+ * {@link #getAdopted()} and {@link #getCopied()} add up to {@link #getBuilds()}.
+ * Attributes that were never initialized are counted apart, in
+ * {@link #getUnset()}, and are in none of the other counts.
+ */
+public final class CollectionBuildTelemetry {
+
+  public static final String ENABLED_PROPERTY = "hubspot.immutables.buildTelemetry";
+  public static final String SAMPLE_RATE_PROPERTY =
+    "hubspot.immutables.buildTelemetry.sampleRate";
+
+  static final int BUCKETS = 32;
+
+  private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+  private static final int SAMPLE_RATE = Integer.getInteger(SAMPLE_RATE_PROPERTY, 1);
+
+  private static final CollectionBuildTelemetry DISABLED = new CollectionBuildTelemetry(
+    null,
+    null,
+    false,
+    1
+  );
+  private static final List<CollectionBuildTelemetry> REGISTRY =
+    new CopyOnWriteArrayList<>();
+
+  private final Class<?> owner;
+  private final String kind;
+  private final boolean enabled;
+  private final int sampleRate;
+  private final AtomicLongArray sizeBuckets = new AtomicLongArray(BUCKETS);
+  private final AtomicLong totalSize = new AtomicLong();
+  private final AtomicLong adopted = new AtomicLong();
+  private final AtomicLong copied = new AtomicLong();
+  private final AtomicLong unset = new AtomicLong();
+  private volatile String attribute = null;
+
+  public CollectionBuildTelemetry(
+    Class<?> owner,
+    String kind,
+    boolean enabled,
+    int sampleRate
+  ) {
+    this.owner = owner;
+    this.kind = kind;
+    this.enabled = enabled;
+    this.sampleRate = Math.max(sampleRate, 1);
+  }
+
+  /**
+   * Called from a static initializer inlined into the generated class, with
+   * {@code MethodHandles.lookup().lookupClass()} as the owner.
+   */
+  public static CollectionBuildTelemetry forAttribute(Class<?> owner, String kind) {
+    if (!ENABLED) {
+      return DISABLED;
+    }
+
+    CollectionBuildTelemetry telemetry = new CollectionBuildTelemetry(
+      owner,
+      kind,
+      true,
+      SAMPLE_RATE
+    );
+    REGISTRY.add(telemetry);
+    return telemetry;
+  }
+
+  public static List<CollectionBuildTelemetry> all() {
+    return Collections.unmodifiableList(REGISTRY);
+  }
+
+  /**
+   * Records one built collection: its size, and whether it was adopted as it
+   * was passed in or had to be copied, either by {@code copyOf} or through a
+   * builder. Attributes that were never initialized go to
+   * {@link #recordUnset()} instead.
+   */
+  public void recordBuild(int size, boolean wasAdopted) {
+    if (!enabled || !sampled()) {
+      return;
+    }
+
+    sizeBuckets.incrementAndGet(Integer.SIZE - Integer.numberOfLeadingZeros(size));
+    totalSize.addAndGet(size);
+    if (wasAdopted) {
+      adopted.incrementAndGet();
+    } else {
+      copied.incrementAndGet();
+    }
+  }
+
+  /**
+   * Records a build of an attribute that was never initialized, which neither
+   * adopts nor copies anything.
+   */
+  public void recordUnset() {
+    if (!enabled || !sampled()) {
+      return;
+    }
+
+    unset.incrementAndGet();
+  }
+
+  private boolean sampled() {
+    return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+  }
+
+  public Class<?> getOwner() {
+    return owner;
+  }
+
+  /**
+   * The name of the attribute this instance records, found through the static
+   * field the generated class holds it in; resolved reflectively on first use,
+   * not while recording.
+   */
+  public String getAttribute() {
+    if (owner == null) {
+      return null;
+    }
+
+    String result = attribute;
+    if (result == null) {
+      result = resolveAttribute();
+      attribute = result;
+    }
+    return result;
+  }
+
+  /**
+   * {@code "list"}, {@code "set"} or {@code "map"}.
+   */
+  public String getKind() {
+    return kind;
+  }
+
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  public long getBuilds() {
+    long builds = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      builds += sizeBuckets.get(i);
+    }
+    return builds;
+  }
+
+  public long getTotalSize() {
+    return totalSize.get();
+  }
+
+  public long[] getSizeHistogram() {
+    long[] histogram = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      histogram[i] = sizeBuckets.get(i);
+    }
+    return histogram;
+  }
+
+  public long getAdopted() {
+    return adopted.get();
+  }
+
+  public long getCopied() {
+    return copied.get();
+  }
+
+  public long getUnset() {
+    return unset.get();
+  }
+
+  private String resolveAttribute() {
+    String name = GeneratedAttributeNames.resolve(owner, this, "_TELEMETRY");
+    if (name != null) {
+      return name;
+    }
+    // the attribute name is best effort, fall back to an anonymous name
+    return kind + "@" + Integer.toHexString(System.identityHashCode(this));
+  }
+
+  @Override
+  public String toString() {
+    return (
+      "CollectionBuildTelemetry{owner=" +
+      (owner == null ? null : owner.getName()) +
+      ", attribute=" +
+      getAttribute() +
+      ", builds=" +
+      getBuilds() +
+      ", adopted=" +
+      getAdopted() +
+      ", copied=" +
+      getCopied() +
+      ", unset=" +
+      getUnset() +
+      "}"
+    );
+  }
+}
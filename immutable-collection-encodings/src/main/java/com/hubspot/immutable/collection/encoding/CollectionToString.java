@@ -0,0 +1,129 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders collection attributes in generated {@code toString()} methods for
+ * the List, Set and Map encodings, writing at most a fixed number of elements
+ * per collection, e.g. {@code [a, b, c, ...and 9,842 more]}. This bounds what
+ * logging a value with large collections allocates.
+ *
+ * The cap is read from the {@value #MAX_ELEMENTS_PROPERTY} system property and
+ * is unlimited by default, in which case collections render exactly like
+ * their own {@code toString()}. Attributes marked {@code @Value.Redacted} are
+ * still masked by the generated {@code toString()} before they get here.
+ */
+public final class CollectionToString {
+
+  public static final String MAX_ELEMENTS_PROPERTY =
+    "hubspot.immutables.toString.maxElements";
+
+  private static final int MAX_ELEMENTS = Math.max(
+    Integer.getInteger(MAX_ELEMENTS_PROPERTY, Integer.MAX_VALUE),
+    0
+  );
+
+  private CollectionToString() {}
+
+  public static int getMaxElements() {
+    return MAX_ELEMENTS;
+  }
+
+  public static String of(Collection<?> collection) {
+    if (collection.size() <= MAX_ELEMENTS) {
+      return collection.toString();
+    }
+
+    try {
+      return appendTo(new StringBuilder(), collection, MAX_ELEMENTS).toString();
+    } catch (IOException e) {
+      // a StringBuilder doesn't throw
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static String of(Map<?, ?> map) {
+    if (map.size() <= MAX_ELEMENTS) {
+      return map.toString();
+    }
+
+    try {
+      return appendTo(new StringBuilder(), map, MAX_ELEMENTS).toString();
+    } catch (IOException e) {
+      // a StringBuilder doesn't throw
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Appends {@code collection} to {@code out} the way
+   * {@link java.util.AbstractCollection#toString()} renders it, stopping after
+   * {@code maxElements} elements, e.g. straight into a log writer.
+   *
+   * @return {@code out}
+   */
+  public static <A extends Appendable> A appendTo(
+    A out,
+    Collection<?> collection,
+    int maxElements
+  ) throws IOException {
+    out.append('[');
+    Iterator<?> iterator = collection.iterator();
+    int written = 0;
+    while (iterator.hasNext() && written < maxElements) {
+      if (written > 0) {
+        out.append(", ");
+      }
+      out.append(String.valueOf(iterator.next()));
+      written++;
+    }
+    appendRemaining(out, written, collection.size() - written);
+    out.append(']');
+    return out;
+  }
+
+  /**
+   * Appends {@code map} to {@code out} the way
+   * {@link java.util.AbstractMap#toString()} renders it, stopping after
+   * {@code maxElements} entries.
+   *
+   * @return {@code out}
+   */
+  public static <A extends Appendable> A appendTo(A out, Map<?, ?> map, int maxElements)
+    throws IOException {
+    out.append('{');
+    Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+    int written = 0;
+    while (iterator.hasNext() && written < maxElements) {
+      if (written > 0) {
+        out.append(", ");
+      }
+      Map.Entry<?, ?> entry = iterator.next();
+      out
+        .append(String.valueOf(entry.getKey()))
+        .append('=')
+        .append(String.valueOf(entry.getValue()));
+      written++;
+    }
+    appendRemaining(out, written, map.size() - written);
+    out.append('}');
+    return out;
+  }
+
+  private static void appendRemaining(Appendable out, int written, int remaining)
+    throws IOException {
+    if (remaining <= 0) {
+      return;
+    }
+
+    if (written > 0) {
+      out.append(", ");
+    }
+    out.append(String.format(Locale.ROOT, "...and %,d more", remaining));
+  }
+}
@@ -0,0 +1,79 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A builder for an {@link ImmutableList} that can absorb other builders in
+ * constant time, for assembling one large list from the results of a
+ * fork-join task tree.
+ *
+ * Each subtask fills its own builder, and a parent joins its children with
+ * {@link #combine(CombinableImmutableListBuilder)}, which links their chunks
+ * instead of copying them. {@link #build()} then copies every chunk once into
+ * a single exact-size array that the returned list adopts. The result can be
+ * handed to a generated builder through {@code addAllX(...)} or
+ * {@code setX(...)} without another copy.
+ *
+ * Like other builders, instances are not thread safe; each subtask should own
+ * one until it is combined into its parent.
+ */
+public final class CombinableImmutableListBuilder<T> {
+
+  private final ChunkedArray elements = new ChunkedArray();
+
+  public CombinableImmutableListBuilder<T> add(T element) {
+    elements.add(Objects.requireNonNull(element, "element"));
+    return this;
+  }
+
+  @SafeVarargs
+  public final CombinableImmutableListBuilder<T> add(T... elements) {
+    this.elements.ensureRoomFor(elements.length);
+    for (T element : elements) {
+      add(element);
+    }
+    return this;
+  }
+
+  public CombinableImmutableListBuilder<T> addAll(Iterable<? extends T> elements) {
+    if (elements instanceof Collection) {
+      this.elements.ensureRoomFor(((Collection<? extends T>) elements).size());
+    }
+    for (T element : elements) {
+      add(element);
+    }
+    return this;
+  }
+
+  /**
+   * Appends everything added to {@code other} after the elements of this
+   * builder, without copying. {@code other} is left empty.
+   */
+  public CombinableImmutableListBuilder<T> combine(
+    CombinableImmutableListBuilder<? extends T> other
+  ) {
+    elements.combine(other.elements);
+    return this;
+  }
+
+  public int size() {
+    return elements.size();
+  }
+
+  @SuppressWarnings("unchecked")
+  public ImmutableList<T> build() {
+    if (elements.size() == 0) {
+      return ImmutableList.of();
+    }
+
+    // presized to the exact size, so the builder never grows
+    ImmutableList.Builder<T> builder = ImmutableList.builderWithExpectedSize(
+      elements.size()
+    );
+    elements.forEachChunk(chunk -> builder.addAll((List<T>) chunk));
+    return builder.build();
+  }
+}
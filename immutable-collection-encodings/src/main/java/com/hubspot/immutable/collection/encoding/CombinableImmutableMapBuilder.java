@@ -0,0 +1,67 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The {@link ImmutableMap} counterpart of {@link CombinableImmutableListBuilder}.
+ * Entries are kept as alternating keys and values until {@link #build()},
+ * which fills a builder presized to the combined entry count.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public final class CombinableImmutableMapBuilder<K, V> {
+
+  private final ChunkedArray keysAndValues = new ChunkedArray();
+
+  public CombinableImmutableMapBuilder<K, V> put(K key, V value) {
+    keysAndValues.add(Objects.requireNonNull(key, "key"));
+    keysAndValues.add(Objects.requireNonNull(value, "value"));
+    return this;
+  }
+
+  public CombinableImmutableMapBuilder<K, V> put(
+    Map.Entry<? extends K, ? extends V> entry
+  ) {
+    return put(entry.getKey(), entry.getValue());
+  }
+
+  public CombinableImmutableMapBuilder<K, V> putAll(Map<? extends K, ? extends V> map) {
+    keysAndValues.ensureRoomFor(map.size() * 2);
+    for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * Appends every entry put into {@code other} after the entries of this
+   * builder, without copying. {@code other} is left empty.
+   */
+  public CombinableImmutableMapBuilder<K, V> combine(
+    CombinableImmutableMapBuilder<? extends K, ? extends V> other
+  ) {
+    keysAndValues.combine(other.keysAndValues);
+    return this;
+  }
+
+  public int size() {
+    return keysAndValues.size() / 2;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the same key was put twice, like
+   *     {@code ImmutableMap.Builder#build()}
+   */
+  @SuppressWarnings("unchecked")
+  public ImmutableMap<K, V> build() {
+    Object[] entries = keysAndValues.toArray();
+    ImmutableMap.Builder<K, V> builder = ImmutableMap.builderWithExpectedSize(
+      entries.length / 2
+    );
+    for (int i = 0; i < entries.length; i += 2) {
+      builder.put((K) entries[i], (V) entries[i + 1]);
+    }
+    return builder.build();
+  }
+}
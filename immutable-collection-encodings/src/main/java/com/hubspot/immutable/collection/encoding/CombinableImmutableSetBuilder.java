@@ -0,0 +1,59 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * The {@link ImmutableSet} counterpart of {@link CombinableImmutableListBuilder}.
+ * Duplicates are kept until {@link #build()}, which removes them while
+ * building the hash table, keeping the first occurrence in combined order.
+ */
+public final class CombinableImmutableSetBuilder<T> {
+
+  private final ChunkedArray elements = new ChunkedArray();
+
+  public CombinableImmutableSetBuilder<T> add(T element) {
+    elements.add(Objects.requireNonNull(element, "element"));
+    return this;
+  }
+
+  @SafeVarargs
+  public final CombinableImmutableSetBuilder<T> add(T... elements) {
+    this.elements.ensureRoomFor(elements.length);
+    for (T element : elements) {
+      add(element);
+    }
+    return this;
+  }
+
+  public CombinableImmutableSetBuilder<T> addAll(Iterable<? extends T> elements) {
+    if (elements instanceof Collection) {
+      this.elements.ensureRoomFor(((Collection<? extends T>) elements).size());
+    }
+    for (T element : elements) {
+      add(element);
+    }
+    return this;
+  }
+
+  /**
+   * Appends everything added to {@code other} after the elements of this
+   * builder, without copying. {@code other} is left empty.
+   */
+  public CombinableImmutableSetBuilder<T> combine(
+    CombinableImmutableSetBuilder<? extends T> other
+  ) {
+    elements.combine(other.elements);
+    return this;
+  }
+
+  public int size() {
+    return elements.size();
+  }
+
+  @SuppressWarnings("unchecked")
+  public ImmutableSet<T> build() {
+    return (ImmutableSet<T>) ImmutableSet.copyOf(elements.toArray());
+  }
+}
@@ -0,0 +1,357 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.hubspot.immutable.collection.encoding.DeltaLongList.Deserializer;
+import com.hubspot.immutable.collection.encoding.DeltaLongList.Serializer;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable list of {@code long}s stored as the deltas between consecutive
+ * elements, zigzag and varint encoded in a {@code byte[]}. Sorted timestamps
+ * and counters, whose deltas are small, take one or two bytes per element
+ * instead of a reference plus a boxed {@link Long}. Any sequence works,
+ * decreasing ones included, but large jumps take up to ten bytes.
+ *
+ * Read sequentially with {@link #longIterator()} or {@link #longStream()}.
+ * {@link #getLong(int)} starts from the nearest of the checkpoints kept every
+ * {@value #CHECKPOINT_INTERVAL} elements, so it decodes at most that many
+ * deltas.
+ */
+@JsonSerialize(using = Serializer.class)
+@JsonDeserialize(using = Deserializer.class)
+public final class DeltaLongList extends AbstractList<Long> {
+
+  static final int CHECKPOINT_SHIFT = 6;
+  static final int CHECKPOINT_INTERVAL = 1 << CHECKPOINT_SHIFT;
+
+  private static final DeltaLongList EMPTY = new DeltaLongList(
+    new byte[0],
+    0,
+    new long[0],
+    new int[0]
+  );
+
+  private final byte[] data;
+  private final int size;
+  // the element at every CHECKPOINT_INTERVAL-th index, and the data offset after it
+  private final long[] checkpointValues;
+  private final int[] checkpointOffsets;
+
+  private DeltaLongList(
+    byte[] data,
+    int size,
+    long[] checkpointValues,
+    int[] checkpointOffsets
+  ) {
+    this.data = data;
+    this.size = size;
+    this.checkpointValues = checkpointValues;
+    this.checkpointOffsets = checkpointOffsets;
+  }
+
+  public static DeltaLongList of() {
+    return EMPTY;
+  }
+
+  public static DeltaLongList of(long... elements) {
+    return builder().add(elements).build();
+  }
+
+  public static DeltaLongList copyOf(Iterable<Long> elements) {
+    if (elements instanceof DeltaLongList) {
+      return (DeltaLongList) elements;
+    }
+    return builder().addAll(elements).build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Long get(int index) {
+    return getLong(index);
+  }
+
+  public long getLong(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+    }
+
+    int checkpoint = index >>> CHECKPOINT_SHIFT;
+    long value = checkpointValues[checkpoint];
+    int position = checkpointOffsets[checkpoint];
+    for (int i = index & (CHECKPOINT_INTERVAL - 1); i > 0; i--) {
+      long delta = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = data[position++];
+        delta |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      value += (delta >>> 1) ^ -(delta & 1);
+    }
+    return value;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    if (!(o instanceof Long)) {
+      return false;
+    }
+    long target = (Long) o;
+    PrimitiveIterator.OfLong iterator = longIterator();
+    while (iterator.hasNext()) {
+      if (iterator.nextLong() == target) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public PrimitiveIterator.OfLong iterator() {
+    return longIterator();
+  }
+
+  public PrimitiveIterator.OfLong longIterator() {
+    return new PrimitiveIterator.OfLong() {
+      private int index = 0;
+      private int position = 0;
+      private long value = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public long nextLong() {
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+
+        long delta = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = data[position++];
+          delta |= (long) (b & 0x7F) << shift;
+          shift += 7;
+        } while (b < 0);
+        value += (delta >>> 1) ^ -(delta & 1);
+        index++;
+        return value;
+      }
+    };
+  }
+
+  public LongStream longStream() {
+    return StreamSupport.longStream(
+      Spliterators.spliterator(
+        longIterator(),
+        size,
+        Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL
+      ),
+      false
+    );
+  }
+
+  public long[] toLongArray() {
+    long[] result = new long[size];
+    PrimitiveIterator.OfLong iterator = longIterator();
+    for (int i = 0; i < size; i++) {
+      result[i] = iterator.nextLong();
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    } else if (o instanceof DeltaLongList) {
+      // the encoding is deterministic, so equal lists have equal bytes
+      DeltaLongList other = (DeltaLongList) o;
+      return size == other.size && Arrays.equals(data, other.data);
+    } else if (!(o instanceof List) || ((List<?>) o).size() != size) {
+      return false;
+    }
+
+    Iterator<?> others = ((List<?>) o).iterator();
+    PrimitiveIterator.OfLong iterator = longIterator();
+    while (iterator.hasNext()) {
+      Object other = others.next();
+      if (!(other instanceof Long) || (Long) other != iterator.nextLong()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    PrimitiveIterator.OfLong iterator = longIterator();
+    while (iterator.hasNext()) {
+      hash = 31 * hash + Long.hashCode(iterator.nextLong());
+    }
+    return hash;
+  }
+
+  /**
+   * Size of the encoded deltas in bytes, excluding the checkpoints.
+   */
+  public int encodedSize() {
+    return data.length;
+  }
+
+  public static final class Builder {
+
+    private byte[] data = new byte[64];
+    private int position = 0;
+    private int size = 0;
+    private long last = 0;
+    private long[] checkpointValues = new long[4];
+    private int[] checkpointOffsets = new int[4];
+
+    private Builder() {}
+
+    public Builder add(long element) {
+      if (data.length - position < 10) {
+        data = Arrays.copyOf(data, Math.max(data.length * 2, position + 10));
+      }
+      long delta = element - last;
+      long zigzag = (delta << 1) ^ (delta >> 63);
+      while ((zigzag & ~0x7FL) != 0) {
+        data[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+        zigzag >>>= 7;
+      }
+      data[position++] = (byte) zigzag;
+
+      if ((size & (CHECKPOINT_INTERVAL - 1)) == 0) {
+        int checkpoint = size >>> CHECKPOINT_SHIFT;
+        if (checkpoint == checkpointValues.length) {
+          checkpointValues = Arrays.copyOf(checkpointValues, checkpoint * 2);
+          checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpoint * 2);
+        }
+        checkpointValues[checkpoint] = element;
+        checkpointOffsets[checkpoint] = position;
+      }
+
+      last = element;
+      size++;
+      return this;
+    }
+
+    public Builder add(long... elements) {
+      for (long element : elements) {
+        add(element);
+      }
+      return this;
+    }
+
+    public Builder addAll(Iterable<Long> elements) {
+      if (elements instanceof DeltaLongList) {
+        return addAll(((DeltaLongList) elements).longStream());
+      }
+      for (Long element : elements) {
+        add(Objects.requireNonNull(element, "element").longValue());
+      }
+      return this;
+    }
+
+    public Builder addAll(LongStream elements) {
+      elements.forEachOrdered(this::add);
+      return this;
+    }
+
+    public DeltaLongList build() {
+      if (size == 0) {
+        return EMPTY;
+      }
+      int checkpoints = ((size - 1) >>> CHECKPOINT_SHIFT) + 1;
+      return new DeltaLongList(
+        Arrays.copyOf(data, position),
+        size,
+        Arrays.copyOf(checkpointValues, checkpoints),
+        Arrays.copyOf(checkpointOffsets, checkpoints)
+      );
+    }
+  }
+
+  /**
+   * Writes a JSON array of numbers, decoding one element at a time.
+   */
+  public static class Serializer extends JsonSerializer<DeltaLongList> {
+
+    @Override
+    public void serialize(
+      DeltaLongList value,
+      JsonGenerator gen,
+      SerializerProvider serializers
+    ) throws IOException {
+      gen.writeStartArray(value, value.size());
+      PrimitiveIterator.OfLong iterator = value.longIterator();
+      while (iterator.hasNext()) {
+        gen.writeNumber(iterator.nextLong());
+      }
+      gen.writeEndArray();
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, DeltaLongList value) {
+      return value.isEmpty();
+    }
+  }
+
+  /**
+   * Reads a JSON array of numbers straight into a {@link Builder}, without
+   * boxing or an intermediate collection.
+   */
+  public static class Deserializer extends JsonDeserializer<DeltaLongList> {
+
+    @Override
+    public DeltaLongList deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (!p.isExpectedStartArrayToken()) {
+        return (DeltaLongList) ctxt.handleUnexpectedToken(DeltaLongList.class, p);
+      }
+
+      Builder builder = new Builder();
+      JsonToken token;
+      while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.VALUE_NUMBER_INT) {
+          return (DeltaLongList) ctxt.handleUnexpectedToken(Long.class, p);
+        }
+        builder.add(p.getLongValue());
+      }
+      return builder.build();
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.util.Collection;
+import java.util.stream.LongStream;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class DeltaLongListEncoding {
+
+  @Encoding.Impl
+  private DeltaLongList field = null;
+
+  @Encoding.Expose
+  DeltaLongList getDeltaLongList() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.DeltaLongList.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  DeltaLongList withCollectionVarargs(long... elements) {
+    return com.hubspot.immutable.collection.encoding.DeltaLongList.of(elements);
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  DeltaLongList withCollection(Iterable<Long> elements) {
+    return com.hubspot.immutable.collection.encoding.DeltaLongList.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static DeltaLongList of(Collection<Long> input) {
+    return com.hubspot.immutable.collection.encoding.DeltaLongList.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder {
+
+    private DeltaLongList list = null;
+    private DeltaLongList.Builder builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(long... element) {
+      if (builder != null) {
+        builder.add(element);
+      } else if (list != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.DeltaLongList
+            .builder()
+            .addAll(list)
+            .add(element);
+
+        list = null;
+      } else {
+        builder =
+          com.hubspot.immutable.collection.encoding.DeltaLongList.builder().add(element);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<Long> elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (list != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.DeltaLongList
+            .builder()
+            .addAll(list)
+            .addAll(elements);
+
+        list = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllStream(LongStream elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (list != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.DeltaLongList
+            .builder()
+            .addAll(list)
+            .addAll(elements);
+
+        list = null;
+      } else {
+        builder =
+          com.hubspot.immutable.collection.encoding.DeltaLongList
+            .builder()
+            .addAll(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<Long> input) {
+      list = com.hubspot.immutable.collection.encoding.DeltaLongList.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return list != null || builder != null;
+    }
+
+    @Encoding.Build
+    DeltaLongList build() {
+      if (builder != null) {
+        return builder.build();
+      } else if (list != null) {
+        return list;
+      } else {
+        return com.hubspot.immutable.collection.encoding.DeltaLongList.of();
+      }
+    }
+  }
+}
@@ -0,0 +1,388 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.primitives.UnsignedBytes;
+import com.hubspot.immutable.collection.encoding.FrontCodedStringSet.Deserializer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable, sorted set of strings stored front-coded: elements are sorted
+ * by their UTF-8 bytes (which is code point order), grouped into blocks of
+ * {@value #BLOCK_SIZE}, and every element after the first in a block only
+ * stores the suffix that differs from its predecessor.
+ *
+ * {@link #contains(Object)} binary searches the block heads and then scans a
+ * single block, without decoding any element to a {@link String}. Iteration
+ * decodes elements in sorted order. Sets of identifiers, domains or paths with
+ * long shared prefixes compress best.
+ *
+ * Strings with unpaired surrogates have no UTF-8 encoding and are rejected
+ * with an {@link IllegalArgumentException} when added.
+ */
+@JsonDeserialize(using = Deserializer.class)
+public final class FrontCodedStringSet extends AbstractSet<String> {
+
+  static final int BLOCK_SIZE = 16;
+
+  private static final Comparator<byte[]> BYTE_ORDER =
+    UnsignedBytes.lexicographicalComparator();
+  private static final FrontCodedStringSet EMPTY = new FrontCodedStringSet(
+    new byte[0],
+    new int[0],
+    0,
+    0
+  );
+
+  private final byte[] data;
+  private final int[] blockOffsets;
+  private final int size;
+  private final int maxElementLength;
+
+  private FrontCodedStringSet(
+    byte[] data,
+    int[] blockOffsets,
+    int size,
+    int maxElementLength
+  ) {
+    this.data = data;
+    this.blockOffsets = blockOffsets;
+    this.size = size;
+    this.maxElementLength = maxElementLength;
+  }
+
+  public static FrontCodedStringSet of() {
+    return EMPTY;
+  }
+
+  public static FrontCodedStringSet of(String... elements) {
+    return copyOf(Arrays.asList(elements));
+  }
+
+  public static FrontCodedStringSet copyOf(Iterable<? extends String> elements) {
+    if (elements instanceof FrontCodedStringSet) {
+      return (FrontCodedStringSet) elements;
+    }
+    return builder().addAll(elements).build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    if (!(o instanceof String) || size == 0) {
+      return false;
+    }
+
+    byte[] target = StrictUtf8.encodeForLookup((String) o);
+    if (target == null) {
+      return false;
+    }
+
+    // find the last block whose head is <= target
+    int low = 0;
+    int high = blockOffsets.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int comparison = compareHead(mid, target);
+      if (comparison == 0) {
+        return true;
+      } else if (comparison < 0) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    if (high < 0) {
+      return false;
+    }
+
+    Cursor cursor = new Cursor(high);
+    cursor.next();
+    while (cursor.hasNextInBlock()) {
+      cursor.next();
+      int comparison = cursor.compareTo(target);
+      if (comparison == 0) {
+        return true;
+      } else if (comparison > 0) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    return new Iterator<String>() {
+      private int block = 0;
+      private Cursor cursor = null;
+
+      @Override
+      public boolean hasNext() {
+        return (cursor != null && cursor.hasNextInBlock()) || block < blockOffsets.length;
+      }
+
+      @Override
+      public String next() {
+        if (cursor == null || !cursor.hasNextInBlock()) {
+          if (block >= blockOffsets.length) {
+            throw new NoSuchElementException();
+          }
+          cursor = new Cursor(block++);
+        }
+        cursor.next();
+        return cursor.decode();
+      }
+    };
+  }
+
+  public String first() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    Cursor cursor = new Cursor(0);
+    cursor.next();
+    return cursor.decode();
+  }
+
+  public String last() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    Cursor cursor = new Cursor(blockOffsets.length - 1);
+    cursor.next();
+    while (cursor.hasNextInBlock()) {
+      cursor.next();
+    }
+    return cursor.decode();
+  }
+
+  /**
+   * Size of the front-coded element data in bytes, excluding the block index.
+   */
+  public int encodedSize() {
+    return data.length;
+  }
+
+  private int compareHead(int block, byte[] target) {
+    int position = blockOffsets[block];
+    int length = readVarInt(position);
+    int start = position + varIntSize(length);
+    int common = Math.min(length, target.length);
+    for (int i = 0; i < common; i++) {
+      int comparison = UnsignedBytes.compare(data[start + i], target[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return length - target.length;
+  }
+
+  private int readVarInt(int position) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = data[position++];
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  private static int varIntSize(int value) {
+    int bytes = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      bytes++;
+    }
+    return bytes;
+  }
+
+  /**
+   * Walks one block, rebuilding each element's bytes in a scratch buffer.
+   */
+  private final class Cursor {
+
+    private final int end;
+    private final byte[] current = new byte[maxElementLength];
+    private int position;
+    private int length = 0;
+    private boolean started = false;
+
+    private Cursor(int block) {
+      this.position = blockOffsets[block];
+      this.end = block + 1 < blockOffsets.length ? blockOffsets[block + 1] : data.length;
+    }
+
+    boolean hasNextInBlock() {
+      return position < end;
+    }
+
+    void next() {
+      int prefix = 0;
+      if (started) {
+        prefix = readVarInt(position);
+        position += varIntSize(prefix);
+      }
+      int suffix = readVarInt(position);
+      position += varIntSize(suffix);
+
+      System.arraycopy(data, position, current, prefix, suffix);
+      position += suffix;
+      length = prefix + suffix;
+      started = true;
+    }
+
+    int compareTo(byte[] target) {
+      int common = Math.min(length, target.length);
+      for (int i = 0; i < common; i++) {
+        int comparison = UnsignedBytes.compare(current[i], target[i]);
+        if (comparison != 0) {
+          return comparison;
+        }
+      }
+      return length - target.length;
+    }
+
+    String decode() {
+      return new String(current, 0, length, StandardCharsets.UTF_8);
+    }
+  }
+
+  public static final class Builder {
+
+    private final ArrayList<byte[]> elements = new ArrayList<>();
+
+    private Builder() {}
+
+    public Builder add(String element) {
+      elements.add(StrictUtf8.encode(Objects.requireNonNull(element, "element")));
+      return this;
+    }
+
+    public Builder addAll(Iterable<? extends String> elements) {
+      if (elements instanceof Collection) {
+        this.elements.ensureCapacity(
+            this.elements.size() + ((Collection<?>) elements).size()
+          );
+      }
+      for (String element : elements) {
+        add(element);
+      }
+      return this;
+    }
+
+    public FrontCodedStringSet build() {
+      byte[][] sorted = elements.toArray(new byte[0][]);
+      Arrays.sort(sorted, BYTE_ORDER);
+
+      int unique = 0;
+      for (byte[] element : sorted) {
+        if (unique == 0 || !Arrays.equals(sorted[unique - 1], element)) {
+          sorted[unique++] = element;
+        }
+      }
+      if (unique == 0) {
+        return EMPTY;
+      }
+
+      int[] blockOffsets = new int[(unique + BLOCK_SIZE - 1) / BLOCK_SIZE];
+      byte[] data = new byte[64];
+      int position = 0;
+      int maxElementLength = 0;
+
+      for (int i = 0; i < unique; i++) {
+        byte[] element = sorted[i];
+        maxElementLength = Math.max(maxElementLength, element.length);
+
+        int prefix = 0;
+        if (i % BLOCK_SIZE == 0) {
+          blockOffsets[i / BLOCK_SIZE] = position;
+        } else {
+          prefix = commonPrefix(sorted[i - 1], element);
+        }
+        int suffix = element.length - prefix;
+
+        int needed = position + 10 + suffix;
+        if (needed > data.length) {
+          data = Arrays.copyOf(data, Math.max(data.length * 2, needed));
+        }
+        if (i % BLOCK_SIZE != 0) {
+          position = writeVarInt(data, position, prefix);
+        }
+        position = writeVarInt(data, position, suffix);
+        System.arraycopy(element, prefix, data, position, suffix);
+        position += suffix;
+      }
+
+      return new FrontCodedStringSet(
+        Arrays.copyOf(data, position),
+        blockOffsets,
+        unique,
+        maxElementLength
+      );
+    }
+
+    private static int commonPrefix(byte[] a, byte[] b) {
+      int max = Math.min(a.length, b.length);
+      int i = 0;
+      while (i < max && a[i] == b[i]) {
+        i++;
+      }
+      return i;
+    }
+
+    private static int writeVarInt(byte[] data, int position, int value) {
+      while ((value & ~0x7F) != 0) {
+        data[position++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      data[position++] = (byte) value;
+      return position;
+    }
+  }
+
+  public static class Deserializer extends JsonDeserializer<FrontCodedStringSet> {
+
+    @Override
+    public FrontCodedStringSet deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (!p.isExpectedStartArrayToken()) {
+        return (FrontCodedStringSet) ctxt.handleUnexpectedToken(
+          FrontCodedStringSet.class,
+          p
+        );
+      }
+
+      Builder builder = new Builder();
+      JsonToken token;
+      while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.VALUE_STRING) {
+          return (FrontCodedStringSet) ctxt.handleUnexpectedToken(String.class, p);
+        }
+        builder.add(p.getText());
+      }
+      return builder.build();
+    }
+  }
+}
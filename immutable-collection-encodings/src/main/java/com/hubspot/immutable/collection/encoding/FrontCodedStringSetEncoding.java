@@ -0,0 +1,110 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class FrontCodedStringSetEncoding {
+
+  @Encoding.Impl
+  private FrontCodedStringSet field = null;
+
+  @Encoding.Expose
+  FrontCodedStringSet getFrontCodedStringSet() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.FrontCodedStringSet.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  FrontCodedStringSet withCollectionVarargs(String... elements) {
+    return com.hubspot.immutable.collection.encoding.FrontCodedStringSet.of(elements);
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  FrontCodedStringSet withCollection(Iterable<String> elements) {
+    return com.hubspot.immutable.collection.encoding.FrontCodedStringSet.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static FrontCodedStringSet of(Collection<String> input) {
+    return com.hubspot.immutable.collection.encoding.FrontCodedStringSet.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder {
+
+    private FrontCodedStringSet set = null;
+    private FrontCodedStringSet.Builder builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(String... element) {
+      if (builder != null) {
+        builder.addAll(Arrays.asList(element));
+      } else if (set != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.FrontCodedStringSet
+            .builder()
+            .addAll(set)
+            .addAll(Arrays.asList(element));
+
+        set = null;
+      } else {
+        builder =
+          com.hubspot.immutable.collection.encoding.FrontCodedStringSet
+            .builder()
+            .addAll(Arrays.asList(element));
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<String> elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (set != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.FrontCodedStringSet
+            .builder()
+            .addAll(set)
+            .addAll(elements);
+
+        set = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<String> input) {
+      set = com.hubspot.immutable.collection.encoding.FrontCodedStringSet.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return set != null || builder != null;
+    }
+
+    @Encoding.Build
+    FrontCodedStringSet build() {
+      if (builder != null) {
+        return builder.build();
+      } else if (set != null) {
+        return set;
+      } else {
+        return com.hubspot.immutable.collection.encoding.FrontCodedStringSet.of();
+      }
+    }
+  }
+}
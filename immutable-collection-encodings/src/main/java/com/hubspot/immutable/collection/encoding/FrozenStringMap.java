@@ -0,0 +1,445 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.ObjectBuffer;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.hubspot.immutable.collection.encoding.FrozenStringMap.Deserializer;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable {@code String}-keyed map for data that is built once and read
+ * many times. {@link #build} places the keys with a minimal perfect hash
+ * (hash-and-displace, as in CHD), so a lookup is one {@link String#hashCode()}
+ * (which strings cache), one array probe and one {@link String#equals} call,
+ * for hits and misses alike.
+ *
+ * Iteration follows insertion order, like {@link ImmutableMap}. Building costs
+ * more than an {@link ImmutableMap}, so this only pays off for maps that are
+ * read far more often than they are built.
+ *
+ * If some keys have equal {@link String#hashCode()} values no perfect hash
+ * exists for them, and the map falls back to {@link ImmutableMap} lookups;
+ * {@link #isPerfectlyHashed()} tells whether that happened.
+ */
+@JsonDeserialize(using = Deserializer.class)
+public final class FrozenStringMap<V> extends AbstractMap<String, V> {
+
+  private static final int MAX_SEED = 1 << 16;
+  private static final FrozenStringMap<Object> EMPTY = new FrozenStringMap<>(
+    new int[] { -1 },
+    new String[] { null },
+    new Object[] { null },
+    new int[0],
+    null
+  );
+
+  // per bucket: the seed for its keys' slot hash, or -(slot + 1) for single-key buckets
+  private final int[] seeds;
+  // keys and values in slot order
+  private final String[] keys;
+  private final Object[] values;
+  // slots in insertion order, for iteration
+  private final int[] order;
+  private final ImmutableMap<String, V> fallback;
+
+  private FrozenStringMap(
+    int[] seeds,
+    String[] keys,
+    Object[] values,
+    int[] order,
+    ImmutableMap<String, V> fallback
+  ) {
+    this.seeds = seeds;
+    this.keys = keys;
+    this.values = values;
+    this.order = order;
+    this.fallback = fallback;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <V> FrozenStringMap<V> of() {
+    return (FrozenStringMap<V>) EMPTY;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <V> FrozenStringMap<V> copyOf(Map<String, ? extends V> map) {
+    if (map instanceof FrozenStringMap) {
+      return (FrozenStringMap<V>) map;
+    }
+    return FrozenStringMap.<V>builder().putAll(map).build();
+  }
+
+  public static <V> Builder<V> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * Whether lookups use the perfect hash, rather than the {@link ImmutableMap}
+   * this map falls back to when some of its keys have equal hash codes.
+   */
+  public boolean isPerfectlyHashed() {
+    return fallback == null;
+  }
+
+  @Override
+  public int size() {
+    return order.length;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    if (fallback != null) {
+      return fallback.get(key);
+    } else if (!(key instanceof String)) {
+      return null;
+    }
+
+    int mixed = mix(key.hashCode());
+    int seed = seeds[bucket(mixed, seeds.length)];
+    int slot = seed < 0 ? -seed - 1 : slot(mixed, seed, keys.length);
+    return key.equals(keys[slot]) ? (V) values[slot] : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    if (fallback != null) {
+      return fallback.entrySet();
+    }
+
+    return new AbstractSet<Entry<String, V>>() {
+      @Override
+      public int size() {
+        return order.length;
+      }
+
+      @Override
+      public Iterator<Entry<String, V>> iterator() {
+        return new Iterator<Entry<String, V>>() {
+          private int index = 0;
+
+          @Override
+          public boolean hasNext() {
+            return index < order.length;
+          }
+
+          @Override
+          @SuppressWarnings("unchecked")
+          public Entry<String, V> next() {
+            if (index >= order.length) {
+              throw new NoSuchElementException();
+            }
+            int slot = order[index++];
+            return Maps.immutableEntry(keys[slot], (V) values[slot]);
+          }
+        };
+      }
+    };
+  }
+
+  // the bucket and the slot are both derived from one mix of the hash code
+  private static int mix(int hash) {
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int bucket(int mixed, int buckets) {
+    return (int) (((mixed & 0xFFFFFFFFL) * buckets) >>> 32);
+  }
+
+  private static int slot(int mixed, int seed, int slots) {
+    return (int) (((((mixed ^ seed) * 0x85EBCA6B) & 0xFFFFFFFFL) * slots) >>> 32);
+  }
+
+  /**
+   * @param keysAndValues alternating keys and values, in insertion order
+   * @throws IllegalArgumentException if a key occurs more than once
+   */
+  @SuppressWarnings("unchecked")
+  private static <V> FrozenStringMap<V> build(Object[] keysAndValues, int size) {
+    if (size == 0) {
+      return of();
+    }
+
+    int[] hashes = new int[size];
+    for (int i = 0; i < size; i++) {
+      hashes[i] = mix(keysAndValues[2 * i].hashCode());
+    }
+
+    // one bucket per key on average; group the key indexes by bucket
+    int bucketCount = size;
+    int[] bucketStarts = new int[bucketCount + 1];
+    for (int hash : hashes) {
+      bucketStarts[bucket(hash, bucketCount) + 1]++;
+    }
+    for (int i = 0; i < bucketCount; i++) {
+      bucketStarts[i + 1] += bucketStarts[i];
+    }
+    int[] bucketMembers = new int[size];
+    int[] fill = Arrays.copyOf(bucketStarts, bucketCount);
+    for (int i = 0; i < size; i++) {
+      bucketMembers[fill[bucket(hashes[i], bucketCount)]++] = i;
+    }
+
+    // equal keys land in the same bucket, and buckets hold one key on average
+    for (int bucket = 0; bucket < bucketCount; bucket++) {
+      for (int i = bucketStarts[bucket]; i < bucketStarts[bucket + 1]; i++) {
+        Object key = keysAndValues[2 * bucketMembers[i]];
+        for (int j = bucketStarts[bucket]; j < i; j++) {
+          if (key.equals(keysAndValues[2 * bucketMembers[j]])) {
+            throw new IllegalArgumentException("Multiple entries with same key: " + key);
+          }
+        }
+      }
+    }
+
+    // place the largest buckets first, while most slots are still free
+    Integer[] buckets = new Integer[bucketCount];
+    for (int i = 0; i < bucketCount; i++) {
+      buckets[i] = i;
+    }
+    Arrays.sort(
+      buckets,
+      (a, b) ->
+        (bucketStarts[b + 1] - bucketStarts[b]) - (bucketStarts[a + 1] - bucketStarts[a])
+    );
+
+    int[] seeds = new int[bucketCount];
+    int[] slotOwners = new int[size];
+    Arrays.fill(slotOwners, -1);
+    int[] candidateSlots = new int[size];
+    int nextFreeSlot = 0;
+
+    for (int bucket : buckets) {
+      int start = bucketStarts[bucket];
+      int end = bucketStarts[bucket + 1];
+      if (end - start == 0) {
+        continue;
+      } else if (end - start == 1) {
+        while (slotOwners[nextFreeSlot] >= 0) {
+          nextFreeSlot++;
+        }
+        slotOwners[nextFreeSlot] = bucketMembers[start];
+        seeds[bucket] = -nextFreeSlot - 1;
+        continue;
+      }
+
+      boolean placed = false;
+      for (int seed = 1; seed < MAX_SEED && !placed; seed++) {
+        placed = true;
+        for (int i = start; i < end && placed; i++) {
+          int slot = slot(hashes[bucketMembers[i]], seed, size);
+          candidateSlots[i] = slot;
+          if (slotOwners[slot] >= 0) {
+            placed = false;
+          }
+          for (int j = start; j < i && placed; j++) {
+            if (candidateSlots[j] == slot) {
+              placed = false;
+            }
+          }
+        }
+        if (placed) {
+          seeds[bucket] = seed;
+          for (int i = start; i < end; i++) {
+            slotOwners[candidateSlots[i]] = bucketMembers[i];
+          }
+        }
+      }
+      if (!placed) {
+        // keys with equal hash codes can't be separated by any seed
+        ImmutableMap.Builder<String, V> fallback = ImmutableMap.builderWithExpectedSize(
+          size
+        );
+        for (int i = 0; i < size; i++) {
+          fallback.put((String) keysAndValues[2 * i], (V) keysAndValues[2 * i + 1]);
+        }
+        return new FrozenStringMap<>(null, null, null, new int[size], fallback.build());
+      }
+    }
+
+    String[] keys = new String[size];
+    Object[] values = new Object[size];
+    int[] order = new int[size];
+    for (int slot = 0; slot < size; slot++) {
+      int index = slotOwners[slot];
+      keys[slot] = (String) keysAndValues[2 * index];
+      values[slot] = keysAndValues[2 * index + 1];
+      order[index] = slot;
+    }
+    return new FrozenStringMap<>(seeds, keys, values, order, null);
+  }
+
+  public static final class Builder<V> {
+
+    // alternating keys and values, which build() places directly
+    private Object[] keysAndValues = new Object[8];
+    private int size = 0;
+
+    private Builder() {}
+
+    public Builder<V> put(String key, V value) {
+      ensureCapacity(size + 1);
+      keysAndValues[2 * size] = Objects.requireNonNull(key, "key");
+      keysAndValues[2 * size + 1] = Objects.requireNonNull(value, "value");
+      size++;
+      return this;
+    }
+
+    public Builder<V> put(Map.Entry<String, ? extends V> entry) {
+      return put(entry.getKey(), entry.getValue());
+    }
+
+    public Builder<V> putAll(Map<String, ? extends V> map) {
+      ensureCapacity(size + map.size());
+      for (Map.Entry<String, ? extends V> entry : map.entrySet()) {
+        put(entry.getKey(), entry.getValue());
+      }
+      return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a key was put more than once
+     */
+    public FrozenStringMap<V> build() {
+      return FrozenStringMap.build(keysAndValues, size);
+    }
+
+    private void ensureCapacity(int entries) {
+      if (2 * entries > keysAndValues.length) {
+        keysAndValues =
+          Arrays.copyOf(keysAndValues, Math.max(2 * entries, 2 * keysAndValues.length));
+      }
+    }
+  }
+
+  public static class Deserializer
+    extends JsonDeserializer<FrozenStringMap<?>>
+    implements ContextualDeserializer {
+
+    private final JsonDeserializer<Object> valueDeserializer;
+    private final TypeDeserializer valueTypeDeserializer;
+
+    public Deserializer() {
+      this(null, null);
+    }
+
+    private Deserializer(
+      JsonDeserializer<Object> valueDeserializer,
+      TypeDeserializer valueTypeDeserializer
+    ) {
+      this.valueDeserializer = valueDeserializer;
+      this.valueTypeDeserializer = valueTypeDeserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(
+      DeserializationContext ctxt,
+      BeanProperty property
+    ) throws JsonMappingException {
+      JavaType contextualType = ctxt.getContextualType();
+      if (contextualType == null || contextualType.getContentType() == null) {
+        throw JsonMappingException.from(
+          ctxt.getParser(),
+          "Can not discover value type for: " + contextualType
+        );
+      }
+
+      JavaType valueType = contextualType.getContentType();
+      return new Deserializer(
+        ctxt.findContextualValueDeserializer(valueType, property),
+        ctxt.getFactory().findTypeDeserializer(ctxt.getConfig(), valueType)
+      );
+    }
+
+    /**
+     * Reads the fields as alternating keys and values into the context's
+     * recycled {@link ObjectBuffer} and places them from there, without an
+     * intermediate map.
+     */
+    @Override
+    public FrozenStringMap<?> deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (valueDeserializer == null) {
+        throw JsonMappingException.from(p, "Expected createContextual to be called");
+      } else if (p.getCurrentToken() != JsonToken.START_OBJECT) {
+        throw ctxt.wrongTokenException(
+          p,
+          FrozenStringMap.class,
+          JsonToken.START_OBJECT,
+          null
+        );
+      }
+
+      ObjectBuffer buffer = ctxt.leaseObjectBuffer();
+      Object[] chunk = buffer.resetAndStart();
+      int index = 0;
+
+      for (
+        JsonToken token = p.nextToken();
+        token == JsonToken.FIELD_NAME;
+        token = p.nextToken()
+      ) {
+        String key = p.getCurrentName();
+
+        Object value = null;
+        if (p.nextToken() != JsonToken.VALUE_NULL) {
+          if (valueTypeDeserializer == null) {
+            value = valueDeserializer.deserialize(p, ctxt);
+          } else {
+            value = valueDeserializer.deserializeWithType(p, ctxt, valueTypeDeserializer);
+          }
+        }
+        if (value == null) {
+          throw JsonMappingException.from(
+            p,
+            "Null values are not allowed in FrozenStringMap (field " + key + ")"
+          );
+        }
+
+        if (index >= chunk.length) {
+          chunk = buffer.appendCompletedChunk(chunk);
+          index = 0;
+        }
+        chunk[index++] = key;
+        if (index >= chunk.length) {
+          chunk = buffer.appendCompletedChunk(chunk);
+          index = 0;
+        }
+        chunk[index++] = value;
+      }
+
+      Object[] keysAndValues = buffer.completeAndClearBuffer(chunk, index);
+      ctxt.returnObjectBuffer(buffer);
+
+      try {
+        return build(keysAndValues, keysAndValues.length / 2);
+      } catch (IllegalArgumentException e) {
+        throw JsonMappingException.from(p, e.getMessage(), e);
+      }
+    }
+  }
+}
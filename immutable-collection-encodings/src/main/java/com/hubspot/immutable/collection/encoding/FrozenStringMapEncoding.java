@@ -0,0 +1,132 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class FrozenStringMapEncoding<V> {
+
+  @Encoding.Impl
+  private FrozenStringMap<V> field = null;
+
+  @Encoding.Expose
+  FrozenStringMap<V> getFrozenStringMap() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.FrozenStringMap.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  FrozenStringMap<V> withCollection(Map<String, ? extends V> elements) {
+    return com.hubspot.immutable.collection.encoding.FrozenStringMap.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static <V> FrozenStringMap<V> of(Map<String, ? extends V> input) {
+    return com.hubspot.immutable.collection.encoding.FrozenStringMap.copyOf(input);
+  }
+
+  @Encoding.Builder
+  @SuppressWarnings("UnstableApiUsage")
+  static class Builder<V> {
+
+    private FrozenStringMap<V> map = null;
+    private ImmutableMap.Builder<String, V> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void put(String key, V value) {
+      if (builder != null) {
+        builder.put(key, value);
+      } else if (map != null) {
+        builder =
+          ImmutableMap
+            .<String, V>builderWithExpectedSize(map.size() + 1)
+            .putAll(map)
+            .put(key, value);
+
+        map = null;
+      } else {
+        builder = ImmutableMap.builder();
+        builder.put(key, value);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void putEntry(Map.Entry<String, ? extends V> entry) {
+      if (builder != null) {
+        builder.put(entry);
+      } else if (map != null) {
+        builder =
+          ImmutableMap
+            .<String, V>builderWithExpectedSize(map.size() + 1)
+            .putAll(map)
+            .put(entry);
+
+        map = null;
+      } else {
+        builder = ImmutableMap.builder();
+        builder.put(entry);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT_ALL)
+    void putAll(Map<String, ? extends V> elements) {
+      if (builder != null) {
+        builder.putAll(elements);
+      } else if (map != null) {
+        builder =
+          ImmutableMap
+            .<String, V>builderWithExpectedSize(map.size() + elements.size())
+            .putAll(map)
+            .putAll(elements);
+
+        map = null;
+      } else {
+        if (
+          elements instanceof com.hubspot.immutable.collection.encoding.FrozenStringMap
+        ) {
+          set(elements);
+        } else {
+          builder = ImmutableMap.builderWithExpectedSize(elements.size());
+          builder.putAll(elements);
+        }
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Map<String, ? extends V> input) {
+      map = com.hubspot.immutable.collection.encoding.FrozenStringMap.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return map != null || builder != null;
+    }
+
+    @Encoding.Build
+    FrozenStringMap<V> build() {
+      // the perfect hash is only computed once, here
+      if (builder != null) {
+        return com.hubspot.immutable.collection.encoding.FrozenStringMap.copyOf(
+          builder.build()
+        );
+      } else if (map != null) {
+        return map;
+      } else {
+        return com.hubspot.immutable.collection.encoding.FrozenStringMap.of();
+      }
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.base.CaseFormat;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Finds the attribute a per-attribute encoding constant belongs to. Immutables
+ * inlines an encoding's static fields into the generated class as
+ * {@code <ATTRIBUTE>_<FIELD>}, e.g. {@code SOME_VALS_TELEMETRY}, and keeps
+ * each attribute's value in an instance field named after the attribute, so
+ * the constant's field name leads back to the attribute name. This is
+ * reflective and meant for diagnostics, not for hot paths.
+ */
+final class GeneratedAttributeNames {
+
+  private GeneratedAttributeNames() {}
+
+  /**
+   * @param owner the generated class holding {@code constant} in a static field
+   * @param suffix the encoding's name for the field, e.g. {@code "_TELEMETRY"}
+   * @return the attribute name, or {@code null} if {@code owner} holds no
+   *     static field with that suffix and {@code constant} as its value
+   */
+  static String resolve(Class<?> owner, Object constant, String suffix) {
+    String prefix = null;
+    for (Field field : owner.getDeclaredFields()) {
+      String name = field.getName();
+      if (!Modifier.isStatic(field.getModifiers()) || !name.endsWith(suffix)) {
+        continue;
+      }
+
+      try {
+        field.setAccessible(true);
+        if (field.get(null) == constant) {
+          prefix = name.substring(0, name.length() - suffix.length());
+          break;
+        }
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        // the attribute name is best effort, keep looking
+      }
+    }
+    if (prefix == null) {
+      return null;
+    }
+
+    for (Field field : owner.getDeclaredFields()) {
+      if (
+        !Modifier.isStatic(field.getModifiers()) &&
+        prefix.equals(
+          CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, field.getName())
+        )
+      ) {
+        return field.getName();
+      }
+    }
+    return CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.LOWER_CAMEL, prefix);
+  }
+}
@@ -0,0 +1,64 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * An {@link ImmutableList} paired with its hash code, which is computed once
+ * when the pair is created. This is the stored form of attributes encoded
+ * with {@link CachedHashImmutableListEncoding}: the generated
+ * {@code hashCode()} reuses the cached hash, and the generated
+ * {@code equals()} only compares elements when the hashes match.
+ *
+ * Unlike {@code ImmutableSet}, {@code ImmutableList} doesn't cache its hash
+ * code, so without this every lookup of a value with list attributes in a
+ * hash-based collection rehashes every element.
+ */
+public final class HashedImmutableList<T> {
+
+  private static final HashedImmutableList<Object> EMPTY = new HashedImmutableList<>(
+    ImmutableList.of()
+  );
+
+  private final ImmutableList<T> list;
+  private final int hash;
+
+  private HashedImmutableList(ImmutableList<T> list) {
+    this.list = list;
+    this.hash = list.hashCode();
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> HashedImmutableList<T> of() {
+    return (HashedImmutableList<T>) EMPTY;
+  }
+
+  public static <T> HashedImmutableList<T> of(ImmutableList<T> list) {
+    return list.isEmpty() ? of() : new HashedImmutableList<>(list);
+  }
+
+  public ImmutableList<T> list() {
+    return list;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    } else if (!(o instanceof HashedImmutableList)) {
+      return false;
+    }
+
+    HashedImmutableList<?> other = (HashedImmutableList<?>) o;
+    return hash == other.hash && list.equals(other.list);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return CollectionToString.of(list);
+  }
+}
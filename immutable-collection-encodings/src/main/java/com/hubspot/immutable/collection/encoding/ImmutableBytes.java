@@ -0,0 +1,268 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.hubspot.immutable.collection.encoding.ImmutableBytes.Deserializer;
+import com.hubspot.immutable.collection.encoding.ImmutableBytes.Serializer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * An immutable sequence of bytes, for binary attributes that would otherwise
+ * be a {@code byte[]} that Immutables clones on construction and on every
+ * accessor call. Bytes are copied once, when an instance is created from
+ * caller-owned data, and are then read through {@link #asReadOnlyByteBuffer()},
+ * {@link #newInput()} or the {@code writeTo} methods without copying.
+ * {@link #slice(int, int)} shares the backing array as well.
+ *
+ * Serializes to and from a base64 string, like {@code byte[]}.
+ */
+@JsonSerialize(using = Serializer.class)
+@JsonDeserialize(using = Deserializer.class)
+public final class ImmutableBytes {
+
+  private static final ImmutableBytes EMPTY = new ImmutableBytes(new byte[0], 0, 0);
+
+  private final byte[] bytes;
+  private final int offset;
+  private final int length;
+  // computed lazily and racily, like String#hashCode()
+  private int hash = 0;
+
+  private ImmutableBytes(byte[] bytes, int offset, int length) {
+    this.bytes = bytes;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  public static ImmutableBytes of() {
+    return EMPTY;
+  }
+
+  public static ImmutableBytes copyOf(byte[] bytes) {
+    return copyOf(bytes, 0, bytes.length);
+  }
+
+  public static ImmutableBytes copyOf(byte[] bytes, int offset, int length) {
+    checkRange(offset, length, bytes.length);
+    if (length == 0) {
+      return EMPTY;
+    }
+    return new ImmutableBytes(
+      Arrays.copyOfRange(bytes, offset, offset + length),
+      0,
+      length
+    );
+  }
+
+  /**
+   * Copies the remaining bytes of {@code buffer}, without changing its position.
+   */
+  public static ImmutableBytes copyOf(ByteBuffer buffer) {
+    if (!buffer.hasRemaining()) {
+      return EMPTY;
+    }
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return new ImmutableBytes(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Reads {@code in} to the end. The stream is not closed.
+   */
+  public static ImmutableBytes readFrom(InputStream in) throws IOException {
+    Output out = new Output();
+    byte[] chunk = new byte[8192];
+    int read;
+    while ((read = in.read(chunk)) != -1) {
+      out.write(chunk, 0, read);
+    }
+    return out.toImmutableBytes();
+  }
+
+  public int size() {
+    return length;
+  }
+
+  public boolean isEmpty() {
+    return length == 0;
+  }
+
+  public byte byteAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("index " + index + ", size " + length);
+    }
+    return bytes[offset + index];
+  }
+
+  /**
+   * Returns the bytes from {@code fromIndex}, inclusive, to {@code toIndex},
+   * exclusive, sharing this instance's backing array.
+   */
+  public ImmutableBytes slice(int fromIndex, int toIndex) {
+    checkRange(fromIndex, toIndex - fromIndex, length);
+    if (fromIndex == 0 && toIndex == length) {
+      return this;
+    } else if (fromIndex == toIndex) {
+      return EMPTY;
+    }
+    return new ImmutableBytes(bytes, offset + fromIndex, toIndex - fromIndex);
+  }
+
+  /**
+   * Returns a read-only view of the bytes, positioned at the first byte.
+   */
+  public ByteBuffer asReadOnlyByteBuffer() {
+    return ByteBuffer.wrap(bytes, offset, length).slice().asReadOnlyBuffer();
+  }
+
+  public InputStream newInput() {
+    return new ByteArrayInputStream(bytes, offset, length);
+  }
+
+  /**
+   * Writes the bytes to {@code out} straight from the backing array, which a
+   * misbehaving stream could modify. Only pass streams that don't keep or
+   * change the arrays they are given.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(bytes, offset, length);
+  }
+
+  public void writeTo(WritableByteChannel channel) throws IOException {
+    ByteBuffer buffer = asReadOnlyByteBuffer();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Returns a copy of the bytes.
+   */
+  public byte[] toByteArray() {
+    return Arrays.copyOfRange(bytes, offset, offset + length);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    } else if (!(o instanceof ImmutableBytes)) {
+      return false;
+    }
+
+    ImmutableBytes other = (ImmutableBytes) o;
+    if (length != other.length || (hash != 0 && other.hash != 0 && hash != other.hash)) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (bytes[offset + i] != other.bytes[other.offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0 && length > 0) {
+      h = 1;
+      for (int i = offset; i < offset + length; i++) {
+        h = 31 * h + bytes[i];
+      }
+      hash = h;
+    }
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    return "ImmutableBytes[size=" + length + "]";
+  }
+
+  private static void checkRange(int offset, int length, int size) {
+    if (offset < 0 || length < 0 || offset > size - length) {
+      throw new IndexOutOfBoundsException(
+        "offset " + offset + ", length " + length + ", size " + size
+      );
+    }
+  }
+
+  /**
+   * Collects written bytes, and adopts its buffer if it isn't much larger than
+   * its contents.
+   */
+  private static final class Output extends ByteArrayOutputStream {
+
+    private Output() {
+      super(256);
+    }
+
+    ImmutableBytes toImmutableBytes() {
+      if (count == 0) {
+        return EMPTY;
+      } else if (buf.length - count <= count >>> 3) {
+        return new ImmutableBytes(buf, 0, count);
+      } else {
+        return new ImmutableBytes(Arrays.copyOf(buf, count), 0, count);
+      }
+    }
+  }
+
+  public static class Serializer extends JsonSerializer<ImmutableBytes> {
+
+    @Override
+    public void serialize(
+      ImmutableBytes value,
+      JsonGenerator gen,
+      SerializerProvider serializers
+    ) throws IOException {
+      // base64 is encoded straight from the backing array
+      gen.writeBinary(
+        serializers.getConfig().getBase64Variant(),
+        value.bytes,
+        value.offset,
+        value.length
+      );
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, ImmutableBytes value) {
+      return value.isEmpty();
+    }
+  }
+
+  public static class Deserializer extends JsonDeserializer<ImmutableBytes> {
+
+    @Override
+    public ImmutableBytes deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (
+        !p.hasToken(JsonToken.VALUE_STRING) &&
+        !p.hasToken(JsonToken.VALUE_EMBEDDED_OBJECT)
+      ) {
+        return (ImmutableBytes) ctxt.handleUnexpectedToken(ImmutableBytes.class, p);
+      }
+
+      // streaming parsers decode base64 from their input buffer into ours,
+      // instead of materializing the text and then a decoded copy of it
+      Output out = new Output();
+      p.readBinaryValue(ctxt.getBase64Variant(), out);
+      return out.toImmutableBytes();
+    }
+  }
+}
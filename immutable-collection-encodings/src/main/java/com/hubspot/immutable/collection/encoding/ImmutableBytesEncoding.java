@@ -0,0 +1,85 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class ImmutableBytesEncoding {
+
+  @Encoding.Impl
+  private ImmutableBytes field = null;
+
+  @Encoding.Expose
+  ImmutableBytes getImmutableBytes() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.ImmutableBytes.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  ImmutableBytes withBytes(ImmutableBytes bytes) {
+    return Objects.requireNonNull(bytes, "bytes");
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  ImmutableBytes withArray(byte[] bytes) {
+    return com.hubspot.immutable.collection.encoding.ImmutableBytes.copyOf(bytes);
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  ImmutableBytes withBuffer(ByteBuffer bytes) {
+    return com.hubspot.immutable.collection.encoding.ImmutableBytes.copyOf(bytes);
+  }
+
+  @Encoding.Of
+  static ImmutableBytes of(ImmutableBytes input) {
+    return Objects.requireNonNull(input, "bytes");
+  }
+
+  @Encoding.Builder
+  static class Builder {
+
+    private ImmutableBytes bytes = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.INIT)
+    void setArray(byte[] input) {
+      bytes = com.hubspot.immutable.collection.encoding.ImmutableBytes.copyOf(input);
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.INIT)
+    void setBuffer(ByteBuffer input) {
+      bytes = com.hubspot.immutable.collection.encoding.ImmutableBytes.copyOf(input);
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(ImmutableBytes input) {
+      bytes = Objects.requireNonNull(input, "bytes");
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return bytes != null;
+    }
+
+    @Encoding.Build
+    ImmutableBytes build() {
+      if (bytes != null) {
+        return bytes;
+      } else {
+        return com.hubspot.immutable.collection.encoding.ImmutableBytes.of();
+      }
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.ObjectBuffer;
+import com.google.common.collect.ImmutableCollection;
+import java.io.IOException;
+
+/**
+ * Reads a JSON array into the context's recycled {@link ObjectBuffer} and
+ * hands the exact-size element array to {@link #fromElements(Object[])},
+ * so no growing builder or JDK collection sits in between.
+ */
+abstract class ImmutableCollectionDeserializer<C extends ImmutableCollection<Object>>
+  extends StdDeserializer<C>
+  implements ContextualDeserializer {
+
+  protected final JavaType type;
+  protected final JsonDeserializer<Object> elementDeserializer;
+  protected final TypeDeserializer elementTypeDeserializer;
+
+  protected ImmutableCollectionDeserializer(
+    JavaType type,
+    JsonDeserializer<Object> elementDeserializer,
+    TypeDeserializer elementTypeDeserializer
+  ) {
+    super(type);
+    this.type = type;
+    this.elementDeserializer = elementDeserializer;
+    this.elementTypeDeserializer = elementTypeDeserializer;
+  }
+
+  protected abstract ImmutableCollectionDeserializer<C> withResolved(
+    JsonDeserializer<Object> elementDeserializer,
+    TypeDeserializer elementTypeDeserializer
+  );
+
+  protected abstract C fromElements(Object[] elements);
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public JsonDeserializer<?> createContextual(
+    DeserializationContext ctxt,
+    BeanProperty property
+  ) throws JsonMappingException {
+    JsonDeserializer<Object> elementDeserializer = this.elementDeserializer;
+    if (elementDeserializer == null) {
+      elementDeserializer =
+        ctxt.findContextualValueDeserializer(type.getContentType(), property);
+    } else {
+      elementDeserializer =
+        (JsonDeserializer<Object>) ctxt.handleSecondaryContextualization(
+          elementDeserializer,
+          property,
+          type.getContentType()
+        );
+    }
+
+    TypeDeserializer elementTypeDeserializer = this.elementTypeDeserializer;
+    if (elementTypeDeserializer != null) {
+      elementTypeDeserializer = elementTypeDeserializer.forProperty(property);
+    }
+
+    if (
+      elementDeserializer == this.elementDeserializer &&
+      elementTypeDeserializer == this.elementTypeDeserializer
+    ) {
+      return this;
+    }
+    return withResolved(elementDeserializer, elementTypeDeserializer);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public C deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (!p.isExpectedStartArrayToken()) {
+      return (C) ctxt.handleUnexpectedToken(type, p);
+    }
+
+    ObjectBuffer buffer = ctxt.leaseObjectBuffer();
+    Object[] chunk = buffer.resetAndStart();
+    int index = 0;
+
+    JsonToken token;
+    while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+      Object element = null;
+      if (token != JsonToken.VALUE_NULL) {
+        if (elementTypeDeserializer == null) {
+          element = elementDeserializer.deserialize(p, ctxt);
+        } else {
+          element =
+            elementDeserializer.deserializeWithType(p, ctxt, elementTypeDeserializer);
+        }
+      }
+      if (element == null) {
+        throw JsonMappingException.from(
+          p,
+          "Null elements are not allowed in " + type.getRawClass().getSimpleName()
+        );
+      }
+
+      if (index >= chunk.length) {
+        chunk = buffer.appendCompletedChunk(chunk);
+        index = 0;
+      }
+      chunk[index++] = element;
+    }
+
+    Object[] elements = buffer.completeAndClearBuffer(chunk, index);
+    ctxt.returnObjectBuffer(buffer);
+    return fromElements(elements);
+  }
+}
@@ -0,0 +1,144 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableRangeMap;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Jackson deserializers for the attribute types handled by
+ * {@link ImmutableListEncoding}, {@link ImmutableSetEncoding} and
+ * {@link ImmutableMapEncoding}.
+ *
+ * Elements are streamed straight into exact-size storage and the resulting
+ * Guava collection is passed to the encoding's builder, which adopts it
+ * without another {@code copyOf}. Register this module after
+ * {@code GuavaModule} so that it takes precedence for these types.
+ *
+ * This module declares Jackson as an optional dependency, so applications
+ * using it already depend on jackson-databind themselves.
+ *
+ * Attributes declared as {@code List}, {@code Set} or {@code Map} are still
+ * read into JDK collections by Jackson; annotate them with
+ * {@code @JsonDeserialize(as = ImmutableList.class)} (etc.) to route them
+ * through these deserializers as well.
+ *
+ * It also serializes and deserializes the {@link ImmutableRangeSet} and
+ * {@link ImmutableRangeMap} attributes of {@link ImmutableRangeSetEncoding}
+ * and {@link ImmutableRangeMapEncoding} as arrays of ranges in interval
+ * notation, e.g. {@code [["[", 1, 5, ")"], ["[", 8, null, ")"]]} for
+ * {@code [1..5)} and {@code [8..+inf)}. A range map appends each range's
+ * value to its range, e.g. {@code [["[", 1, 5, ")", "value"]]}.
+ */
+public class ImmutableCollectionEncodingModule extends Module {
+
+  @Override
+  public String getModuleName() {
+    return getClass().getSimpleName();
+  }
+
+  @Override
+  public Version version() {
+    return Version.unknownVersion();
+  }
+
+  @Override
+  public void setupModule(SetupContext context) {
+    context.addDeserializers(new ImmutableCollectionDeserializers());
+    context.addSerializers(new RangeSerializers());
+  }
+
+  private static class RangeSerializers extends Serializers.Base {
+
+    @Override
+    public JsonSerializer<?> findSerializer(
+      SerializationConfig config,
+      JavaType type,
+      BeanDescription beanDesc
+    ) {
+      if (ImmutableRangeSet.class.isAssignableFrom(type.getRawClass())) {
+        return new RangeJson.RangeSetSerializer();
+      } else if (ImmutableRangeMap.class.isAssignableFrom(type.getRawClass())) {
+        return new RangeJson.RangeMapSerializer();
+      } else {
+        return null;
+      }
+    }
+  }
+
+  private static class ImmutableCollectionDeserializers extends Deserializers.Base {
+
+    @Override
+    public JsonDeserializer<?> findBeanDeserializer(
+      JavaType type,
+      DeserializationConfig config,
+      BeanDescription beanDesc
+    ) {
+      if (type.hasRawClass(ImmutableRangeSet.class)) {
+        return new RangeJson.RangeSetDeserializer(type, null);
+      } else if (type.hasRawClass(ImmutableRangeMap.class)) {
+        return new RangeJson.RangeMapDeserializer(type, null, null);
+      } else {
+        return null;
+      }
+    }
+
+    @Override
+    public JsonDeserializer<?> findCollectionDeserializer(
+      CollectionType type,
+      DeserializationConfig config,
+      BeanDescription beanDesc,
+      TypeDeserializer elementTypeDeserializer,
+      JsonDeserializer<?> elementDeserializer
+    ) {
+      @SuppressWarnings("unchecked")
+      JsonDeserializer<Object> deserializer =
+        (JsonDeserializer<Object>) elementDeserializer;
+
+      if (type.hasRawClass(ImmutableList.class)) {
+        return new ImmutableListDeserializer(type, deserializer, elementTypeDeserializer);
+      } else if (type.hasRawClass(ImmutableSet.class)) {
+        return new ImmutableSetDeserializer(type, deserializer, elementTypeDeserializer);
+      } else {
+        return null;
+      }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonDeserializer<?> findMapDeserializer(
+      MapType type,
+      DeserializationConfig config,
+      BeanDescription beanDesc,
+      KeyDeserializer keyDeserializer,
+      TypeDeserializer elementTypeDeserializer,
+      JsonDeserializer<?> elementDeserializer
+    ) {
+      if (type.hasRawClass(ImmutableMap.class)) {
+        return new ImmutableMapDeserializer(
+          type,
+          keyDeserializer,
+          (JsonDeserializer<Object>) elementDeserializer,
+          elementTypeDeserializer
+        );
+      } else {
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.MapMaker;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizes small immutable collections through weak, concurrent
+ * interners, so that equal collections built for different immutables share
+ * one instance. Used by {@link InterningImmutableListEncoding},
+ * {@link InterningImmutableSetEncoding} and {@link InterningImmutableMapEncoding}.
+ *
+ * Only collections with at most {@link #getMaxInternedSize()} elements are
+ * interned (default 64, override with the {@value #MAX_INTERNED_SIZE_PROPERTY}
+ * system property, which is read once). Interned collections are weakly held,
+ * so the interners never keep a collection alive on their own.
+ *
+ * Sets and maps are only shared with ones that iterate in the same order,
+ * since equal sets and maps can iterate differently, and the order shows in
+ * {@code toString()} and in JSON.
+ *
+ * The saved-bytes counter is an estimate of the shallow footprint of each
+ * duplicate that was dropped in favor of a canonical instance, assuming
+ * compressed oops. It does not include the elements, which are shared either way.
+ */
+public final class ImmutableCollectionInterner {
+
+  public static final String MAX_INTERNED_SIZE_PROPERTY =
+    "hubspot.immutables.interner.maxSize";
+
+  private static final Interner<ImmutableList<?>> LISTS = Interners.newWeakInterner();
+  // keyed by the elements, or keys and values, in iteration order
+  private static final ConcurrentMap<List<Object>, ImmutableSet<?>> SETS =
+    new MapMaker().weakValues().makeMap();
+  private static final ConcurrentMap<List<Object>, ImmutableMap<?, ?>> MAPS =
+    new MapMaker().weakValues().makeMap();
+
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+  private static final LongAdder SAVED_BYTES = new LongAdder();
+
+  private static final int MAX_INTERNED_SIZE = Math.max(
+    Integer.getInteger(MAX_INTERNED_SIZE_PROPERTY, 64),
+    0
+  );
+
+  private ImmutableCollectionInterner() {}
+
+  @SuppressWarnings("unchecked")
+  public static <T> ImmutableList<T> intern(ImmutableList<T> list) {
+    if (list.isEmpty() || list.size() > MAX_INTERNED_SIZE) {
+      return list;
+    }
+
+    ImmutableList<?> canonical = LISTS.intern(list);
+    record(canonical != list, 32 + 4L * list.size());
+    return (ImmutableList<T>) canonical;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> ImmutableSet<T> intern(ImmutableSet<T> set) {
+    if (set.isEmpty() || set.size() > MAX_INTERNED_SIZE) {
+      return set;
+    }
+
+    ImmutableSet<?> canonical = internOrdered(SETS, Arrays.asList(set.toArray()), set);
+    // element array plus a hash table of roughly twice the size
+    record(canonical != set, 64 + 12L * set.size());
+    return (ImmutableSet<T>) canonical;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <K, V> ImmutableMap<K, V> intern(ImmutableMap<K, V> map) {
+    if (map.isEmpty() || map.size() > MAX_INTERNED_SIZE) {
+      return map;
+    }
+
+    Object[] keysAndValues = new Object[map.size() * 2];
+    int i = 0;
+    for (Map.Entry<K, V> entry : map.entrySet()) {
+      keysAndValues[i++] = entry.getKey();
+      keysAndValues[i++] = entry.getValue();
+    }
+    ImmutableMap<?, ?> canonical = internOrdered(MAPS, Arrays.asList(keysAndValues), map);
+    // entry array, one entry object per mapping, and the hash table
+    record(canonical != map, 48 + 32L * map.size());
+    return (ImmutableMap<K, V>) canonical;
+  }
+
+  public static int getMaxInternedSize() {
+    return MAX_INTERNED_SIZE;
+  }
+
+  /**
+   * Number of interned collections that were replaced by an existing
+   * canonical instance.
+   */
+  public static long getHitCount() {
+    return HITS.sum();
+  }
+
+  /**
+   * Number of interned collections that became the canonical instance.
+   */
+  public static long getMissCount() {
+    return MISSES.sum();
+  }
+
+  public static double getHitRate() {
+    long hits = HITS.sum();
+    long total = hits + MISSES.sum();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  public static long getEstimatedSavedBytes() {
+    return SAVED_BYTES.sum();
+  }
+
+  public static void resetStats() {
+    HITS.reset();
+    MISSES.reset();
+    SAVED_BYTES.reset();
+  }
+
+  // the key copies the contents, so it doesn't keep the weakly held value alive
+  private static <C> C internOrdered(
+    ConcurrentMap<List<Object>, C> canonicals,
+    List<Object> key,
+    C value
+  ) {
+    C existing = canonicals.putIfAbsent(key, value);
+    return existing != null ? existing : value;
+  }
+
+  private static void record(boolean hit, long estimatedBytes) {
+    if (hit) {
+      HITS.increment();
+      SAVED_BYTES.add(estimatedBytes);
+    } else {
+      MISSES.increment();
+    }
+  }
+}
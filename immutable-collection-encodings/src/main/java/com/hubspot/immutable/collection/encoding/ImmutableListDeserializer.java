@@ -0,0 +1,36 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.google.common.collect.ImmutableList;
+
+class ImmutableListDeserializer
+  extends ImmutableCollectionDeserializer<ImmutableList<Object>> {
+
+  ImmutableListDeserializer(
+    JavaType type,
+    JsonDeserializer<Object> elementDeserializer,
+    TypeDeserializer elementTypeDeserializer
+  ) {
+    super(type, elementDeserializer, elementTypeDeserializer);
+  }
+
+  @Override
+  protected ImmutableListDeserializer withResolved(
+    JsonDeserializer<Object> elementDeserializer,
+    TypeDeserializer elementTypeDeserializer
+  ) {
+    return new ImmutableListDeserializer(
+      type,
+      elementDeserializer,
+      elementTypeDeserializer
+    );
+  }
+
+  @Override
+  protected ImmutableList<Object> fromElements(Object[] elements) {
+    // one array copy; Guava keeps no way to adopt the exact-size array as is
+    return ImmutableList.copyOf(elements);
+  }
+}
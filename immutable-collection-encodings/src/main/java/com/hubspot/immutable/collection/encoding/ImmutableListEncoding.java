@@ -2,8 +2,11 @@ package com.hubspot.immutable.collection.encoding;
 
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
+import java.lang.invoke.MethodHandles;
 import java.util.Collection;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 import org.immutables.encode.Encoding;
 import org.immutables.encode.Encoding.Naming;
 import org.immutables.encode.Encoding.StandardNaming;
@@ -14,6 +17,17 @@ public class ImmutableListEncoding<T> {
   @Encoding.Impl
   private ImmutableList<T> field = null;
 
+  // one instance per encoded attribute, since encoding members are inlined per attribute
+  private static final AdaptiveExpectedSize EXPECTED_SIZE =
+    new com.hubspot.immutable.collection.encoding.AdaptiveExpectedSize(
+      MethodHandles.lookup().lookupClass()
+    );
+  private static final CollectionBuildTelemetry TELEMETRY =
+    com.hubspot.immutable.collection.encoding.CollectionBuildTelemetry.forAttribute(
+      MethodHandles.lookup().lookupClass(),
+      "list"
+    );
+
   @Encoding.Expose
   ImmutableList<T> getImmutableList() {
     if (field != null) {
@@ -49,12 +63,23 @@ public class ImmutableListEncoding<T> {
     return ImmutableList.copyOf(input);
   }
 
+  @Override
+  public String toString() {
+    return com.hubspot.immutable.collection.encoding.CollectionToString.of(getList());
+  }
+
   @Encoding.Builder
   @SuppressWarnings("UnstableApiUsage")
   static class Builder<T> {
 
     private ImmutableList<T> list = null;
     private ImmutableList.Builder<T> builder = null;
+    // presizes the next builder after clear()
+    private int lastBuiltSize = 0;
+    // from expectedSizeOf*, presizes the builder once one is needed
+    private int sizeHint = 0;
+    // whether set() kept its input as is, for build telemetry
+    private boolean adoptedInput = false;
 
     @Encoding.Init
     @Encoding.Naming(standard = StandardNaming.ADD)
@@ -64,13 +89,13 @@ public class ImmutableListEncoding<T> {
       } else if (list != null) {
         builder =
           ImmutableList
-            .<T>builderWithExpectedSize(list.size() + 1)
+            .<T>builderWithExpectedSize(Math.max(list.size() + 1, sizeHint))
             .addAll(list)
             .add(element);
 
         list = null;
       } else {
-        builder = ImmutableList.builder();
+        builder = EXPECTED_SIZE.newListBuilder(Math.max(lastBuiltSize, sizeHint));
         builder.add(element);
       }
     }
@@ -88,7 +113,7 @@ public class ImmutableListEncoding<T> {
 
         builder =
           ImmutableList
-            .<T>builderWithExpectedSize(list.size() + additionalSize)
+            .<T>builderWithExpectedSize(Math.max(list.size() + additionalSize, sizeHint))
             .addAll(list)
             .addAll(elements);
 
@@ -99,22 +124,110 @@ public class ImmutableListEncoding<T> {
         } else if (elements instanceof Collection) {
           builder =
             ImmutableList.builderWithExpectedSize(
-              ((Collection<? extends T>) elements).size()
+              Math.max(((Collection<? extends T>) elements).size(), sizeHint)
             );
           builder.addAll(elements);
         } else {
-          builder = ImmutableList.builder();
+          builder = EXPECTED_SIZE.newListBuilder(Math.max(lastBuiltSize, sizeHint));
           builder.addAll(elements);
         }
       }
     }
 
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllStream(Stream<? extends T> elements) {
+      if (elements.isParallel()) {
+        // subtasks link their chunks instead of copying partial builders,
+        // and build() copies every element once
+        com.hubspot.immutable.collection.encoding.CombinableImmutableListBuilder<T> combined =
+          elements.collect(
+            com.hubspot.immutable.collection.encoding.CombinableImmutableListBuilder::new,
+            com.hubspot.immutable.collection.encoding.CombinableImmutableListBuilder::add,
+            com.hubspot.immutable.collection.encoding.CombinableImmutableListBuilder::combine
+          );
+        addAllCombined(combined);
+      } else {
+        addAllSpliterator(elements.spliterator());
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllSpliterator(Spliterator<? extends T> elements) {
+      long exactSize = elements.getExactSizeIfKnown();
+      if (builder != null) {
+        elements.forEachRemaining(builder::add);
+      } else if (list != null) {
+        int expectedSize = list.size() + (int) Math.max(exactSize, 0);
+        builder =
+          ImmutableList
+            .<T>builderWithExpectedSize(Math.max(expectedSize, sizeHint))
+            .addAll(list);
+        elements.forEachRemaining(builder::add);
+
+        list = null;
+      } else {
+        if (exactSize >= 0) {
+          builder =
+            ImmutableList.builderWithExpectedSize(Math.max((int) exactSize, sizeHint));
+        } else {
+          builder = EXPECTED_SIZE.newListBuilder(Math.max(lastBuiltSize, sizeHint));
+        }
+        elements.forEachRemaining(builder::add);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllCombined(CombinableImmutableListBuilder<? extends T> elements) {
+      // when nothing was added yet, the combined result is adopted without a copy
+      addAll(elements.build());
+    }
+
+    /**
+     * A size hint for the builder this attribute is collected in, which is
+     * created on the first add. It doesn't count as initializing the attribute,
+     * so a {@code @Value.Default} still applies if nothing is added, and a
+     * collection that was passed in as is stays adopted until it is added to.
+     * Guava builders can't be resized, so the hint is ignored once the first
+     * element was added.
+     */
+    @Encoding.Init
+    @Naming("expectedSizeOf*")
+    void expectedSize(int expectedSize) {
+      sizeHint = EXPECTED_SIZE.checkExpectedSize(expectedSize);
+    }
+
     @Encoding.Init
     @Encoding.Copy
     @Naming(standard = StandardNaming.INIT)
     void set(Iterable<? extends T> input) {
       list = ImmutableList.copyOf(input);
       builder = null;
+      adoptedInput = list == input;
+    }
+
+    /**
+     * Empties this attribute so a reused generated builder can start the next
+     * value. Guava builders can't be emptied in place, so the capacity is kept
+     * as a size hint instead: the next builder is presized for what the last
+     * one built, and doesn't have to grow. Builders are not thread-safe; keep a
+     * reused builder confined to one thread. Built values share nothing with
+     * the builder and can be published freely.
+     *
+     * Only encoded attributes are cleared. Immutables' {@code clearBuilder}
+     * style option would clear the whole builder, but the {@code clear()} it
+     * generates doesn't compile for encoded attributes, so the styles leave it
+     * off. Every other attribute keeps its last value until it is set again:
+     * set all of them for each value, or an unset one silently carries over.
+     */
+    @Encoding.Init
+    @Naming("clear*")
+    void clear() {
+      list = null;
+      builder = null;
+      sizeHint = 0;
     }
 
     @Encoding.IsInit
@@ -125,10 +238,16 @@ public class ImmutableListEncoding<T> {
     @Encoding.Build
     ImmutableList<T> build() {
       if (builder != null) {
-        return builder.build();
+        ImmutableList<T> result = builder.build();
+        EXPECTED_SIZE.record(result.size());
+        lastBuiltSize = result.size();
+        TELEMETRY.recordBuild(result.size(), false);
+        return result;
       } else if (list != null) {
+        TELEMETRY.recordBuild(list.size(), adoptedInput);
         return list;
       } else {
+        TELEMETRY.recordUnset();
         return ImmutableList.of();
       }
     }
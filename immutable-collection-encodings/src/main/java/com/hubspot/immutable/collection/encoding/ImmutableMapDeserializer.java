@@ -0,0 +1,155 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.ObjectBuffer;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+
+/**
+ * Reads a JSON object as alternating keys and values into the context's
+ * recycled {@link ObjectBuffer}, then fills an {@link ImmutableMap.Builder}
+ * presized to the exact entry count, so {@code build()} neither grows nor
+ * trims and no intermediate {@code LinkedHashMap} is created.
+ */
+@SuppressWarnings("UnstableApiUsage")
+class ImmutableMapDeserializer
+  extends StdDeserializer<ImmutableMap<Object, Object>>
+  implements ContextualDeserializer {
+
+  private final JavaType type;
+  private final KeyDeserializer keyDeserializer;
+  private final JsonDeserializer<Object> valueDeserializer;
+  private final TypeDeserializer valueTypeDeserializer;
+
+  ImmutableMapDeserializer(
+    JavaType type,
+    KeyDeserializer keyDeserializer,
+    JsonDeserializer<Object> valueDeserializer,
+    TypeDeserializer valueTypeDeserializer
+  ) {
+    super(type);
+    this.type = type;
+    this.keyDeserializer = keyDeserializer;
+    this.valueDeserializer = valueDeserializer;
+    this.valueTypeDeserializer = valueTypeDeserializer;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public JsonDeserializer<?> createContextual(
+    DeserializationContext ctxt,
+    BeanProperty property
+  ) throws JsonMappingException {
+    KeyDeserializer keyDeserializer = this.keyDeserializer;
+    if (keyDeserializer == null) {
+      keyDeserializer = ctxt.findKeyDeserializer(type.getKeyType(), property);
+    }
+
+    JsonDeserializer<Object> valueDeserializer = this.valueDeserializer;
+    if (valueDeserializer == null) {
+      valueDeserializer =
+        ctxt.findContextualValueDeserializer(type.getContentType(), property);
+    } else {
+      valueDeserializer =
+        (JsonDeserializer<Object>) ctxt.handleSecondaryContextualization(
+          valueDeserializer,
+          property,
+          type.getContentType()
+        );
+    }
+
+    TypeDeserializer valueTypeDeserializer = this.valueTypeDeserializer;
+    if (valueTypeDeserializer != null) {
+      valueTypeDeserializer = valueTypeDeserializer.forProperty(property);
+    }
+
+    if (
+      keyDeserializer == this.keyDeserializer &&
+      valueDeserializer == this.valueDeserializer &&
+      valueTypeDeserializer == this.valueTypeDeserializer
+    ) {
+      return this;
+    }
+    return new ImmutableMapDeserializer(
+      type,
+      keyDeserializer,
+      valueDeserializer,
+      valueTypeDeserializer
+    );
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public ImmutableMap<Object, Object> deserialize(
+    JsonParser p,
+    DeserializationContext ctxt
+  ) throws IOException {
+    JsonToken token = p.getCurrentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = p.nextToken();
+    } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+      return (ImmutableMap<Object, Object>) ctxt.handleUnexpectedToken(type, p);
+    }
+
+    ObjectBuffer buffer = ctxt.leaseObjectBuffer();
+    Object[] chunk = buffer.resetAndStart();
+    int index = 0;
+
+    for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String fieldName = p.getCurrentName();
+      Object key = keyDeserializer.deserializeKey(fieldName, ctxt);
+
+      Object value = null;
+      if (p.nextToken() != JsonToken.VALUE_NULL) {
+        if (valueTypeDeserializer == null) {
+          value = valueDeserializer.deserialize(p, ctxt);
+        } else {
+          value = valueDeserializer.deserializeWithType(p, ctxt, valueTypeDeserializer);
+        }
+      }
+      if (key == null || value == null) {
+        throw JsonMappingException.from(
+          p,
+          "Null keys and values are not allowed in ImmutableMap (field " + fieldName + ")"
+        );
+      }
+
+      if (index >= chunk.length) {
+        chunk = buffer.appendCompletedChunk(chunk);
+        index = 0;
+      }
+      chunk[index++] = key;
+      if (index >= chunk.length) {
+        chunk = buffer.appendCompletedChunk(chunk);
+        index = 0;
+      }
+      chunk[index++] = value;
+    }
+
+    Object[] keysAndValues = buffer.completeAndClearBuffer(chunk, index);
+    ctxt.returnObjectBuffer(buffer);
+
+    ImmutableMap.Builder<Object, Object> builder = ImmutableMap.builderWithExpectedSize(
+      keysAndValues.length / 2
+    );
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      builder.put(keysAndValues[i], keysAndValues[i + 1]);
+    }
+
+    try {
+      return builder.build();
+    } catch (IllegalArgumentException e) {
+      throw JsonMappingException.from(p, e.getMessage(), e);
+    }
+  }
+}
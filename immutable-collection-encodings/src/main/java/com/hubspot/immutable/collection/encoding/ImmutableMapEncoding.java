@@ -1,7 +1,15 @@
 package com.hubspot.immutable.collection.encoding;
 
 import com.google.common.collect.ImmutableMap;
+import java.lang.invoke.MethodHandles;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
 import org.immutables.encode.Encoding;
 import org.immutables.encode.Encoding.Naming;
 import org.immutables.encode.Encoding.StandardNaming;
@@ -12,6 +20,17 @@ public class ImmutableMapEncoding<K, V> {
   @Encoding.Impl
   private ImmutableMap<K, V> field = null;
 
+  // one instance per encoded attribute, since encoding members are inlined per attribute
+  private static final AdaptiveExpectedSize EXPECTED_SIZE =
+    new com.hubspot.immutable.collection.encoding.AdaptiveExpectedSize(
+      MethodHandles.lookup().lookupClass()
+    );
+  private static final CollectionBuildTelemetry TELEMETRY =
+    com.hubspot.immutable.collection.encoding.CollectionBuildTelemetry.forAttribute(
+      MethodHandles.lookup().lookupClass(),
+      "map"
+    );
+
   @Encoding.Expose
   ImmutableMap<K, V> getImmutableMap() {
     if (field != null) {
@@ -41,28 +60,100 @@ public class ImmutableMapEncoding<K, V> {
     return ImmutableMap.copyOf(input);
   }
 
+  /**
+   * Puts into the map a merging builder collects in, and returns the first
+   * duplicate key message, which {@code build()} then throws like
+   * {@code ImmutableMap.Builder} would.
+   */
+  private static <K, V> String putMerged(
+    Map<K, V> merged,
+    K key,
+    V value,
+    String duplicate
+  ) {
+    V previous = merged.put(
+      Objects.requireNonNull(key, "key"),
+      Objects.requireNonNull(value, "value")
+    );
+    if (previous != null && duplicate == null) {
+      return (
+        "Multiple entries with same key: " +
+        key +
+        "=" +
+        value +
+        " and " +
+        key +
+        "=" +
+        previous
+      );
+    } else {
+      return duplicate;
+    }
+  }
+
+  /**
+   * Records a key put into a builder that keeps the last value, and returns
+   * the first duplicate key message, which {@code build()} then throws.
+   * Replacing puts never count as duplicates.
+   */
+  private static <K> String putKey(
+    Set<K> keys,
+    K key,
+    boolean replace,
+    String duplicate
+  ) {
+    if (!keys.add(Objects.requireNonNull(key, "key")) && !replace && duplicate == null) {
+      return "Multiple entries with same key: " + key;
+    } else {
+      return duplicate;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return com.hubspot.immutable.collection.encoding.CollectionToString.of(getMap());
+  }
+
   @Encoding.Builder
   @SuppressWarnings("UnstableApiUsage")
   static class Builder<K, V> {
 
     private ImmutableMap<K, V> map = null;
     private ImmutableMap.Builder<K, V> builder = null;
+    // presizes the next builder after clear()
+    private int lastBuiltSize = 0;
+    // from expectedSizeOf*, presizes the builder once one is needed
+    private int sizeHint = 0;
+    // whether set() kept its input as is, for build telemetry
+    private boolean adoptedInput = false;
+    // the keys put since the first putOrReplace, after which the builder
+    // keeps the last value per key and duplicates are checked here instead
+    private HashSet<K> keys = null;
+    // ImmutableMap.Builder can't look up earlier values, so merges switch to a map
+    private LinkedHashMap<K, V> merged = null;
+    // the first duplicate put after switching to keys or merged, thrown by build()
+    private String duplicate = null;
 
     @Encoding.Init
     @Naming(standard = StandardNaming.PUT)
     void put(K key, V value) {
-      if (builder != null) {
+      if (merged != null) {
+        duplicate = putMerged(merged, key, value, duplicate);
+      } else if (builder != null) {
+        if (keys != null) {
+          duplicate = putKey(keys, key, false, duplicate);
+        }
         builder.put(key, value);
       } else if (map != null) {
         builder =
           ImmutableMap
-            .<K, V>builderWithExpectedSize(map.size() + 1)
+            .<K, V>builderWithExpectedSize(Math.max(map.size() + 1, sizeHint))
             .putAll(map)
             .put(key, value);
 
         map = null;
       } else {
-        builder = ImmutableMap.builder();
+        builder = EXPECTED_SIZE.newMapBuilder(Math.max(lastBuiltSize, sizeHint));
         builder.put(key, value);
       }
     }
@@ -70,18 +161,23 @@ public class ImmutableMapEncoding<K, V> {
     @Encoding.Init
     @Naming(standard = StandardNaming.PUT)
     void putEntry(Map.Entry<K, ? extends V> entry) {
-      if (builder != null) {
+      if (merged != null) {
+        duplicate = putMerged(merged, entry.getKey(), entry.getValue(), duplicate);
+      } else if (builder != null) {
+        if (keys != null) {
+          duplicate = putKey(keys, entry.getKey(), false, duplicate);
+        }
         builder.put(entry);
       } else if (map != null) {
         builder =
           ImmutableMap
-            .<K, V>builderWithExpectedSize(map.size() + 1)
+            .<K, V>builderWithExpectedSize(Math.max(map.size() + 1, sizeHint))
             .putAll(map)
             .put(entry);
 
         map = null;
       } else {
-        builder = ImmutableMap.builder();
+        builder = EXPECTED_SIZE.newMapBuilder(Math.max(lastBuiltSize, sizeHint));
         builder.put(entry);
       }
     }
@@ -89,12 +185,22 @@ public class ImmutableMapEncoding<K, V> {
     @Encoding.Init
     @Naming(standard = StandardNaming.PUT_ALL)
     void putAll(Map<K, ? extends V> elements) {
-      if (builder != null) {
+      if (merged != null) {
+        for (Map.Entry<K, ? extends V> entry : elements.entrySet()) {
+          duplicate = putMerged(merged, entry.getKey(), entry.getValue(), duplicate);
+        }
+      } else if (builder != null) {
+        if (keys != null) {
+          for (K key : elements.keySet()) {
+            duplicate = putKey(keys, key, false, duplicate);
+          }
+        }
         builder.putAll(elements);
       } else if (map != null) {
+        int expectedSize = map.size() + elements.size();
         builder =
           ImmutableMap
-            .<K, V>builderWithExpectedSize(map.size() + elements.size())
+            .<K, V>builderWithExpectedSize(Math.max(expectedSize, sizeHint))
             .putAll(map)
             .putAll(elements);
 
@@ -103,32 +209,258 @@ public class ImmutableMapEncoding<K, V> {
         if (elements instanceof ImmutableMap) {
           set(elements);
         } else {
-          builder = ImmutableMap.builderWithExpectedSize(elements.size());
+          builder =
+            ImmutableMap.builderWithExpectedSize(Math.max(elements.size(), sizeHint));
           builder.putAll(elements);
         }
       }
     }
 
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT_ALL)
+    void putAllStream(Stream<? extends Map.Entry<? extends K, ? extends V>> entries) {
+      // no early return: Immutables turns it into "return this" in the builder
+      if (entries.isParallel()) {
+        // subtasks link their chunks instead of copying partial builders,
+        // and build() copies every entry once
+        com.hubspot.immutable.collection.encoding.CombinableImmutableMapBuilder<K, V> combined =
+          entries.collect(
+            com.hubspot.immutable.collection.encoding.CombinableImmutableMapBuilder::new,
+            com.hubspot.immutable.collection.encoding.CombinableImmutableMapBuilder::put,
+            com.hubspot.immutable.collection.encoding.CombinableImmutableMapBuilder::combine
+          );
+        putAllCombined(combined);
+      } else {
+        Spliterator<? extends Map.Entry<? extends K, ? extends V>> spliterator =
+          entries.spliterator();
+        long exactSize = spliterator.getExactSizeIfKnown();
+        if (merged != null) {
+          spliterator.forEachRemaining(entry ->
+            duplicate = putMerged(merged, entry.getKey(), entry.getValue(), duplicate)
+          );
+        } else if (keys != null) {
+          spliterator.forEachRemaining(entry -> {
+            duplicate = putKey(keys, entry.getKey(), false, duplicate);
+            builder.put(entry);
+          });
+        } else if (builder != null) {
+          spliterator.forEachRemaining(builder::put);
+        } else if (map != null) {
+          int expectedSize = map.size() + (int) Math.max(exactSize, 0);
+          builder =
+            ImmutableMap
+              .<K, V>builderWithExpectedSize(Math.max(expectedSize, sizeHint))
+              .putAll(map);
+          spliterator.forEachRemaining(builder::put);
+
+          map = null;
+        } else {
+          if (exactSize >= 0) {
+            builder =
+              ImmutableMap.builderWithExpectedSize(Math.max((int) exactSize, sizeHint));
+          } else {
+            builder = EXPECTED_SIZE.newMapBuilder(Math.max(lastBuiltSize, sizeHint));
+          }
+          spliterator.forEachRemaining(builder::put);
+        }
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT_ALL)
+    void putAllCombined(CombinableImmutableMapBuilder<K, ? extends V> entries) {
+      // when nothing was put yet, the combined result is adopted without a copy
+      putAll(entries.build());
+    }
+
+    /**
+     * Like {@link #put}, but replaces the value already put for {@code key}
+     * instead of failing the build. Only this call replaces; a later
+     * {@link #put} of the same key is still a duplicate.
+     *
+     * The entries stay in the {@link ImmutableMap.Builder}, which then builds
+     * keeping the last value per key. From the first replacing put on, the
+     * attribute tracks its keys to still report duplicate plain puts; the
+     * entries put before are checked once, when that starts.
+     */
+    @Encoding.Init
+    @Naming("putOrReplace*")
+    void putOrReplace(K key, V value) {
+      if (merged != null) {
+        merged.put(
+          Objects.requireNonNull(key, "key"),
+          Objects.requireNonNull(value, "value")
+        );
+      } else {
+        trackKeys(1);
+        duplicate = putKey(keys, key, true, duplicate);
+        builder.put(key, value);
+      }
+    }
+
+    @Encoding.Init
+    @Naming("putAllOrReplace*")
+    void putAllOrReplace(Map<K, ? extends V> elements) {
+      if (merged != null) {
+        for (Map.Entry<K, ? extends V> entry : elements.entrySet()) {
+          putOrReplace(entry.getKey(), entry.getValue());
+        }
+      } else {
+        trackKeys(elements.size());
+        for (Map.Entry<K, ? extends V> entry : elements.entrySet()) {
+          duplicate = putKey(keys, entry.getKey(), true, duplicate);
+          builder.put(entry);
+        }
+      }
+    }
+
+    /**
+     * Starts tracking keys for {@link #putOrReplace}, moving a set map into
+     * the builder like {@link #put} does.
+     */
+    private void trackKeys(int additional) {
+      if (keys == null) {
+        if (builder != null) {
+          ImmutableMap<K, V> before;
+          try {
+            before = builder.build();
+          } catch (IllegalArgumentException e) {
+            // keep the duplicate for build(), like later puts do
+            duplicate = e.getMessage();
+            before = builder.buildKeepingLast();
+          }
+          keys = new HashSet<>(before.keySet());
+        } else if (map != null) {
+          keys = new HashSet<>(map.keySet());
+          builder =
+            ImmutableMap
+              .<K, V>builderWithExpectedSize(
+                Math.max(map.size() + additional, sizeHint)
+              )
+              .putAll(map);
+
+          map = null;
+        } else {
+          keys = new HashSet<>();
+          builder =
+            EXPECTED_SIZE.newMapBuilder(
+              Math.max(Math.max(lastBuiltSize, sizeHint), additional)
+            );
+        }
+      }
+    }
+
+    /**
+     * Combines {@code value} with the value already put for {@code key}, like
+     * {@link Map#merge}. The first merge moves the entries put so far into a
+     * {@link LinkedHashMap}, which later puts and merges then update in place.
+     * Duplicate keys put before or after still fail {@code build()}.
+     */
+    @Encoding.Init
+    @Naming("merge*")
+    void merge(K key, V value, BinaryOperator<V> remappingFunction) {
+      if (merged == null) {
+        if (keys != null) {
+          // duplicates were tracked since the first putOrReplace
+          merged = new LinkedHashMap<>(builder.buildKeepingLast());
+        } else if (builder != null) {
+          try {
+            merged = new LinkedHashMap<>(builder.build());
+          } catch (IllegalArgumentException e) {
+            // keep the duplicate for build(), like put does once merged
+            duplicate = e.getMessage();
+            merged = new LinkedHashMap<>(builder.buildKeepingLast());
+          }
+        } else if (map != null) {
+          merged = new LinkedHashMap<>(map);
+        } else {
+          merged = new LinkedHashMap<>();
+        }
+
+        builder = null;
+        map = null;
+        keys = null;
+      }
+      merged.merge(
+        Objects.requireNonNull(key, "key"),
+        Objects.requireNonNull(value, "value"),
+        remappingFunction
+      );
+    }
+
+    /**
+     * A size hint for the builder this attribute is collected in; see
+     * {@code ImmutableListEncoding}.
+     */
+    @Encoding.Init
+    @Naming("expectedSizeOf*")
+    void expectedSize(int expectedSize) {
+      sizeHint = EXPECTED_SIZE.checkExpectedSize(expectedSize);
+    }
+
     @Encoding.Init
     @Encoding.Copy
     @Naming(standard = StandardNaming.INIT)
     void set(Map<K, ? extends V> input) {
       map = ImmutableMap.copyOf(input);
       builder = null;
+      adoptedInput = map == input;
+      keys = null;
+      merged = null;
+      duplicate = null;
+    }
+
+    /**
+     * Empties this attribute, including any replaced or merged entries, for a
+     * reused builder; the next map is presized for the last one built. See
+     * {@code ImmutableListEncoding} for the reuse rules.
+     */
+    @Encoding.Init
+    @Naming("clear*")
+    void clear() {
+      map = null;
+      builder = null;
+      keys = null;
+      merged = null;
+      duplicate = null;
+      sizeHint = 0;
     }
 
     @Encoding.IsInit
     boolean isSet() {
-      return map != null || builder != null;
+      return map != null || builder != null || merged != null;
     }
 
     @Encoding.Build
     ImmutableMap<K, V> build() {
-      if (builder != null) {
-        return builder.build();
+      if (merged != null) {
+        if (duplicate != null) {
+          throw new IllegalArgumentException(duplicate);
+        }
+        ImmutableMap<K, V> result = ImmutableMap.copyOf(merged);
+        EXPECTED_SIZE.record(result.size());
+        lastBuiltSize = result.size();
+        TELEMETRY.recordBuild(result.size(), false);
+        return result;
+      } else if (builder != null) {
+        ImmutableMap<K, V> result;
+        if (keys != null) {
+          if (duplicate != null) {
+            throw new IllegalArgumentException(duplicate);
+          }
+          result = builder.buildKeepingLast();
+        } else {
+          result = builder.build();
+        }
+        EXPECTED_SIZE.record(result.size());
+        lastBuiltSize = result.size();
+        TELEMETRY.recordBuild(result.size(), false);
+        return result;
       } else if (map != null) {
+        TELEMETRY.recordBuild(map.size(), adoptedInput);
         return map;
       } else {
+        TELEMETRY.recordUnset();
         return ImmutableMap.of();
       }
     }
@@ -0,0 +1,113 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableRangeMap;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeMap;
+import java.util.Map;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class ImmutableRangeMapEncoding<K extends Comparable<?>, V> {
+
+  @Encoding.Impl
+  private ImmutableRangeMap<K, V> field = null;
+
+  @Encoding.Expose
+  ImmutableRangeMap<K, V> getImmutableRangeMap() {
+    if (field != null) {
+      return field;
+    } else {
+      return ImmutableRangeMap.of();
+    }
+  }
+
+  @Encoding.Expose
+  RangeMap<K, V> getRangeMap() {
+    if (field != null) {
+      return field;
+    } else {
+      return ImmutableRangeMap.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  ImmutableRangeMap<K, V> withRangeMap(RangeMap<K, ? extends V> entries) {
+    return ImmutableRangeMap.copyOf(entries);
+  }
+
+  @Encoding.Of
+  static <K extends Comparable<?>, V> ImmutableRangeMap<K, V> of(
+    RangeMap<K, ? extends V> input
+  ) {
+    return ImmutableRangeMap.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder<K extends Comparable<?>, V> {
+
+    private ImmutableRangeMap<K, V> map = null;
+    // rejects overlapping ranges on build, like duplicate keys in ImmutableMap
+    private ImmutableRangeMap.Builder<K, V> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void put(Range<K> range, V value) {
+      if (builder != null) {
+        builder.put(range, value);
+      } else if (map != null) {
+        builder = ImmutableRangeMap.<K, V>builder().putAll(map).put(range, value);
+
+        map = null;
+      } else {
+        builder = ImmutableRangeMap.<K, V>builder().put(range, value);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void putEntry(Map.Entry<Range<K>, ? extends V> entry) {
+      put(entry.getKey(), entry.getValue());
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT_ALL)
+    void putAll(RangeMap<K, ? extends V> entries) {
+      if (builder != null) {
+        builder.putAll(entries);
+      } else if (map != null) {
+        builder = ImmutableRangeMap.<K, V>builder().putAll(map).putAll(entries);
+
+        map = null;
+      } else {
+        set(entries);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(RangeMap<K, ? extends V> input) {
+      map = ImmutableRangeMap.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return map != null || builder != null;
+    }
+
+    @Encoding.Build
+    ImmutableRangeMap<K, V> build() {
+      if (builder != null) {
+        return builder.build();
+      } else if (map != null) {
+        return map;
+      } else {
+        return ImmutableRangeMap.of();
+      }
+    }
+  }
+}
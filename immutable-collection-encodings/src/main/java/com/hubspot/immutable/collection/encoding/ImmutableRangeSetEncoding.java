@@ -0,0 +1,129 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class ImmutableRangeSetEncoding<C extends Comparable<?>> {
+
+  @Encoding.Impl
+  private ImmutableRangeSet<C> field = null;
+
+  @Encoding.Expose
+  ImmutableRangeSet<C> getImmutableRangeSet() {
+    if (field != null) {
+      return field;
+    } else {
+      return ImmutableRangeSet.of();
+    }
+  }
+
+  @Encoding.Expose
+  RangeSet<C> getRangeSet() {
+    if (field != null) {
+      return field;
+    } else {
+      return ImmutableRangeSet.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  ImmutableRangeSet<C> withRangeSet(RangeSet<C> ranges) {
+    return ImmutableRangeSet.copyOf(ranges);
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  ImmutableRangeSet<C> withRanges(Iterable<Range<C>> ranges) {
+    return ImmutableRangeSet.unionOf(ranges);
+  }
+
+  @Encoding.Of
+  static <C extends Comparable<?>> ImmutableRangeSet<C> of(RangeSet<C> input) {
+    return ImmutableRangeSet.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder<C extends Comparable<?>> {
+
+    private ImmutableRangeSet<C> set = null;
+    // unlike ImmutableRangeSet.Builder, merges overlapping ranges as they are added
+    private TreeRangeSet<C> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(Range<C> range) {
+      if (builder != null) {
+        builder.add(range);
+      } else if (set != null) {
+        builder = TreeRangeSet.create(set);
+        builder.add(range);
+
+        set = null;
+      } else {
+        builder = TreeRangeSet.create();
+        builder.add(range);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(RangeSet<C> ranges) {
+      if (builder != null) {
+        builder.addAll(ranges);
+      } else if (set != null) {
+        builder = TreeRangeSet.create(set);
+        builder.addAll(ranges);
+
+        set = null;
+      } else {
+        set(ranges);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllRanges(Iterable<Range<C>> ranges) {
+      if (builder != null) {
+        builder.addAll(ranges);
+      } else if (set != null) {
+        builder = TreeRangeSet.create(set);
+        builder.addAll(ranges);
+
+        set = null;
+      } else {
+        builder = TreeRangeSet.create(ranges);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(RangeSet<C> input) {
+      set = ImmutableRangeSet.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return set != null || builder != null;
+    }
+
+    @Encoding.Build
+    ImmutableRangeSet<C> build() {
+      if (builder != null) {
+        return ImmutableRangeSet.copyOf(builder);
+      } else if (set != null) {
+        return set;
+      } else {
+        return ImmutableRangeSet.of();
+      }
+    }
+  }
+}
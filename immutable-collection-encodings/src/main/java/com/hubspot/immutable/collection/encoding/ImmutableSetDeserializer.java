@@ -0,0 +1,35 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.google.common.collect.ImmutableSet;
+
+class ImmutableSetDeserializer
+  extends ImmutableCollectionDeserializer<ImmutableSet<Object>> {
+
+  ImmutableSetDeserializer(
+    JavaType type,
+    JsonDeserializer<Object> elementDeserializer,
+    TypeDeserializer elementTypeDeserializer
+  ) {
+    super(type, elementDeserializer, elementTypeDeserializer);
+  }
+
+  @Override
+  protected ImmutableSetDeserializer withResolved(
+    JsonDeserializer<Object> elementDeserializer,
+    TypeDeserializer elementTypeDeserializer
+  ) {
+    return new ImmutableSetDeserializer(
+      type,
+      elementDeserializer,
+      elementTypeDeserializer
+    );
+  }
+
+  @Override
+  protected ImmutableSet<Object> fromElements(Object[] elements) {
+    return ImmutableSet.copyOf(elements);
+  }
+}
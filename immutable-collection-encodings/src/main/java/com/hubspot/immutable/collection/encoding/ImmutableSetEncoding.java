@@ -2,8 +2,11 @@ package com.hubspot.immutable.collection.encoding;
 
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableSet;
+import java.lang.invoke.MethodHandles;
 import java.util.Collection;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 import org.immutables.encode.Encoding;
 import org.immutables.encode.Encoding.Naming;
 import org.immutables.encode.Encoding.StandardNaming;
@@ -14,6 +17,17 @@ public class ImmutableSetEncoding<T> {
   @Encoding.Impl
   private ImmutableSet<T> field = null;
 
+  // one instance per encoded attribute, since encoding members are inlined per attribute
+  private static final AdaptiveExpectedSize EXPECTED_SIZE =
+    new com.hubspot.immutable.collection.encoding.AdaptiveExpectedSize(
+      MethodHandles.lookup().lookupClass()
+    );
+  private static final CollectionBuildTelemetry TELEMETRY =
+    com.hubspot.immutable.collection.encoding.CollectionBuildTelemetry.forAttribute(
+      MethodHandles.lookup().lookupClass(),
+      "set"
+    );
+
   @Encoding.Expose
   ImmutableSet<T> getImmutableSet() {
     if (field != null) {
@@ -49,12 +63,23 @@ public class ImmutableSetEncoding<T> {
     return ImmutableSet.copyOf(input);
   }
 
+  @Override
+  public String toString() {
+    return com.hubspot.immutable.collection.encoding.CollectionToString.of(getSet());
+  }
+
   @Encoding.Builder
   @SuppressWarnings("UnstableApiUsage")
   static class Builder<T> {
 
     private ImmutableSet<T> set = null;
     private ImmutableSet.Builder<T> builder = null;
+    // presizes the next builder after clear()
+    private int lastBuiltSize = 0;
+    // from expectedSizeOf*, presizes the builder once one is needed
+    private int sizeHint = 0;
+    // whether set() kept its input as is, for build telemetry
+    private boolean adoptedInput = false;
 
     @Encoding.Init
     @Naming(standard = StandardNaming.ADD)
@@ -64,13 +89,13 @@ public class ImmutableSetEncoding<T> {
       } else if (set != null) {
         builder =
           ImmutableSet
-            .<T>builderWithExpectedSize(set.size() + 1)
+            .<T>builderWithExpectedSize(Math.max(set.size() + 1, sizeHint))
             .addAll(set)
             .add(element);
 
         set = null;
       } else {
-        builder = ImmutableSet.builder();
+        builder = EXPECTED_SIZE.newSetBuilder(Math.max(lastBuiltSize, sizeHint));
         builder.add(element);
       }
     }
@@ -88,7 +113,7 @@ public class ImmutableSetEncoding<T> {
 
         builder =
           ImmutableSet
-            .<T>builderWithExpectedSize(set.size() + additionalSize)
+            .<T>builderWithExpectedSize(Math.max(set.size() + additionalSize, sizeHint))
             .addAll(set)
             .addAll(elements);
 
@@ -99,22 +124,100 @@ public class ImmutableSetEncoding<T> {
         } else if (elements instanceof Collection) {
           builder =
             ImmutableSet.builderWithExpectedSize(
-              ((Collection<? extends T>) elements).size()
+              Math.max(((Collection<? extends T>) elements).size(), sizeHint)
             );
           builder.addAll(elements);
         } else {
-          builder = ImmutableSet.builder();
+          builder = EXPECTED_SIZE.newSetBuilder(Math.max(lastBuiltSize, sizeHint));
           builder.addAll(elements);
         }
       }
     }
 
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllStream(Stream<? extends T> elements) {
+      if (elements.isParallel()) {
+        // subtasks link their chunks instead of copying partial builders,
+        // and build() copies every element once
+        com.hubspot.immutable.collection.encoding.CombinableImmutableSetBuilder<T> combined =
+          elements.collect(
+            com.hubspot.immutable.collection.encoding.CombinableImmutableSetBuilder::new,
+            com.hubspot.immutable.collection.encoding.CombinableImmutableSetBuilder::add,
+            com.hubspot.immutable.collection.encoding.CombinableImmutableSetBuilder::combine
+          );
+        addAllCombined(combined);
+      } else {
+        addAllSpliterator(elements.spliterator());
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllSpliterator(Spliterator<? extends T> elements) {
+      long exactSize = elements.getExactSizeIfKnown();
+      if (builder != null) {
+        elements.forEachRemaining(builder::add);
+      } else if (set != null) {
+        int expectedSize = set.size() + (int) Math.max(exactSize, 0);
+        builder =
+          ImmutableSet
+            .<T>builderWithExpectedSize(Math.max(expectedSize, sizeHint))
+            .addAll(set);
+        elements.forEachRemaining(builder::add);
+
+        set = null;
+      } else {
+        if (exactSize >= 0) {
+          builder =
+            ImmutableSet.builderWithExpectedSize(Math.max((int) exactSize, sizeHint));
+        } else {
+          builder = EXPECTED_SIZE.newSetBuilder(Math.max(lastBuiltSize, sizeHint));
+        }
+        elements.forEachRemaining(builder::add);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllCombined(CombinableImmutableSetBuilder<? extends T> elements) {
+      // when nothing was added yet, the combined result is adopted without a copy
+      addAll(elements.build());
+    }
+
+    /**
+     * A size hint for the builder this attribute is collected in, which is
+     * created on the first add. It doesn't count as initializing the attribute,
+     * so a {@code @Value.Default} still applies if nothing is added, and a
+     * collection that was passed in as is stays adopted until it is added to.
+     * Guava builders can't be resized, so the hint is ignored once the first
+     * element was added.
+     */
+    @Encoding.Init
+    @Naming("expectedSizeOf*")
+    void expectedSize(int expectedSize) {
+      sizeHint = EXPECTED_SIZE.checkExpectedSize(expectedSize);
+    }
+
     @Encoding.Init
     @Encoding.Copy
     @Naming(standard = StandardNaming.INIT)
     void set(Iterable<? extends T> input) {
       set = ImmutableSet.copyOf(input);
       builder = null;
+      adoptedInput = set == input;
+    }
+
+    /**
+     * Empties this attribute for a reused builder; the next set is presized for
+     * the last one built. See {@code ImmutableListEncoding} for the reuse rules.
+     */
+    @Encoding.Init
+    @Naming("clear*")
+    void clear() {
+      set = null;
+      builder = null;
+      sizeHint = 0;
     }
 
     @Encoding.IsInit
@@ -125,10 +228,16 @@ public class ImmutableSetEncoding<T> {
     @Encoding.Build
     ImmutableSet<T> build() {
       if (builder != null) {
-        return builder.build();
+        ImmutableSet<T> result = builder.build();
+        EXPECTED_SIZE.record(result.size());
+        lastBuiltSize = result.size();
+        TELEMETRY.recordBuild(result.size(), false);
+        return result;
       } else if (set != null) {
+        TELEMETRY.recordBuild(set.size(), adoptedInput);
         return set;
       } else {
+        TELEMETRY.recordUnset();
         return ImmutableSet.of();
       }
     }
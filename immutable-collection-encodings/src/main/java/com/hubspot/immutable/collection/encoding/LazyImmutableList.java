@@ -0,0 +1,210 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.google.common.collect.ForwardingList;
+import com.google.common.collect.ImmutableList;
+import com.hubspot.immutable.collection.encoding.LazyImmutableList.Deserializer;
+import com.hubspot.immutable.collection.encoding.LazyImmutableList.Serializer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A list that keeps the JSON it was deserialized from and only builds the
+ * backing {@link ImmutableList} the first time it is read.
+ *
+ * Use this as the declared type of a large list attribute that most readers
+ * never look at, together with {@code @LazyImmutableListEncodingEnabled}.
+ * Deserialization captures the array as a
+ * {@link com.fasterxml.jackson.databind.util.TokenBuffer} instead of decoding
+ * every element, and reserializing an instance that came from JSON writes the
+ * captured tokens back out without touching the elements. Decoding uses the
+ * configuration of the read that captured the tokens, so features enabled on
+ * an {@code ObjectReader} still apply; injectable values don't.
+ *
+ * Requires {@code com.fasterxml.jackson.core:jackson-databind} on the
+ * classpath, which this module only declares as an optional dependency.
+ *
+ * Things to be aware of:
+ * 1. the captured tokens are retained for the lifetime of the instance, so a
+ *    materialized list costs both the tokens and the elements
+ * 2. element deserialization errors surface on first access (as an
+ *    {@link UncheckedIOException}) rather than when the enclosing object is read
+ * 3. {@code hashCode()} materializes the list, and so does {@code equals()}
+ *    unless both lists are unmaterialized and were read from identical tokens.
+ *    The generated {@code equals} and {@code hashCode} of an immutable holding
+ *    one call them, so hashing such an immutable or comparing it to an unequal
+ *    one gives up the laziness
+ */
+@JsonSerialize(using = Serializer.class)
+@JsonDeserialize(using = Deserializer.class)
+public final class LazyImmutableList<T> extends ForwardingList<T> {
+
+  private static final LazyImmutableList<Object> EMPTY = new LazyImmutableList<>(
+    ImmutableList.of()
+  );
+
+  private final CapturedJson json;
+
+  private volatile ImmutableList<T> list;
+
+  private LazyImmutableList(ImmutableList<T> list) {
+    this.json = null;
+    this.list = list;
+  }
+
+  private LazyImmutableList(CapturedJson json) {
+    this.json = json;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> LazyImmutableList<T> of() {
+    return (LazyImmutableList<T>) EMPTY;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> LazyImmutableList<T> copyOf(Iterable<? extends T> elements) {
+    if (elements instanceof LazyImmutableList) {
+      return (LazyImmutableList<T>) elements;
+    }
+
+    ImmutableList<T> list = ImmutableList.copyOf(elements);
+    if (list.isEmpty()) {
+      return of();
+    }
+    return new LazyImmutableList<>(list);
+  }
+
+  public ImmutableList<T> asImmutableList() {
+    ImmutableList<T> result = list;
+    if (result == null) {
+      synchronized (this) {
+        result = list;
+        if (result == null) {
+          result = materialize();
+          list = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  public boolean isMaterialized() {
+    return list != null;
+  }
+
+  @Override
+  protected ImmutableList<T> delegate() {
+    return asImmutableList();
+  }
+
+  private ImmutableList<T> materialize() {
+    T[] elements = json.read();
+    return ImmutableList.copyOf(elements);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    } else if (o instanceof LazyImmutableList) {
+      LazyImmutableList<?> other = (LazyImmutableList<?>) o;
+      if (list == null && other.list == null && json.isSameAs(other.json)) {
+        return true;
+      }
+    } else if (!(o instanceof List)) {
+      return false;
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  public static class Serializer extends JsonSerializer<LazyImmutableList<?>> {
+
+    @Override
+    public void serialize(
+      LazyImmutableList<?> value,
+      JsonGenerator gen,
+      SerializerProvider serializers
+    ) throws IOException {
+      if (value.json != null) {
+        value.json.serialize(gen);
+      } else {
+        serializers.defaultSerializeValue(value.asImmutableList(), gen);
+      }
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, LazyImmutableList<?> value) {
+      return value.isEmpty();
+    }
+  }
+
+  public static class Deserializer
+    extends JsonDeserializer<LazyImmutableList<?>>
+    implements ContextualDeserializer {
+
+    private final JavaType arrayType;
+
+    public Deserializer() {
+      this(null);
+    }
+
+    private Deserializer(JavaType arrayType) {
+      this.arrayType = arrayType;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(
+      DeserializationContext ctxt,
+      BeanProperty property
+    ) throws JsonMappingException {
+      JavaType contextualType = ctxt.getContextualType();
+      if (contextualType == null || contextualType.getContentType() == null) {
+        throw JsonMappingException.from(
+          ctxt.getParser(),
+          "Can not discover element type for: " + contextualType
+        );
+      }
+
+      return new Deserializer(
+        ctxt.getTypeFactory().constructArrayType(contextualType.getContentType())
+      );
+    }
+
+    @Override
+    public LazyImmutableList<?> deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (arrayType == null) {
+        throw JsonMappingException.from(p, "Expected createContextual to be called");
+      } else if (p.getCurrentToken() != JsonToken.START_ARRAY) {
+        throw ctxt.wrongTokenException(p, arrayType, JsonToken.START_ARRAY, null);
+      }
+
+      CapturedJson json = CapturedJson.capture(p, ctxt, arrayType);
+      if (json == null) {
+        // nothing to decode the tokens with later, so decode them now
+        Object[] elements = ctxt.readValue(p, arrayType);
+        return copyOf(Arrays.asList(elements));
+      }
+      return new LazyImmutableList<>(json);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class LazyImmutableListEncoding<T> {
+
+  @Encoding.Impl
+  private LazyImmutableList<T> field = null;
+
+  @Encoding.Expose
+  LazyImmutableList<T> getLazyImmutableList() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.LazyImmutableList.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  LazyImmutableList<T> withCollectionVarargs(T... elements) {
+    return com.hubspot.immutable.collection.encoding.LazyImmutableList.copyOf(
+      ImmutableList.copyOf(elements)
+    );
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  LazyImmutableList<T> withCollection(Iterable<? extends T> elements) {
+    return com.hubspot.immutable.collection.encoding.LazyImmutableList.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static <T> LazyImmutableList<T> of(Collection<? extends T> input) {
+    return com.hubspot.immutable.collection.encoding.LazyImmutableList.copyOf(input);
+  }
+
+  @Encoding.Builder
+  @SuppressWarnings("UnstableApiUsage")
+  static class Builder<T> {
+
+    private LazyImmutableList<T> lazyList = null;
+    private ImmutableList.Builder<T> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(T... element) {
+      if (builder != null) {
+        builder.add(element);
+      } else if (lazyList != null) {
+        // appending to a captured list is the one case that forces it to materialize
+        builder =
+          ImmutableList
+            .<T>builderWithExpectedSize(lazyList.size() + element.length)
+            .addAll(lazyList.asImmutableList())
+            .add(element);
+
+        lazyList = null;
+      } else {
+        builder = ImmutableList.builder();
+        builder.add(element);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<? extends T> elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (lazyList != null) {
+        builder =
+          ImmutableList
+            .<T>builderWithExpectedSize(lazyList.size())
+            .addAll(lazyList.asImmutableList())
+            .addAll(elements);
+
+        lazyList = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<? extends T> input) {
+      lazyList =
+        com.hubspot.immutable.collection.encoding.LazyImmutableList.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return lazyList != null || builder != null;
+    }
+
+    @Encoding.Build
+    LazyImmutableList<T> build() {
+      if (builder != null) {
+        return com.hubspot.immutable.collection.encoding.LazyImmutableList.copyOf(
+          builder.build()
+        );
+      } else if (lazyList != null) {
+        return lazyList;
+      } else {
+        return com.hubspot.immutable.collection.encoding.LazyImmutableList.of();
+      }
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.google.common.collect.ForwardingMap;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.immutable.collection.encoding.LazyImmutableMap.Deserializer;
+import com.hubspot.immutable.collection.encoding.LazyImmutableMap.Serializer;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A map that keeps the JSON it was deserialized from and only builds the
+ * backing {@link ImmutableMap} the first time it is read.
+ *
+ * This is the map counterpart of {@link LazyImmutableList}, enabled with
+ * {@code @LazyImmutableMapEncodingEnabled}, and has the same caveats: the
+ * captured tokens are retained alongside the materialized entries,
+ * deserialization errors surface on first access, and {@code hashCode()} and
+ * most {@code equals()} calls materialize the map. Like the list, it needs
+ * jackson-databind on the classpath.
+ */
+@JsonSerialize(using = Serializer.class)
+@JsonDeserialize(using = Deserializer.class)
+public final class LazyImmutableMap<K, V> extends ForwardingMap<K, V> {
+
+  private static final LazyImmutableMap<Object, Object> EMPTY = new LazyImmutableMap<>(
+    ImmutableMap.of()
+  );
+
+  private final CapturedJson json;
+
+  private volatile ImmutableMap<K, V> map;
+
+  private LazyImmutableMap(ImmutableMap<K, V> map) {
+    this.json = null;
+    this.map = map;
+  }
+
+  private LazyImmutableMap(CapturedJson json) {
+    this.json = json;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <K, V> LazyImmutableMap<K, V> of() {
+    return (LazyImmutableMap<K, V>) EMPTY;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <K, V> LazyImmutableMap<K, V> copyOf(
+    Map<? extends K, ? extends V> elements
+  ) {
+    if (elements instanceof LazyImmutableMap) {
+      return (LazyImmutableMap<K, V>) elements;
+    }
+
+    ImmutableMap<K, V> map = ImmutableMap.copyOf(elements);
+    if (map.isEmpty()) {
+      return of();
+    }
+    return new LazyImmutableMap<>(map);
+  }
+
+  public ImmutableMap<K, V> asImmutableMap() {
+    ImmutableMap<K, V> result = map;
+    if (result == null) {
+      synchronized (this) {
+        result = map;
+        if (result == null) {
+          result = materialize();
+          map = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  public boolean isMaterialized() {
+    return map != null;
+  }
+
+  @Override
+  protected ImmutableMap<K, V> delegate() {
+    return asImmutableMap();
+  }
+
+  private ImmutableMap<K, V> materialize() {
+    Map<K, V> entries = json.read();
+    return ImmutableMap.copyOf(entries);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    } else if (o instanceof LazyImmutableMap) {
+      LazyImmutableMap<?, ?> other = (LazyImmutableMap<?, ?>) o;
+      if (map == null && other.map == null && json.isSameAs(other.json)) {
+        return true;
+      }
+    } else if (!(o instanceof Map)) {
+      return false;
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  public static class Serializer extends JsonSerializer<LazyImmutableMap<?, ?>> {
+
+    @Override
+    public void serialize(
+      LazyImmutableMap<?, ?> value,
+      JsonGenerator gen,
+      SerializerProvider serializers
+    ) throws IOException {
+      if (value.json != null) {
+        value.json.serialize(gen);
+      } else {
+        serializers.defaultSerializeValue(value.asImmutableMap(), gen);
+      }
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, LazyImmutableMap<?, ?> value) {
+      return value.isEmpty();
+    }
+  }
+
+  public static class Deserializer
+    extends JsonDeserializer<LazyImmutableMap<?, ?>>
+    implements ContextualDeserializer {
+
+    private final JavaType mapType;
+
+    public Deserializer() {
+      this(null);
+    }
+
+    private Deserializer(JavaType mapType) {
+      this.mapType = mapType;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(
+      DeserializationContext ctxt,
+      BeanProperty property
+    ) throws JsonMappingException {
+      JavaType contextualType = ctxt.getContextualType();
+      if (
+        contextualType == null ||
+        contextualType.getKeyType() == null ||
+        contextualType.getContentType() == null
+      ) {
+        throw JsonMappingException.from(
+          ctxt.getParser(),
+          "Can not discover key and value types for: " + contextualType
+        );
+      }
+
+      // LinkedHashMap keeps the JSON field order for the ImmutableMap copy
+      return new Deserializer(
+        ctxt
+          .getTypeFactory()
+          .constructMapType(
+            LinkedHashMap.class,
+            contextualType.getKeyType(),
+            contextualType.getContentType()
+          )
+      );
+    }
+
+    @Override
+    public LazyImmutableMap<?, ?> deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (mapType == null) {
+        throw JsonMappingException.from(p, "Expected createContextual to be called");
+      } else if (p.getCurrentToken() != JsonToken.START_OBJECT) {
+        throw ctxt.wrongTokenException(p, mapType, JsonToken.START_OBJECT, null);
+      }
+
+      CapturedJson json = CapturedJson.capture(p, ctxt, mapType);
+      if (json == null) {
+        // nothing to decode the tokens with later, so decode them now
+        Map<?, ?> entries = ctxt.readValue(p, mapType);
+        return copyOf(entries);
+      }
+      return new LazyImmutableMap<>(json);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class LazyImmutableMapEncoding<K, V> {
+
+  @Encoding.Impl
+  private LazyImmutableMap<K, V> field = null;
+
+  @Encoding.Expose
+  LazyImmutableMap<K, V> getLazyImmutableMap() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.LazyImmutableMap.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  LazyImmutableMap<K, V> withCollection(Map<K, ? extends V> elements) {
+    return com.hubspot.immutable.collection.encoding.LazyImmutableMap.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static <K, V> LazyImmutableMap<K, V> of(Map<? extends K, ? extends V> input) {
+    return com.hubspot.immutable.collection.encoding.LazyImmutableMap.copyOf(input);
+  }
+
+  @Encoding.Builder
+  @SuppressWarnings("UnstableApiUsage")
+  static class Builder<K, V> {
+
+    private LazyImmutableMap<K, V> lazyMap = null;
+    private ImmutableMap.Builder<K, V> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void put(K key, V value) {
+      if (builder != null) {
+        builder.put(key, value);
+      } else if (lazyMap != null) {
+        // adding to a captured map is the one case that forces it to materialize
+        builder =
+          ImmutableMap
+            .<K, V>builderWithExpectedSize(lazyMap.size() + 1)
+            .putAll(lazyMap.asImmutableMap())
+            .put(key, value);
+
+        lazyMap = null;
+      } else {
+        builder = ImmutableMap.builder();
+        builder.put(key, value);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void putEntry(Map.Entry<K, ? extends V> entry) {
+      if (builder != null) {
+        builder.put(entry);
+      } else if (lazyMap != null) {
+        builder =
+          ImmutableMap
+            .<K, V>builderWithExpectedSize(lazyMap.size() + 1)
+            .putAll(lazyMap.asImmutableMap())
+            .put(entry);
+
+        lazyMap = null;
+      } else {
+        builder = ImmutableMap.builder();
+        builder.put(entry);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT_ALL)
+    void putAll(Map<K, ? extends V> elements) {
+      if (builder != null) {
+        builder.putAll(elements);
+      } else if (lazyMap != null) {
+        builder =
+          ImmutableMap
+            .<K, V>builderWithExpectedSize(lazyMap.size() + elements.size())
+            .putAll(lazyMap.asImmutableMap())
+            .putAll(elements);
+
+        lazyMap = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Map<K, ? extends V> input) {
+      lazyMap = com.hubspot.immutable.collection.encoding.LazyImmutableMap.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return lazyMap != null || builder != null;
+    }
+
+    @Encoding.Build
+    LazyImmutableMap<K, V> build() {
+      if (builder != null) {
+        return com.hubspot.immutable.collection.encoding.LazyImmutableMap.copyOf(
+          builder.build()
+        );
+      } else if (lazyMap != null) {
+        return lazyMap;
+      } else {
+        return com.hubspot.immutable.collection.encoding.LazyImmutableMap.of();
+      }
+    }
+  }
+}
@@ -0,0 +1,303 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.google.common.collect.Maps;
+import com.hubspot.immutable.collection.encoding.LongKeyedMap.Deserializer;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable map with primitive {@code long} keys. Entries are stored in
+ * insertion order in a {@code long[]} and an {@code Object[]}, indexed by an
+ * open-addressing (linear probing) {@code int[]} table kept at most half full.
+ * That is roughly 20 bytes per entry plus the value, against a boxed
+ * {@link Long}, an entry object and a hash table slot for {@code ImmutableMap}.
+ *
+ * Use {@link #get(long)} and {@link #containsKey(long)} to look up without
+ * boxing. The {@link Map} methods work too, but box every key they touch.
+ */
+@JsonDeserialize(using = Deserializer.class)
+public final class LongKeyedMap<V> extends AbstractMap<Long, V> {
+
+  private static final LongKeyedMap<Object> EMPTY = new LongKeyedMap<>(
+    new long[0],
+    new Object[0],
+    new int[1]
+  );
+
+  // entries in insertion order
+  private final long[] keys;
+  private final Object[] values;
+  // power of two sized; 0 is an empty slot, otherwise the entry index + 1
+  private final int[] table;
+
+  private LongKeyedMap(long[] keys, Object[] values, int[] table) {
+    this.keys = keys;
+    this.values = values;
+    this.table = table;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <V> LongKeyedMap<V> of() {
+    return (LongKeyedMap<V>) EMPTY;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <V> LongKeyedMap<V> copyOf(Map<Long, ? extends V> map) {
+    if (map instanceof LongKeyedMap) {
+      return (LongKeyedMap<V>) map;
+    }
+    return LongKeyedMap.<V>builderWithExpectedSize(map.size()).putAll(map).build();
+  }
+
+  public static <V> Builder<V> builder() {
+    return new Builder<>(8);
+  }
+
+  public static <V> Builder<V> builderWithExpectedSize(int expectedSize) {
+    return new Builder<>(expectedSize);
+  }
+
+  @Override
+  public int size() {
+    return keys.length;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    int index = indexOf(key);
+    return index < 0 ? null : (V) values[index];
+  }
+
+  @Override
+  public V get(Object key) {
+    return key instanceof Long ? get(((Long) key).longValue()) : null;
+  }
+
+  public boolean containsKey(long key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof Long && containsKey(((Long) key).longValue());
+  }
+
+  @Override
+  public Set<Entry<Long, V>> entrySet() {
+    return new AbstractSet<Entry<Long, V>>() {
+      @Override
+      public int size() {
+        return keys.length;
+      }
+
+      @Override
+      public Iterator<Entry<Long, V>> iterator() {
+        return new Iterator<Entry<Long, V>>() {
+          private int index = 0;
+
+          @Override
+          public boolean hasNext() {
+            return index < keys.length;
+          }
+
+          @Override
+          @SuppressWarnings("unchecked")
+          public Entry<Long, V> next() {
+            if (index >= keys.length) {
+              throw new NoSuchElementException();
+            }
+            Entry<Long, V> entry = Maps.immutableEntry(keys[index], (V) values[index]);
+            index++;
+            return entry;
+          }
+        };
+      }
+    };
+  }
+
+  private int indexOf(long key) {
+    int mask = table.length - 1;
+    for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      } else if (keys[entry - 1] == key) {
+        return entry - 1;
+      }
+    }
+  }
+
+  private static int hash(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  public static final class Builder<V> {
+
+    private long[] keys;
+    private Object[] values;
+    private int size = 0;
+
+    private Builder(int expectedSize) {
+      this.keys = new long[Math.max(expectedSize, 1)];
+      this.values = new Object[Math.max(expectedSize, 1)];
+    }
+
+    public Builder<V> put(long key, V value) {
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      keys[size] = key;
+      values[size] = Objects.requireNonNull(value, "value");
+      size++;
+      return this;
+    }
+
+    public Builder<V> put(Map.Entry<Long, ? extends V> entry) {
+      return put(Objects.requireNonNull(entry.getKey(), "key"), entry.getValue());
+    }
+
+    public Builder<V> putAll(Map<Long, ? extends V> map) {
+      if (size + map.size() > keys.length) {
+        keys = Arrays.copyOf(keys, size + map.size());
+        values = Arrays.copyOf(values, size + map.size());
+      }
+      for (Map.Entry<Long, ? extends V> entry : map.entrySet()) {
+        put(entry);
+      }
+      return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the same key was put twice, like
+     *     {@code ImmutableMap.Builder#build()}
+     */
+    public LongKeyedMap<V> build() {
+      if (size == 0) {
+        return of();
+      }
+
+      int[] table = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+      int mask = table.length - 1;
+      for (int index = 0; index < size; index++) {
+        long key = keys[index];
+        int slot = hash(key) & mask;
+        while (table[slot] != 0) {
+          if (keys[table[slot] - 1] == key) {
+            throw new IllegalArgumentException(
+              "Multiple entries with same key: " +
+              key +
+              "=" +
+              values[index] +
+              " and " +
+              key +
+              "=" +
+              values[table[slot] - 1]
+            );
+          }
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+      }
+
+      return new LongKeyedMap<>(
+        size == keys.length ? keys.clone() : Arrays.copyOf(keys, size),
+        size == values.length ? values.clone() : Arrays.copyOf(values, size),
+        table
+      );
+    }
+  }
+
+  public static class Deserializer
+    extends JsonDeserializer<LongKeyedMap<?>>
+    implements ContextualDeserializer {
+
+    private final JavaType valueType;
+    private final JsonDeserializer<Object> valueDeserializer;
+
+    public Deserializer() {
+      this(null, null);
+    }
+
+    private Deserializer(JavaType valueType, JsonDeserializer<Object> valueDeserializer) {
+      this.valueType = valueType;
+      this.valueDeserializer = valueDeserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(
+      DeserializationContext ctxt,
+      BeanProperty property
+    ) throws JsonMappingException {
+      JavaType contextualType = ctxt.getContextualType();
+      if (contextualType == null || contextualType.getContentType() == null) {
+        throw JsonMappingException.from(
+          ctxt.getParser(),
+          "Can not discover value type for: " + contextualType
+        );
+      }
+
+      return new Deserializer(
+        contextualType.getContentType(),
+        ctxt.findContextualValueDeserializer(contextualType.getContentType(), property)
+      );
+    }
+
+    @Override
+    public LongKeyedMap<?> deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (valueDeserializer == null) {
+        throw JsonMappingException.from(p, "Expected createContextual to be called");
+      }
+
+      JsonToken token = p.getCurrentToken();
+      if (token == JsonToken.START_OBJECT) {
+        token = p.nextToken();
+      } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+        return (LongKeyedMap<?>) ctxt.handleUnexpectedToken(LongKeyedMap.class, p);
+      }
+
+      Builder<Object> builder = new Builder<>(8);
+      for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        String fieldName = p.getCurrentName();
+        long key;
+        try {
+          key = Long.parseLong(fieldName);
+        } catch (NumberFormatException e) {
+          key = (Long) ctxt.handleWeirdKey(Long.class, fieldName, "not a valid long");
+        }
+
+        if (p.nextToken() == JsonToken.VALUE_NULL) {
+          throw JsonMappingException.from(
+            p,
+            "Null values are not allowed in LongKeyedMap (field " + fieldName + ")"
+          );
+        }
+        builder.put(key, valueDeserializer.deserialize(p, ctxt));
+      }
+
+      try {
+        return builder.build();
+      } catch (IllegalArgumentException e) {
+        throw JsonMappingException.from(p, e.getMessage(), e);
+      }
+    }
+  }
+}
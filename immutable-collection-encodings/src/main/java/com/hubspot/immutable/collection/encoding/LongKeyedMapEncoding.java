@@ -0,0 +1,130 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.util.Map;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class LongKeyedMapEncoding<V> {
+
+  @Encoding.Impl
+  private LongKeyedMap<V> field = null;
+
+  @Encoding.Expose
+  LongKeyedMap<V> getLongKeyedMap() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.LongKeyedMap.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  LongKeyedMap<V> withCollection(Map<Long, ? extends V> elements) {
+    return com.hubspot.immutable.collection.encoding.LongKeyedMap.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static <V> LongKeyedMap<V> of(Map<Long, ? extends V> input) {
+    return com.hubspot.immutable.collection.encoding.LongKeyedMap.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder<V> {
+
+    private LongKeyedMap<V> map = null;
+    private LongKeyedMap.Builder<V> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void put(long key, V value) {
+      if (builder != null) {
+        builder.put(key, value);
+      } else if (map != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.LongKeyedMap
+            .<V>builderWithExpectedSize(map.size() + 1)
+            .putAll(map)
+            .put(key, value);
+
+        map = null;
+      } else {
+        builder = com.hubspot.immutable.collection.encoding.LongKeyedMap.builder();
+        builder.put(key, value);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void putEntry(Map.Entry<Long, ? extends V> entry) {
+      if (builder != null) {
+        builder.put(entry);
+      } else if (map != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.LongKeyedMap
+            .<V>builderWithExpectedSize(map.size() + 1)
+            .putAll(map)
+            .put(entry);
+
+        map = null;
+      } else {
+        builder = com.hubspot.immutable.collection.encoding.LongKeyedMap.builder();
+        builder.put(entry);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT_ALL)
+    void putAll(Map<Long, ? extends V> elements) {
+      if (builder != null) {
+        builder.putAll(elements);
+      } else if (map != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.LongKeyedMap
+            .<V>builderWithExpectedSize(map.size() + elements.size())
+            .putAll(map)
+            .putAll(elements);
+
+        map = null;
+      } else {
+        if (
+          elements instanceof com.hubspot.immutable.collection.encoding.LongKeyedMap
+        ) {
+          set(elements);
+        } else {
+          builder =
+            com.hubspot.immutable.collection.encoding.LongKeyedMap.builderWithExpectedSize(
+              elements.size()
+            );
+          builder.putAll(elements);
+        }
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Map<Long, ? extends V> input) {
+      map = com.hubspot.immutable.collection.encoding.LongKeyedMap.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return map != null || builder != null;
+    }
+
+    @Encoding.Build
+    LongKeyedMap<V> build() {
+      if (builder != null) {
+        return builder.build();
+      } else if (map != null) {
+        return map;
+      } else {
+        return com.hubspot.immutable.collection.encoding.LongKeyedMap.of();
+      }
+    }
+  }
+}
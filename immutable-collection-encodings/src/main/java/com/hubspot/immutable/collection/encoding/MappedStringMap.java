@@ -0,0 +1,170 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.collect.Maps;
+import com.hubspot.immutable.collection.encoding.MappedStringMap.Deserializer;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable {@code String} to {@code String} map for large, static
+ * reference data, the map counterpart of {@link MappedStringSet}. Files are
+ * built offline with {@link #write} and memory-mapped with {@link #open}, in
+ * constant time. {@link #get(Object)} binary searches the sorted UTF-8 keys
+ * in the mapped file and only decodes the value it finds.
+ *
+ * Iteration is in UTF-8 byte order of the keys, not insertion order.
+ */
+@JsonDeserialize(using = Deserializer.class)
+public final class MappedStringMap extends AbstractMap<String, String> {
+
+  private static final MappedStringMap EMPTY = copyOf(Collections.emptyMap());
+
+  private final SortedStringTable table;
+
+  private MappedStringMap(SortedStringTable table) {
+    this.table = table;
+  }
+
+  public static MappedStringMap of() {
+    return EMPTY;
+  }
+
+  public static MappedStringMap copyOf(Map<String, String> map) {
+    if (map instanceof MappedStringMap) {
+      return (MappedStringMap) map;
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      SortedStringTable.writeEntries(out, map);
+      return new MappedStringMap(
+        SortedStringTable.read(ByteBuffer.wrap(out.toByteArray()), "heap table")
+      );
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Maps a file written by {@link #write}. The file must not be modified
+   * while it is mapped, and the mapping is only released when the map is
+   * garbage collected; see {@link MappedStringSet#open}.
+   */
+  public static MappedStringMap open(Path file) throws IOException {
+    SortedStringTable table = SortedStringTable.map(file);
+    if (!table.hasValues()) {
+      throw new IOException(file + " has no values, open it as a MappedStringSet");
+    }
+    return new MappedStringMap(table);
+  }
+
+  /**
+   * Writes {@code map}, sorted by key, to {@code file} for {@link #open}.
+   * Meant for offline builds of reference data: the entries are sorted in
+   * memory first.
+   */
+  public static void write(Path file, Map<String, String> map) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      SortedStringTable.writeEntries(out, map);
+    }
+  }
+
+  @Override
+  public int size() {
+    return table.size();
+  }
+
+  @Override
+  public String get(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    int index = table.indexOf((String) key);
+    return index < 0 ? null : table.value(index);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String && table.indexOf((String) key) >= 0;
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    return new AbstractSet<Entry<String, String>>() {
+      @Override
+      public int size() {
+        return table.size();
+      }
+
+      @Override
+      public Iterator<Entry<String, String>> iterator() {
+        return new Iterator<Entry<String, String>>() {
+          private int index = 0;
+
+          @Override
+          public boolean hasNext() {
+            return index < table.size();
+          }
+
+          @Override
+          public Entry<String, String> next() {
+            if (index >= table.size()) {
+              throw new NoSuchElementException();
+            }
+            Entry<String, String> entry = Maps.immutableEntry(
+              table.key(index),
+              table.value(index)
+            );
+            index++;
+            return entry;
+          }
+        };
+      }
+    };
+  }
+
+  public static class Deserializer extends JsonDeserializer<MappedStringMap> {
+
+    @Override
+    public MappedStringMap deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      JsonToken token = p.getCurrentToken();
+      if (token == JsonToken.START_OBJECT) {
+        token = p.nextToken();
+      } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+        return (MappedStringMap) ctxt.handleUnexpectedToken(MappedStringMap.class, p);
+      }
+
+      LinkedHashMap<String, String> entries = new LinkedHashMap<>();
+      for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        String key = p.getCurrentName();
+        if (p.nextToken() != JsonToken.VALUE_STRING) {
+          return (MappedStringMap) ctxt.handleUnexpectedToken(String.class, p);
+        } else if (entries.put(key, p.getText()) != null) {
+          throw JsonMappingException.from(p, "Duplicate key in MappedStringMap: " + key);
+        }
+      }
+      return copyOf(entries);
+    }
+  }
+}
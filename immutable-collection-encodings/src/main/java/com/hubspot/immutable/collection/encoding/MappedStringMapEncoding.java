@@ -0,0 +1,105 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class MappedStringMapEncoding {
+
+  @Encoding.Impl
+  private MappedStringMap field = null;
+
+  @Encoding.Expose
+  MappedStringMap getMappedStringMap() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.MappedStringMap.of();
+    }
+  }
+
+  @Encoding.Expose
+  Map<String, String> getMap() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.MappedStringMap.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  MappedStringMap withCollection(Map<String, String> elements) {
+    return com.hubspot.immutable.collection.encoding.MappedStringMap.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static MappedStringMap of(Map<String, String> input) {
+    return com.hubspot.immutable.collection.encoding.MappedStringMap.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder {
+
+    private MappedStringMap map = null;
+    private ImmutableMap.Builder<String, String> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void put(String key, String value) {
+      if (builder != null) {
+        builder.put(key, value);
+      } else if (map != null) {
+        builder = ImmutableMap.<String, String>builder().putAll(map).put(key, value);
+
+        map = null;
+      } else {
+        builder = ImmutableMap.<String, String>builder().put(key, value);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT_ALL)
+    void putAll(Map<String, String> elements) {
+      if (builder != null) {
+        builder.putAll(elements);
+      } else if (map != null) {
+        builder = ImmutableMap.<String, String>builder().putAll(map).putAll(elements);
+
+        map = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Map<String, String> input) {
+      // a mapped map is kept as is, so its entries never move to the heap
+      map = com.hubspot.immutable.collection.encoding.MappedStringMap.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return map != null || builder != null;
+    }
+
+    @Encoding.Build
+    MappedStringMap build() {
+      if (builder != null) {
+        return com.hubspot.immutable.collection.encoding.MappedStringMap.copyOf(
+          builder.build()
+        );
+      } else if (map != null) {
+        return map;
+      } else {
+        return com.hubspot.immutable.collection.encoding.MappedStringMap.of();
+      }
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.hubspot.immutable.collection.encoding.MappedStringSet.Deserializer;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of strings for large, static reference data such as
+ * blocklists or domain lists. {@link #write} builds a file offline, and
+ * {@link #open} memory-maps it read-only: opening only reads a header, so it
+ * takes the same time for any file size, and the elements live in the page
+ * cache instead of the heap. {@link #contains(Object)} binary searches the
+ * file's sorted UTF-8 elements without decoding them.
+ *
+ * {@link #copyOf} builds the same layout in a heap buffer, for small sets and
+ * for sets read from JSON. Iteration is in UTF-8 byte order, which is code
+ * point order, and decodes every element it returns.
+ *
+ * {@link #hashCode()} has to follow the {@link java.util.Set} contract, so it
+ * decodes every element, but only once per instance; the result is cached.
+ * {@link #equals(Object)} compares two instances by their stored bytes
+ * without decoding, and any other set with one lookup per element of the
+ * other set. Generated immutables holding one use both, so hashing such an
+ * immutable reads the whole file once.
+ */
+@JsonDeserialize(using = Deserializer.class)
+public final class MappedStringSet extends AbstractSet<String> {
+
+  private static final MappedStringSet EMPTY = copyOf(Collections.emptySet());
+
+  private final SortedStringTable table;
+  // racy but idempotent, like String's; 0 until computed
+  private int hashCode = 0;
+
+  private MappedStringSet(SortedStringTable table) {
+    this.table = table;
+  }
+
+  public static MappedStringSet of() {
+    return EMPTY;
+  }
+
+  public static MappedStringSet copyOf(Iterable<? extends String> elements) {
+    if (elements instanceof MappedStringSet) {
+      return (MappedStringSet) elements;
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      SortedStringTable.writeKeys(out, elements);
+      return new MappedStringSet(
+        SortedStringTable.read(ByteBuffer.wrap(out.toByteArray()), "heap table")
+      );
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Maps a file written by {@link #write}. A file written by
+   * {@link MappedStringMap#write} can be opened too, as its key set. The file
+   * must not be modified while it is mapped.
+   *
+   * There is no {@code close()}: the JDK can only release a mapping by
+   * garbage collecting its buffer, which happens some time after the set
+   * becomes unreachable. Open a file once and share the set rather than
+   * reopening it, since every open maps it again. On Windows, a mapped file
+   * can't be deleted or replaced until then.
+   */
+  public static MappedStringSet open(Path file) throws IOException {
+    return new MappedStringSet(SortedStringTable.map(file));
+  }
+
+  /**
+   * Writes {@code elements}, sorted and without duplicates, to {@code file}
+   * for {@link #open}. Meant for offline builds of reference data: the
+   * elements are sorted in memory first.
+   */
+  public static void write(Path file, Iterable<? extends String> elements)
+    throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      SortedStringTable.writeKeys(out, elements);
+    }
+  }
+
+  @Override
+  public int size() {
+    return table.size();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof String && table.indexOf((String) o) >= 0;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = hashCode;
+    if (result == 0) {
+      result = super.hashCode();
+      hashCode = result;
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    } else if (o instanceof MappedStringSet) {
+      return table.hasSameKeys(((MappedStringSet) o).table);
+    } else {
+      return super.equals(o);
+    }
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    return new Iterator<String>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < table.size();
+      }
+
+      @Override
+      public String next() {
+        if (index >= table.size()) {
+          throw new NoSuchElementException();
+        }
+        return table.key(index++);
+      }
+    };
+  }
+
+  public static class Deserializer extends JsonDeserializer<MappedStringSet> {
+
+    @Override
+    public MappedStringSet deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (!p.isExpectedStartArrayToken()) {
+        return (MappedStringSet) ctxt.handleUnexpectedToken(MappedStringSet.class, p);
+      }
+
+      ArrayList<String> elements = new ArrayList<>();
+      JsonToken token;
+      while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.VALUE_STRING) {
+          return (MappedStringSet) ctxt.handleUnexpectedToken(String.class, p);
+        }
+        elements.add(p.getText());
+      }
+      return copyOf(elements);
+    }
+  }
+}
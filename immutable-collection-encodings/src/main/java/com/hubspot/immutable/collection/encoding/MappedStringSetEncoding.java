@@ -0,0 +1,106 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.Set;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class MappedStringSetEncoding {
+
+  @Encoding.Impl
+  private MappedStringSet field = null;
+
+  @Encoding.Expose
+  MappedStringSet getMappedStringSet() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.MappedStringSet.of();
+    }
+  }
+
+  @Encoding.Expose
+  Set<String> getSet() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.MappedStringSet.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  MappedStringSet withCollection(Iterable<? extends String> elements) {
+    return com.hubspot.immutable.collection.encoding.MappedStringSet.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static MappedStringSet of(Collection<? extends String> input) {
+    return com.hubspot.immutable.collection.encoding.MappedStringSet.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder {
+
+    private MappedStringSet set = null;
+    private ImmutableSet.Builder<String> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(String... element) {
+      if (builder != null) {
+        builder.add(element);
+      } else if (set != null) {
+        builder = ImmutableSet.<String>builder().addAll(set).add(element);
+
+        set = null;
+      } else {
+        builder = ImmutableSet.<String>builder().add(element);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<? extends String> elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (set != null) {
+        builder = ImmutableSet.<String>builder().addAll(set).addAll(elements);
+
+        set = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<? extends String> input) {
+      // a mapped set is kept as is, so its elements never move to the heap
+      set = com.hubspot.immutable.collection.encoding.MappedStringSet.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return set != null || builder != null;
+    }
+
+    @Encoding.Build
+    MappedStringSet build() {
+      if (builder != null) {
+        return com.hubspot.immutable.collection.encoding.MappedStringSet.copyOf(
+          builder.build()
+        );
+      } else if (set != null) {
+        return set;
+      } else {
+        return com.hubspot.immutable.collection.encoding.MappedStringSet.of();
+      }
+    }
+  }
+}
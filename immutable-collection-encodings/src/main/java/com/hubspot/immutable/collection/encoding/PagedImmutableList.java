@@ -0,0 +1,202 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.hubspot.immutable.collection.encoding.PagedImmutableList.Deserializer;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list stored in pages of {@value #PAGE_SIZE} references rather
+ * than one backing array, for lists with millions of elements. A single array
+ * that large is a humongous object for G1, allocated straight into old-gen
+ * regions of its own, which fragments the heap and can trigger early mixed or
+ * full collections. Pages stay far below the humongous threshold even with
+ * the smallest (1 MB) G1 regions.
+ *
+ * {@link #get(int)} is two array reads. {@link Builder} appends page by page
+ * and never copies elements it already holds, and the Jackson deserializer
+ * streams elements into a builder instead of reading them into one array.
+ */
+@JsonDeserialize(using = Deserializer.class)
+public final class PagedImmutableList<T> extends AbstractList<T> implements RandomAccess {
+
+  static final int PAGE_SHIFT = 12;
+  static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+  private static final PagedImmutableList<Object> EMPTY = new PagedImmutableList<>(
+    new Object[0][],
+    0
+  );
+
+  // every page but the last is full; the last one is trimmed to size
+  private final Object[][] pages;
+  private final int size;
+
+  private PagedImmutableList(Object[][] pages, int size) {
+    this.pages = pages;
+    this.size = size;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> PagedImmutableList<T> of() {
+    return (PagedImmutableList<T>) EMPTY;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> PagedImmutableList<T> copyOf(Iterable<? extends T> elements) {
+    if (elements instanceof PagedImmutableList) {
+      return (PagedImmutableList<T>) elements;
+    }
+    return PagedImmutableList.<T>builder().addAll(elements).build();
+  }
+
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+    }
+    return (T) pages[index >>> PAGE_SHIFT][index & (PAGE_SIZE - 1)];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  public static final class Builder<T> {
+
+    // full pages are shared with built lists, since they are never written again
+    private Object[][] pages = new Object[4][];
+    private int size = 0;
+
+    private Builder() {}
+
+    public Builder<T> add(T element) {
+      Objects.requireNonNull(element, "element");
+      int offset = size & (PAGE_SIZE - 1);
+      int page = size >>> PAGE_SHIFT;
+      if (offset == 0) {
+        if (page == pages.length) {
+          // only the small array of page references grows, never the pages
+          pages = Arrays.copyOf(pages, page * 2);
+        }
+        pages[page] = new Object[PAGE_SIZE];
+      }
+      pages[page][offset] = element;
+      size++;
+      return this;
+    }
+
+    @SafeVarargs
+    public final Builder<T> add(T... elements) {
+      for (T element : elements) {
+        add(element);
+      }
+      return this;
+    }
+
+    public Builder<T> addAll(Iterable<? extends T> elements) {
+      if (elements instanceof Collection) {
+        long newSize = (long) size + ((Collection<?>) elements).size();
+        int pagesNeeded = (int) ((newSize + PAGE_SIZE - 1) >>> PAGE_SHIFT);
+        if (pagesNeeded > pages.length) {
+          pages = Arrays.copyOf(pages, pagesNeeded);
+        }
+      }
+      for (T element : elements) {
+        add(element);
+      }
+      return this;
+    }
+
+    public PagedImmutableList<T> build() {
+      if (size == 0) {
+        return of();
+      }
+
+      int pageCount = (size + PAGE_SIZE - 1) >>> PAGE_SHIFT;
+      Object[][] result = Arrays.copyOf(pages, pageCount);
+      int lastLength = size - ((pageCount - 1) << PAGE_SHIFT);
+      if (lastLength < PAGE_SIZE) {
+        // the builder keeps appending to its copy of a partial page
+        result[pageCount - 1] = Arrays.copyOf(result[pageCount - 1], lastLength);
+      }
+      return new PagedImmutableList<>(result, size);
+    }
+  }
+
+  public static class Deserializer
+    extends JsonDeserializer<PagedImmutableList<?>>
+    implements ContextualDeserializer {
+
+    private final JsonDeserializer<Object> elementDeserializer;
+
+    public Deserializer() {
+      this(null);
+    }
+
+    private Deserializer(JsonDeserializer<Object> elementDeserializer) {
+      this.elementDeserializer = elementDeserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(
+      DeserializationContext ctxt,
+      BeanProperty property
+    ) throws JsonMappingException {
+      JavaType contextualType = ctxt.getContextualType();
+      if (contextualType == null || contextualType.getContentType() == null) {
+        throw JsonMappingException.from(
+          ctxt.getParser(),
+          "Can not discover element type for: " + contextualType
+        );
+      }
+
+      return new Deserializer(
+        ctxt.findContextualValueDeserializer(contextualType.getContentType(), property)
+      );
+    }
+
+    @Override
+    public PagedImmutableList<?> deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (elementDeserializer == null) {
+        throw JsonMappingException.from(p, "Expected createContextual to be called");
+      } else if (!p.isExpectedStartArrayToken()) {
+        return (PagedImmutableList<?>) ctxt.handleUnexpectedToken(
+          PagedImmutableList.class,
+          p
+        );
+      }
+
+      Builder<Object> builder = new Builder<>();
+      while (p.nextToken() != JsonToken.END_ARRAY) {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+          throw JsonMappingException.from(
+            p,
+            "Null elements are not allowed in PagedImmutableList"
+          );
+        }
+        builder.add(elementDeserializer.deserialize(p, ctxt));
+      }
+      return builder.build();
+    }
+  }
+}
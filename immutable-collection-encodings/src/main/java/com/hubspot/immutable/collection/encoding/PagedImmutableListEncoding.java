@@ -0,0 +1,112 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class PagedImmutableListEncoding<T> {
+
+  @Encoding.Impl
+  private PagedImmutableList<T> field = null;
+
+  @Encoding.Expose
+  PagedImmutableList<T> getPagedImmutableList() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.PagedImmutableList.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  PagedImmutableList<T> withCollectionVarargs(T... elements) {
+    return com.hubspot.immutable.collection.encoding.PagedImmutableList.copyOf(
+      Arrays.asList(elements)
+    );
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  PagedImmutableList<T> withCollection(Iterable<? extends T> elements) {
+    return com.hubspot.immutable.collection.encoding.PagedImmutableList.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static <T> PagedImmutableList<T> of(Collection<? extends T> input) {
+    return com.hubspot.immutable.collection.encoding.PagedImmutableList.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder<T> {
+
+    private PagedImmutableList<T> list = null;
+    private PagedImmutableList.Builder<T> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(T... element) {
+      if (builder != null) {
+        builder.add(element);
+      } else if (list != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.PagedImmutableList
+            .<T>builder()
+            .addAll(list)
+            .add(element);
+
+        list = null;
+      } else {
+        builder =
+          com.hubspot.immutable.collection.encoding.PagedImmutableList
+            .<T>builder()
+            .add(element);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<? extends T> elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (list != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.PagedImmutableList
+            .<T>builder()
+            .addAll(list)
+            .addAll(elements);
+
+        list = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<? extends T> input) {
+      list = com.hubspot.immutable.collection.encoding.PagedImmutableList.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return list != null || builder != null;
+    }
+
+    @Encoding.Build
+    PagedImmutableList<T> build() {
+      if (builder != null) {
+        return builder.build();
+      } else if (list != null) {
+        return list;
+      } else {
+        return com.hubspot.immutable.collection.encoding.PagedImmutableList.of();
+      }
+    }
+  }
+}
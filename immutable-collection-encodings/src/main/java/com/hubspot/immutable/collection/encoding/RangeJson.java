@@ -0,0 +1,279 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.google.common.collect.BoundType;
+import com.google.common.collect.ImmutableRangeMap;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Range;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Jackson support for {@link ImmutableRangeSet} and {@link ImmutableRangeMap},
+ * registered by {@link ImmutableCollectionEncodingModule}.
+ *
+ * A range is written as a four element array in interval notation,
+ * {@code ["[", 1, 5, ")"]} for {@code [1..5)}, with a {@code null} endpoint
+ * for an unbounded side. A range set is an array of its ranges and a range
+ * map an array of its ranges with the value appended,
+ * {@code [["[", 1, 5, ")", "value"]]}. Both are written in range order, which
+ * is canonical, so equal values always serialize the same way.
+ */
+final class RangeJson {
+
+  private RangeJson() {}
+
+  private static void writeRangeFields(
+    Range<?> range,
+    JsonGenerator gen,
+    SerializerProvider provider
+  ) throws IOException {
+    if (range.hasLowerBound()) {
+      gen.writeString(range.lowerBoundType() == BoundType.CLOSED ? "[" : "(");
+      provider.defaultSerializeValue(range.lowerEndpoint(), gen);
+    } else {
+      gen.writeString("(");
+      gen.writeNull();
+    }
+    if (range.hasUpperBound()) {
+      provider.defaultSerializeValue(range.upperEndpoint(), gen);
+      gen.writeString(range.upperBoundType() == BoundType.CLOSED ? "]" : ")");
+    } else {
+      gen.writeNull();
+      gen.writeString(")");
+    }
+  }
+
+  /**
+   * Reads the fields written by {@link #writeRangeFields}, leaving the parser
+   * on the upper bound type.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static Range<?> readRangeFields(
+    JsonParser p,
+    DeserializationContext ctxt,
+    JsonDeserializer<Object> endpointDeserializer
+  ) throws IOException {
+    if (!p.isExpectedStartArrayToken()) {
+      return (Range<?>) ctxt.handleUnexpectedToken(Range.class, p);
+    }
+
+    BoundType lowerType = readBoundType(p, "[", "(");
+    Comparable lower = readEndpoint(p, ctxt, endpointDeserializer);
+    Comparable upper = readEndpoint(p, ctxt, endpointDeserializer);
+    BoundType upperType = readBoundType(p, "]", ")");
+
+    if (lower == null && upper == null) {
+      return Range.all();
+    } else if (lower == null) {
+      return Range.upTo(upper, upperType);
+    } else if (upper == null) {
+      return Range.downTo(lower, lowerType);
+    }
+    try {
+      return Range.range(lower, lowerType, upper, upperType);
+    } catch (IllegalArgumentException e) {
+      throw JsonMappingException.from(p, e.getMessage(), e);
+    }
+  }
+
+  private static BoundType readBoundType(JsonParser p, String closed, String open)
+    throws IOException {
+    String bound = p.nextToken() == JsonToken.VALUE_STRING ? p.getText() : null;
+    if (closed.equals(bound)) {
+      return BoundType.CLOSED;
+    } else if (open.equals(bound)) {
+      return BoundType.OPEN;
+    }
+    throw JsonMappingException.from(
+      p,
+      "Expected \"" + closed + "\" or \"" + open + "\" as a range bound, got " + bound
+    );
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static Comparable readEndpoint(
+    JsonParser p,
+    DeserializationContext ctxt,
+    JsonDeserializer<Object> endpointDeserializer
+  ) throws IOException {
+    if (p.nextToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    return (Comparable) endpointDeserializer.deserialize(p, ctxt);
+  }
+
+  private static JsonDeserializer<Object> findDeserializer(
+    DeserializationContext ctxt,
+    JavaType type,
+    BeanProperty property
+  ) throws JsonMappingException {
+    if (type == null || type.isJavaLangObject()) {
+      throw JsonMappingException.from(
+        ctxt.getParser(),
+        "Can not discover range endpoint or value type"
+      );
+    }
+    return ctxt.findContextualValueDeserializer(type, property);
+  }
+
+  static class RangeSetSerializer extends JsonSerializer<ImmutableRangeSet<?>> {
+
+    @Override
+    public void serialize(
+      ImmutableRangeSet<?> value,
+      JsonGenerator gen,
+      SerializerProvider provider
+    ) throws IOException {
+      gen.writeStartArray();
+      for (Range<?> range : value.asRanges()) {
+        gen.writeStartArray();
+        writeRangeFields(range, gen, provider);
+        gen.writeEndArray();
+      }
+      gen.writeEndArray();
+    }
+  }
+
+  static class RangeMapSerializer extends JsonSerializer<ImmutableRangeMap<?, ?>> {
+
+    @Override
+    public void serialize(
+      ImmutableRangeMap<?, ?> value,
+      JsonGenerator gen,
+      SerializerProvider provider
+    ) throws IOException {
+      gen.writeStartArray();
+      for (Map.Entry<? extends Range<?>, ?> entry : value.asMapOfRanges().entrySet()) {
+        gen.writeStartArray();
+        writeRangeFields(entry.getKey(), gen, provider);
+        provider.defaultSerializeValue(entry.getValue(), gen);
+        gen.writeEndArray();
+      }
+      gen.writeEndArray();
+    }
+  }
+
+  static class RangeSetDeserializer
+    extends JsonDeserializer<ImmutableRangeSet<?>>
+    implements ContextualDeserializer {
+
+    private final JavaType type;
+    private final JsonDeserializer<Object> endpointDeserializer;
+
+    RangeSetDeserializer(JavaType type, JsonDeserializer<Object> endpointDeserializer) {
+      this.type = type;
+      this.endpointDeserializer = endpointDeserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(
+      DeserializationContext ctxt,
+      BeanProperty property
+    ) throws JsonMappingException {
+      return new RangeSetDeserializer(
+        type,
+        findDeserializer(ctxt, type.containedType(0), property)
+      );
+    }
+
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public ImmutableRangeSet<?> deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (endpointDeserializer == null) {
+        throw JsonMappingException.from(p, "Expected createContextual to be called");
+      } else if (!p.isExpectedStartArrayToken()) {
+        return (ImmutableRangeSet<?>) ctxt.handleUnexpectedToken(
+          ImmutableRangeSet.class,
+          p
+        );
+      }
+
+      ImmutableRangeSet.Builder builder = ImmutableRangeSet.builder();
+      while (p.nextToken() != JsonToken.END_ARRAY) {
+        builder.add(readRangeFields(p, ctxt, endpointDeserializer));
+        if (p.nextToken() != JsonToken.END_ARRAY) {
+          return (ImmutableRangeSet<?>) ctxt.handleUnexpectedToken(Range.class, p);
+        }
+      }
+      try {
+        return builder.build();
+      } catch (IllegalArgumentException e) {
+        throw JsonMappingException.from(p, e.getMessage(), e);
+      }
+    }
+  }
+
+  static class RangeMapDeserializer
+    extends JsonDeserializer<ImmutableRangeMap<?, ?>>
+    implements ContextualDeserializer {
+
+    private final JavaType type;
+    private final JsonDeserializer<Object> endpointDeserializer;
+    private final JsonDeserializer<Object> valueDeserializer;
+
+    RangeMapDeserializer(
+      JavaType type,
+      JsonDeserializer<Object> endpointDeserializer,
+      JsonDeserializer<Object> valueDeserializer
+    ) {
+      this.type = type;
+      this.endpointDeserializer = endpointDeserializer;
+      this.valueDeserializer = valueDeserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(
+      DeserializationContext ctxt,
+      BeanProperty property
+    ) throws JsonMappingException {
+      return new RangeMapDeserializer(
+        type,
+        findDeserializer(ctxt, type.containedType(0), property),
+        findDeserializer(ctxt, type.containedType(1), property)
+      );
+    }
+
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public ImmutableRangeMap<?, ?> deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (endpointDeserializer == null) {
+        throw JsonMappingException.from(p, "Expected createContextual to be called");
+      } else if (!p.isExpectedStartArrayToken()) {
+        return (ImmutableRangeMap<?, ?>) ctxt.handleUnexpectedToken(
+          ImmutableRangeMap.class,
+          p
+        );
+      }
+
+      ImmutableRangeMap.Builder builder = ImmutableRangeMap.builder();
+      while (p.nextToken() != JsonToken.END_ARRAY) {
+        Range<?> range = readRangeFields(p, ctxt, endpointDeserializer);
+        if (p.nextToken() == JsonToken.VALUE_NULL) {
+          throw JsonMappingException.from(p, "Null values are not allowed in RangeMap");
+        }
+        builder.put(range, valueDeserializer.deserialize(p, ctxt));
+        if (p.nextToken() != JsonToken.END_ARRAY) {
+          return (ImmutableRangeMap<?, ?>) ctxt.handleUnexpectedToken(Range.class, p);
+        }
+      }
+      try {
+        return builder.build();
+      } catch (IllegalArgumentException e) {
+        throw JsonMappingException.from(p, e.getMessage(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,315 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.hubspot.immutable.collection.encoding.RoaringIntSet.Deserializer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * An immutable set of ints backed by a {@link RoaringBitmap}. Dense ID sets
+ * cost a few bits per element instead of a boxed {@link Integer} and a hash
+ * table slot each.
+ *
+ * Prefer {@link #contains(int)} and the bulk {@link #and}, {@link #or} and
+ * {@link #andNot} operations over the {@link java.util.Set} view, which boxes
+ * every element it touches. Iteration is in ascending unsigned order.
+ *
+ * Deserializes from either a JSON array of ints or a base64 string holding the
+ * portable Roaring serialization. Instances serialize as a plain array unless
+ * the property is annotated with {@code @JsonSerialize(using =
+ * RoaringIntSet.CompactSerializer.class)}.
+ *
+ * Requires {@code org.roaringbitmap:RoaringBitmap} on the classpath, which this
+ * module only declares as an optional dependency.
+ */
+@JsonDeserialize(using = Deserializer.class)
+public final class RoaringIntSet extends AbstractSet<Integer> {
+
+  private static final RoaringIntSet EMPTY = new RoaringIntSet(new RoaringBitmap());
+
+  private final RoaringBitmap bitmap;
+  private int hash;
+
+  private RoaringIntSet(RoaringBitmap bitmap) {
+    this.bitmap = bitmap;
+  }
+
+  public static RoaringIntSet of() {
+    return EMPTY;
+  }
+
+  public static RoaringIntSet of(int... elements) {
+    return builder().add(elements).build();
+  }
+
+  public static RoaringIntSet copyOf(Iterable<? extends Integer> elements) {
+    if (elements instanceof RoaringIntSet) {
+      return (RoaringIntSet) elements;
+    }
+    return builder().addAll(elements).build();
+  }
+
+  /**
+   * Copies {@code bitmap}, so later changes to it are not visible through the
+   * returned set.
+   */
+  public static RoaringIntSet copyOf(RoaringBitmap bitmap) {
+    return builder().addAll(bitmap).build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public int size() {
+    return bitmap.getCardinality();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return bitmap.isEmpty();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Integer && bitmap.contains((Integer) o);
+  }
+
+  public boolean contains(int element) {
+    return bitmap.contains(element);
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    PeekableIntIterator iterator = bitmap.getIntIterator();
+    return new Iterator<Integer>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public Integer next() {
+        if (!iterator.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return iterator.next();
+      }
+    };
+  }
+
+  /**
+   * The members in iteration order, ascending unsigned, as a sized stream.
+   * It only reports {@link Spliterator#SORTED} when there are no negative
+   * members, since those come last.
+   */
+  public IntStream intStream() {
+    PeekableIntIterator iterator = bitmap.getIntIterator();
+    PrimitiveIterator.OfInt ints = new PrimitiveIterator.OfInt() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public int nextInt() {
+        if (!iterator.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return iterator.next();
+      }
+    };
+    int characteristics =
+      Spliterator.ORDERED |
+      Spliterator.DISTINCT |
+      Spliterator.NONNULL |
+      Spliterator.IMMUTABLE;
+    if (bitmap.isEmpty() || bitmap.last() >= 0) {
+      characteristics |= Spliterator.SORTED;
+    }
+    return StreamSupport.intStream(
+      Spliterators.spliterator(ints, bitmap.getLongCardinality(), characteristics),
+      false
+    );
+  }
+
+  public RoaringIntSet and(RoaringIntSet other) {
+    return wrap(RoaringBitmap.and(bitmap, other.bitmap));
+  }
+
+  public RoaringIntSet or(RoaringIntSet other) {
+    return wrap(RoaringBitmap.or(bitmap, other.bitmap));
+  }
+
+  public RoaringIntSet andNot(RoaringIntSet other) {
+    return wrap(RoaringBitmap.andNot(bitmap, other.bitmap));
+  }
+
+  /**
+   * Returns a mutable copy of the backing bitmap.
+   */
+  public RoaringBitmap toRoaringBitmap() {
+    return bitmap.clone();
+  }
+
+  public int serializedSizeInBytes() {
+    return bitmap.serializedSizeInBytes();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    } else if (o instanceof RoaringIntSet) {
+      return bitmap.equals(((RoaringIntSet) o).bitmap);
+    } else {
+      return super.equals(o);
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    // same value as AbstractSet#hashCode, without boxing
+    int result = hash;
+    if (result == 0) {
+      PeekableIntIterator iterator = bitmap.getIntIterator();
+      while (iterator.hasNext()) {
+        result += iterator.next();
+      }
+      hash = result;
+    }
+    return result;
+  }
+
+  private static RoaringIntSet wrap(RoaringBitmap bitmap) {
+    if (bitmap.isEmpty()) {
+      return EMPTY;
+    }
+    bitmap.runOptimize();
+    return new RoaringIntSet(bitmap);
+  }
+
+  public static final class Builder {
+
+    private RoaringBitmap bitmap = new RoaringBitmap();
+    // set once build() has handed the bitmap to a set, which must not see later adds
+    private boolean shared = false;
+
+    private Builder() {}
+
+    public Builder add(int element) {
+      bitmap().add(element);
+      return this;
+    }
+
+    public Builder add(int... elements) {
+      bitmap().add(elements);
+      return this;
+    }
+
+    public Builder addAll(Iterable<? extends Integer> elements) {
+      if (elements instanceof RoaringIntSet) {
+        return addAll(((RoaringIntSet) elements).bitmap);
+      }
+      for (Integer element : elements) {
+        bitmap().add(Objects.requireNonNull(element, "element").intValue());
+      }
+      return this;
+    }
+
+    public Builder addAll(IntStream elements) {
+      elements.forEachOrdered(bitmap()::add);
+      return this;
+    }
+
+    public Builder addAll(RoaringBitmap elements) {
+      bitmap = RoaringBitmap.or(bitmap, elements);
+      shared = false;
+      return this;
+    }
+
+    public RoaringIntSet build() {
+      shared = true;
+      return wrap(bitmap);
+    }
+
+    private RoaringBitmap bitmap() {
+      if (shared) {
+        bitmap = bitmap.clone();
+        shared = false;
+      }
+      return bitmap;
+    }
+  }
+
+  /**
+   * Writes the set as a base64 string of the portable Roaring serialization
+   * instead of a JSON array.
+   */
+  public static class CompactSerializer extends JsonSerializer<RoaringIntSet> {
+
+    @Override
+    public void serialize(
+      RoaringIntSet value,
+      JsonGenerator gen,
+      SerializerProvider serializers
+    ) throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+        value.serializedSizeInBytes()
+      );
+      value.bitmap.serialize(new DataOutputStream(bytes));
+      gen.writeBinary(bytes.toByteArray());
+    }
+  }
+
+  public static class Deserializer extends JsonDeserializer<RoaringIntSet> {
+
+    @Override
+    public RoaringIntSet deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (
+        p.hasToken(JsonToken.VALUE_STRING) || p.hasToken(JsonToken.VALUE_EMBEDDED_OBJECT)
+      ) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.deserialize(
+          new DataInputStream(new ByteArrayInputStream(p.getBinaryValue()))
+        );
+        return wrap(bitmap);
+      } else if (!p.isExpectedStartArrayToken()) {
+        return (RoaringIntSet) ctxt.handleUnexpectedToken(RoaringIntSet.class, p);
+      }
+
+      Builder builder = new Builder();
+      JsonToken token;
+      while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.VALUE_NUMBER_INT) {
+          return (RoaringIntSet) ctxt.handleUnexpectedToken(Integer.class, p);
+        }
+        builder.add(p.getIntValue());
+      }
+      return builder.build();
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.util.Collection;
+import java.util.stream.IntStream;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class RoaringIntSetEncoding {
+
+  @Encoding.Impl
+  private RoaringIntSet field = null;
+
+  @Encoding.Expose
+  RoaringIntSet getRoaringIntSet() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.RoaringIntSet.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  RoaringIntSet withCollectionVarargs(int... elements) {
+    return com.hubspot.immutable.collection.encoding.RoaringIntSet.of(elements);
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  RoaringIntSet withCollection(Iterable<Integer> elements) {
+    return com.hubspot.immutable.collection.encoding.RoaringIntSet.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static RoaringIntSet of(Collection<Integer> input) {
+    return com.hubspot.immutable.collection.encoding.RoaringIntSet.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder {
+
+    private RoaringIntSet set = null;
+    private RoaringIntSet.Builder builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(int... element) {
+      if (builder != null) {
+        builder.add(element);
+      } else if (set != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringIntSet
+            .builder()
+            .addAll(set)
+            .add(element);
+
+        set = null;
+      } else {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringIntSet.builder().add(element);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<Integer> elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (set != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringIntSet
+            .builder()
+            .addAll(set)
+            .addAll(elements);
+
+        set = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllStream(IntStream elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (set != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringIntSet
+            .builder()
+            .addAll(set)
+            .addAll(elements);
+
+        set = null;
+      } else {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringIntSet
+            .builder()
+            .addAll(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<Integer> input) {
+      set = com.hubspot.immutable.collection.encoding.RoaringIntSet.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return set != null || builder != null;
+    }
+
+    @Encoding.Build
+    RoaringIntSet build() {
+      if (builder != null) {
+        return builder.build();
+      } else if (set != null) {
+        return set;
+      } else {
+        return com.hubspot.immutable.collection.encoding.RoaringIntSet.of();
+      }
+    }
+  }
+}
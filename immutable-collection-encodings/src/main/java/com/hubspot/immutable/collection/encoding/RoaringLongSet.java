@@ -0,0 +1,288 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.primitives.Ints;
+import com.hubspot.immutable.collection.encoding.RoaringLongSet.Deserializer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.LongStream;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+/**
+ * The {@code long} counterpart of {@link RoaringIntSet}, backed by a
+ * {@link Roaring64NavigableMap}.
+ *
+ * The compact JSON form is the base64 encoded
+ * {@link Roaring64NavigableMap#serialize(java.io.DataOutput)} output, which is
+ * specific to the Java RoaringBitmap library.
+ */
+@JsonDeserialize(using = Deserializer.class)
+public final class RoaringLongSet extends AbstractSet<Long> {
+
+  private static final RoaringLongSet EMPTY = new RoaringLongSet(
+    new Roaring64NavigableMap()
+  );
+
+  private final Roaring64NavigableMap bitmap;
+  private int hash;
+
+  private RoaringLongSet(Roaring64NavigableMap bitmap) {
+    this.bitmap = bitmap;
+  }
+
+  public static RoaringLongSet of() {
+    return EMPTY;
+  }
+
+  public static RoaringLongSet of(long... elements) {
+    return builder().add(elements).build();
+  }
+
+  public static RoaringLongSet copyOf(Iterable<? extends Long> elements) {
+    if (elements instanceof RoaringLongSet) {
+      return (RoaringLongSet) elements;
+    }
+    return builder().addAll(elements).build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public int size() {
+    return Ints.saturatedCast(bitmap.getLongCardinality());
+  }
+
+  public long longSize() {
+    return bitmap.getLongCardinality();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return bitmap.isEmpty();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Long && bitmap.contains((Long) o);
+  }
+
+  public boolean contains(long element) {
+    return bitmap.contains(element);
+  }
+
+  @Override
+  public Iterator<Long> iterator() {
+    LongIterator iterator = bitmap.getLongIterator();
+    return new Iterator<Long>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public Long next() {
+        if (!iterator.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return iterator.next();
+      }
+    };
+  }
+
+  public LongStream longStream() {
+    LongIterator iterator = bitmap.getLongIterator();
+    return LongStream.generate(iterator::next).limit(bitmap.getLongCardinality());
+  }
+
+  public RoaringLongSet and(RoaringLongSet other) {
+    Roaring64NavigableMap result = copy(bitmap);
+    result.and(other.bitmap);
+    return wrap(result);
+  }
+
+  public RoaringLongSet or(RoaringLongSet other) {
+    Roaring64NavigableMap result = copy(bitmap);
+    result.or(other.bitmap);
+    return wrap(result);
+  }
+
+  public RoaringLongSet andNot(RoaringLongSet other) {
+    Roaring64NavigableMap result = copy(bitmap);
+    result.andNot(other.bitmap);
+    return wrap(result);
+  }
+
+  /**
+   * Returns a mutable copy of the backing bitmap.
+   */
+  public Roaring64NavigableMap toRoaring64NavigableMap() {
+    return copy(bitmap);
+  }
+
+  public long serializedSizeInBytes() {
+    return bitmap.serializedSizeInBytes();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    } else if (o instanceof RoaringLongSet) {
+      RoaringLongSet that = (RoaringLongSet) o;
+      if (longSize() != that.longSize()) {
+        return false;
+      }
+      LongIterator iterator = bitmap.getLongIterator();
+      while (iterator.hasNext()) {
+        if (!that.bitmap.contains(iterator.next())) {
+          return false;
+        }
+      }
+      return true;
+    } else {
+      return super.equals(o);
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    // same value as AbstractSet#hashCode, without boxing
+    int result = hash;
+    if (result == 0) {
+      LongIterator iterator = bitmap.getLongIterator();
+      while (iterator.hasNext()) {
+        result += Long.hashCode(iterator.next());
+      }
+      hash = result;
+    }
+    return result;
+  }
+
+  private static Roaring64NavigableMap copy(Roaring64NavigableMap bitmap) {
+    Roaring64NavigableMap copy = new Roaring64NavigableMap();
+    copy.or(bitmap);
+    return copy;
+  }
+
+  private static RoaringLongSet wrap(Roaring64NavigableMap bitmap) {
+    if (bitmap.isEmpty()) {
+      return EMPTY;
+    }
+    bitmap.runOptimize();
+    return new RoaringLongSet(bitmap);
+  }
+
+  public static final class Builder {
+
+    private Roaring64NavigableMap bitmap = new Roaring64NavigableMap();
+    // set once build() has handed the bitmap to a set, which must not see later adds
+    private boolean shared = false;
+
+    private Builder() {}
+
+    public Builder add(long element) {
+      bitmap().addLong(element);
+      return this;
+    }
+
+    public Builder add(long... elements) {
+      bitmap().add(elements);
+      return this;
+    }
+
+    public Builder addAll(Iterable<? extends Long> elements) {
+      if (elements instanceof RoaringLongSet) {
+        bitmap().or(((RoaringLongSet) elements).bitmap);
+        return this;
+      }
+      for (Long element : elements) {
+        bitmap().addLong(Objects.requireNonNull(element, "element").longValue());
+      }
+      return this;
+    }
+
+    public Builder addAll(LongStream elements) {
+      elements.forEachOrdered(bitmap()::addLong);
+      return this;
+    }
+
+    public RoaringLongSet build() {
+      shared = true;
+      return wrap(bitmap);
+    }
+
+    private Roaring64NavigableMap bitmap() {
+      if (shared) {
+        bitmap = copy(bitmap);
+        shared = false;
+      }
+      return bitmap;
+    }
+  }
+
+  /**
+   * Writes the set as a base64 string of its Roaring serialization instead of
+   * a JSON array.
+   */
+  public static class CompactSerializer extends JsonSerializer<RoaringLongSet> {
+
+    @Override
+    public void serialize(
+      RoaringLongSet value,
+      JsonGenerator gen,
+      SerializerProvider serializers
+    ) throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+        Ints.saturatedCast(value.serializedSizeInBytes())
+      );
+      value.bitmap.serialize(new DataOutputStream(bytes));
+      gen.writeBinary(bytes.toByteArray());
+    }
+  }
+
+  public static class Deserializer extends JsonDeserializer<RoaringLongSet> {
+
+    @Override
+    public RoaringLongSet deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (
+        p.hasToken(JsonToken.VALUE_STRING) || p.hasToken(JsonToken.VALUE_EMBEDDED_OBJECT)
+      ) {
+        Roaring64NavigableMap bitmap = new Roaring64NavigableMap();
+        bitmap.deserialize(
+          new DataInputStream(new ByteArrayInputStream(p.getBinaryValue()))
+        );
+        return wrap(bitmap);
+      } else if (!p.isExpectedStartArrayToken()) {
+        return (RoaringLongSet) ctxt.handleUnexpectedToken(RoaringLongSet.class, p);
+      }
+
+      Builder builder = new Builder();
+      JsonToken token;
+      while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.VALUE_NUMBER_INT) {
+          return (RoaringLongSet) ctxt.handleUnexpectedToken(Long.class, p);
+        }
+        builder.add(p.getLongValue());
+      }
+      return builder.build();
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.util.Collection;
+import java.util.stream.LongStream;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class RoaringLongSetEncoding {
+
+  @Encoding.Impl
+  private RoaringLongSet field = null;
+
+  @Encoding.Expose
+  RoaringLongSet getRoaringLongSet() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.RoaringLongSet.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  RoaringLongSet withCollectionVarargs(long... elements) {
+    return com.hubspot.immutable.collection.encoding.RoaringLongSet.of(elements);
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  RoaringLongSet withCollection(Iterable<Long> elements) {
+    return com.hubspot.immutable.collection.encoding.RoaringLongSet.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static RoaringLongSet of(Collection<Long> input) {
+    return com.hubspot.immutable.collection.encoding.RoaringLongSet.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder {
+
+    private RoaringLongSet set = null;
+    private RoaringLongSet.Builder builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(long... element) {
+      if (builder != null) {
+        builder.add(element);
+      } else if (set != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringLongSet
+            .builder()
+            .addAll(set)
+            .add(element);
+
+        set = null;
+      } else {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringLongSet.builder().add(element);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<Long> elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (set != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringLongSet
+            .builder()
+            .addAll(set)
+            .addAll(elements);
+
+        set = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAllStream(LongStream elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (set != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringLongSet
+            .builder()
+            .addAll(set)
+            .addAll(elements);
+
+        set = null;
+      } else {
+        builder =
+          com.hubspot.immutable.collection.encoding.RoaringLongSet
+            .builder()
+            .addAll(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<Long> input) {
+      set = com.hubspot.immutable.collection.encoding.RoaringLongSet.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return set != null || builder != null;
+    }
+
+    @Encoding.Build
+    RoaringLongSet build() {
+      if (builder != null) {
+        return builder.build();
+      } else if (set != null) {
+        return set;
+      } else {
+        return com.hubspot.immutable.collection.encoding.RoaringLongSet.of();
+      }
+    }
+  }
+}
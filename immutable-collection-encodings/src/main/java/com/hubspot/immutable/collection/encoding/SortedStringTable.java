@@ -0,0 +1,278 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.google.common.primitives.UnsignedBytes;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The storage behind {@link MappedStringSet} and {@link MappedStringMap}:
+ * UTF-8 keys, and optionally values, sorted by key bytes and found by binary
+ * search. The layout, all big-endian, is
+ *
+ * <pre>
+ *   int magic, int version, int flags, int size
+ *   int[size + 1] key offsets
+ *   int[size + 1] value offsets, if flags has HAS_VALUES
+ *   byte[] keys, then values, at those offsets from the end of the offset tables
+ * </pre>
+ *
+ * Opening a table only reads its header, so the cost doesn't grow with its
+ * size. Lookups only use absolute reads, so a table is safe to share between
+ * threads.
+ */
+final class SortedStringTable {
+
+  static final int MAGIC = 0x48535354; // "HSST"
+  static final int VERSION = 1;
+  static final int HAS_VALUES = 1;
+
+  private static final int HEADER_SIZE = 16;
+  private static final Comparator<byte[]> BYTE_ORDER =
+    UnsignedBytes.lexicographicalComparator();
+
+  private final ByteBuffer buffer;
+  private final int size;
+  private final int keyOffsets;
+  private final int valueOffsets;
+  private final int data;
+
+  private SortedStringTable(ByteBuffer buffer, int size, boolean hasValues) {
+    this.buffer = buffer;
+    this.size = size;
+    this.keyOffsets = HEADER_SIZE;
+    this.valueOffsets = hasValues ? keyOffsets + (size + 1) * 4 : -1;
+    this.data = keyOffsets + (size + 1) * (hasValues ? 8 : 4);
+  }
+
+  /**
+   * Maps {@code file} read-only. The mapping stays valid after this returns,
+   * until the table is garbage collected.
+   */
+  static SortedStringTable map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException(file + " is larger than 2 GB, which can't be mapped");
+      }
+      return read(channel.map(MapMode.READ_ONLY, 0, channel.size()), file.toString());
+    }
+  }
+
+  static SortedStringTable read(ByteBuffer buffer, String source) throws IOException {
+    if (
+      buffer.capacity() < HEADER_SIZE ||
+      buffer.getInt(0) != MAGIC ||
+      buffer.getInt(4) != VERSION
+    ) {
+      throw new IOException(source + " is not a sorted string table");
+    }
+
+    int flags = buffer.getInt(8);
+    int size = buffer.getInt(12);
+    long tables = (size + 1L) * ((flags & HAS_VALUES) != 0 ? 8 : 4);
+    if (size < 0 || HEADER_SIZE + tables > buffer.capacity()) {
+      throw new IOException(source + " is truncated");
+    }
+
+    SortedStringTable table = new SortedStringTable(
+      buffer,
+      size,
+      (flags & HAS_VALUES) != 0
+    );
+    int end = table.hasValues()
+      ? table.offset(table.valueOffsets, size)
+      : table.offset(table.keyOffsets, size);
+    if ((long) table.data + end > buffer.capacity()) {
+      throw new IOException(source + " is truncated");
+    }
+    return table;
+  }
+
+  static void writeKeys(OutputStream out, Iterable<? extends String> keys)
+    throws IOException {
+    ArrayList<byte[]> encoded = new ArrayList<>();
+    for (String key : keys) {
+      encoded.add(Objects.requireNonNull(key, "key").getBytes(StandardCharsets.UTF_8));
+    }
+    byte[][] sorted = encoded.toArray(new byte[0][]);
+    Arrays.sort(sorted, BYTE_ORDER);
+
+    int unique = 0;
+    for (byte[] key : sorted) {
+      if (unique == 0 || !Arrays.equals(sorted[unique - 1], key)) {
+        sorted[unique++] = key;
+      }
+    }
+    write(out, Arrays.copyOf(sorted, unique), null);
+  }
+
+  static void writeEntries(OutputStream out, Map<String, String> entries)
+    throws IOException {
+    byte[][][] sorted = new byte[entries.size()][][];
+    int index = 0;
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      sorted[index++] =
+        new byte[][] {
+          Objects.requireNonNull(entry.getKey(), "key").getBytes(StandardCharsets.UTF_8),
+          Objects
+            .requireNonNull(entry.getValue(), "value")
+            .getBytes(StandardCharsets.UTF_8),
+        };
+    }
+    Arrays.sort(sorted, (a, b) -> BYTE_ORDER.compare(a[0], b[0]));
+
+    byte[][] keys = new byte[sorted.length][];
+    byte[][] values = new byte[sorted.length][];
+    for (int i = 0; i < sorted.length; i++) {
+      if (i > 0 && Arrays.equals(sorted[i - 1][0], sorted[i][0])) {
+        // only possible for keys with unpaired surrogates, which UTF-8 can't encode
+        throw new IllegalArgumentException(
+          "Multiple entries with same UTF-8 key: " +
+          new String(sorted[i][0], StandardCharsets.UTF_8)
+        );
+      }
+      keys[i] = sorted[i][0];
+      values[i] = sorted[i][1];
+    }
+    write(out, keys, values);
+  }
+
+  private static void write(OutputStream stream, byte[][] keys, byte[][] values)
+    throws IOException {
+    long tables = (keys.length + 1L) * (values != null ? 8 : 4);
+    long dataSize = 0;
+    for (int i = 0; i < keys.length; i++) {
+      dataSize += keys[i].length + (values != null ? values[i].length : 0);
+    }
+    if (HEADER_SIZE + tables + dataSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Table would be larger than 2 GB");
+    }
+
+    DataOutputStream out = new DataOutputStream(stream);
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(values != null ? HAS_VALUES : 0);
+    out.writeInt(keys.length);
+
+    int offset = 0;
+    for (byte[] key : keys) {
+      out.writeInt(offset);
+      offset += key.length;
+    }
+    out.writeInt(offset);
+    if (values != null) {
+      for (byte[] value : values) {
+        out.writeInt(offset);
+        offset += value.length;
+      }
+      out.writeInt(offset);
+    }
+
+    for (byte[] key : keys) {
+      out.write(key);
+    }
+    if (values != null) {
+      for (byte[] value : values) {
+        out.write(value);
+      }
+    }
+    out.flush();
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean hasValues() {
+    return valueOffsets >= 0;
+  }
+
+  /**
+   * Returns the index of {@code key}, or -1 if it isn't in the table.
+   */
+  int indexOf(String key) {
+    byte[] target = key.getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int comparison = compareKey(mid, target);
+      if (comparison == 0) {
+        return mid;
+      } else if (comparison < 0) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Whether {@code other} holds the same keys, comparing their stored bytes
+   * and offsets without decoding any of them.
+   */
+  boolean hasSameKeys(SortedStringTable other) {
+    int offsetsLength = (size + 1) * 4;
+    return (
+      size == other.size &&
+      region(keyOffsets, offsetsLength).equals(
+        other.region(other.keyOffsets, offsetsLength)
+      ) &&
+      region(data, offset(keyOffsets, size)).equals(
+        other.region(other.data, other.offset(other.keyOffsets, size))
+      )
+    );
+  }
+
+  String key(int index) {
+    return decode(offset(keyOffsets, index), offset(keyOffsets, index + 1));
+  }
+
+  String value(int index) {
+    return decode(offset(valueOffsets, index), offset(valueOffsets, index + 1));
+  }
+
+  private int compareKey(int index, byte[] target) {
+    int start = data + offset(keyOffsets, index);
+    int length = data + offset(keyOffsets, index + 1) - start;
+    int common = Math.min(length, target.length);
+    for (int i = 0; i < common; i++) {
+      int comparison = UnsignedBytes.compare(buffer.get(start + i), target[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return length - target.length;
+  }
+
+  private int offset(int table, int index) {
+    return buffer.getInt(table + index * 4);
+  }
+
+  private ByteBuffer region(int start, int length) {
+    ByteBuffer view = buffer.duplicate();
+    view.limit(start + length);
+    view.position(start);
+    return view;
+  }
+
+  private String decode(int start, int end) {
+    byte[] bytes = new byte[end - start];
+    ByteBuffer view = buffer.duplicate();
+    view.position(data + start);
+    view.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
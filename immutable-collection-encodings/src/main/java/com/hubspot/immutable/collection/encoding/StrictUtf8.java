@@ -0,0 +1,57 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 encoding for {@link Utf8StringList} and {@link FrontCodedStringSet}.
+ * {@link String#getBytes} silently replaces unpaired surrogates with
+ * {@code '?'}, which would store a different string than the one added, and
+ * could make distinct strings equal. Elements with unpaired surrogates are
+ * rejected instead, and can never be contained.
+ */
+final class StrictUtf8 {
+
+  private StrictUtf8() {}
+
+  /**
+   * @throws IllegalArgumentException if {@code element} has an unpaired
+   *     surrogate, which UTF-8 can't represent
+   */
+  static byte[] encode(String element) {
+    int unpaired = unpairedSurrogate(element);
+    if (unpaired >= 0) {
+      throw new IllegalArgumentException(
+        "Unpaired surrogate at index " + unpaired + " can't be encoded as UTF-8"
+      );
+    }
+    return element.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Encodes a string being looked up, or returns {@code null} if it has an
+   * unpaired surrogate and so can't be an element.
+   */
+  static byte[] encodeForLookup(String value) {
+    return unpairedSurrogate(value) >= 0
+      ? null
+      : value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static int unpairedSurrogate(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (Character.isSurrogate(c)) {
+        if (
+          Character.isHighSurrogate(c) &&
+          i + 1 < value.length() &&
+          Character.isLowSurrogate(value.charAt(i + 1))
+        ) {
+          i++;
+        } else {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,238 @@
+package com.hubspot.immutable.collection.encoding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Preconditions;
+import com.hubspot.immutable.collection.encoding.Utf8StringList.Deserializer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of strings stored as one UTF-8 {@code byte[]} plus an
+ * {@code int[]} offset table, instead of one {@link String} (and its backing
+ * array) per element.
+ *
+ * Elements are decoded on every {@link #get(int)}, so this trades CPU on read
+ * for footprint; it suits large vocabularies that are held for a long time and
+ * read sparsely. {@link #contains(Object)} and {@link #indexOf(Object)} compare
+ * encoded bytes and do not decode elements.
+ *
+ * Strings with unpaired surrogates have no UTF-8 encoding and are rejected
+ * with an {@link IllegalArgumentException} when added.
+ */
+@JsonDeserialize(using = Deserializer.class)
+public final class Utf8StringList extends AbstractList<String> implements RandomAccess {
+
+  private static final Utf8StringList EMPTY = new Utf8StringList(
+    new byte[0],
+    new int[] { 0 }
+  );
+
+  private final byte[] bytes;
+  // offsets[i] is the start of element i, offsets[size] is the end of the last element
+  private final int[] offsets;
+
+  private Utf8StringList(byte[] bytes, int[] offsets) {
+    this.bytes = bytes;
+    this.offsets = offsets;
+  }
+
+  public static Utf8StringList of() {
+    return EMPTY;
+  }
+
+  public static Utf8StringList of(String... elements) {
+    return copyOf(Arrays.asList(elements));
+  }
+
+  public static Utf8StringList copyOf(Iterable<? extends String> elements) {
+    if (elements instanceof Utf8StringList) {
+      return (Utf8StringList) elements;
+    }
+
+    Builder builder = elements instanceof Collection
+      ? new Builder(((Collection<?>) elements).size())
+      : new Builder();
+    for (String element : elements) {
+      builder.add(element);
+    }
+    return builder.build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public String get(int index) {
+    Preconditions.checkElementIndex(index, size());
+    return new String(
+      bytes,
+      offsets[index],
+      offsets[index + 1] - offsets[index],
+      StandardCharsets.UTF_8
+    );
+  }
+
+  @Override
+  public int size() {
+    return offsets.length - 1;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    if (!(o instanceof String)) {
+      return -1;
+    }
+
+    byte[] encoded = StrictUtf8.encodeForLookup((String) o);
+    if (encoded == null) {
+      return -1;
+    }
+    for (int i = 0; i < size(); i++) {
+      if (elementEquals(i, encoded)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    if (!(o instanceof String)) {
+      return -1;
+    }
+
+    byte[] encoded = StrictUtf8.encodeForLookup((String) o);
+    if (encoded == null) {
+      return -1;
+    }
+    for (int i = size() - 1; i >= 0; i--) {
+      if (elementEquals(i, encoded)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    } else if (o instanceof Utf8StringList) {
+      Utf8StringList that = (Utf8StringList) o;
+      return Arrays.equals(offsets, that.offsets) && Arrays.equals(bytes, that.bytes);
+    } else {
+      return super.equals(o);
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  /**
+   * Size of the encoded element data in bytes, excluding the offset table.
+   */
+  public int encodedSize() {
+    return bytes.length;
+  }
+
+  private boolean elementEquals(int index, byte[] encoded) {
+    int start = offsets[index];
+    int length = offsets[index + 1] - start;
+    if (length != encoded.length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (bytes[start + i] != encoded[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static final class Builder {
+
+    private byte[] bytes;
+    private int[] offsets;
+    private int size = 0;
+
+    private Builder() {
+      this(8);
+    }
+
+    private Builder(int expectedSize) {
+      this.bytes = new byte[Math.max(expectedSize, 1) * 8];
+      this.offsets = new int[expectedSize + 1];
+    }
+
+    public Builder add(String element) {
+      byte[] encoded = StrictUtf8.encode(Objects.requireNonNull(element, "element"));
+
+      int start = offsets[size];
+      if (start + encoded.length > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, start + encoded.length));
+      }
+      System.arraycopy(encoded, 0, bytes, start, encoded.length);
+
+      if (size + 2 > offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+      }
+      offsets[++size] = start + encoded.length;
+      return this;
+    }
+
+    public Builder addAll(Iterable<? extends String> elements) {
+      for (String element : elements) {
+        add(element);
+      }
+      return this;
+    }
+
+    public Utf8StringList build() {
+      if (size == 0) {
+        return EMPTY;
+      }
+      return new Utf8StringList(
+        Arrays.copyOf(bytes, offsets[size]),
+        Arrays.copyOf(offsets, size + 1)
+      );
+    }
+  }
+
+  public static class Deserializer extends JsonDeserializer<Utf8StringList> {
+
+    @Override
+    public Utf8StringList deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+      if (!p.isExpectedStartArrayToken()) {
+        return (Utf8StringList) ctxt.handleUnexpectedToken(Utf8StringList.class, p);
+      }
+
+      Builder builder = new Builder();
+      JsonToken token;
+      while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.VALUE_STRING) {
+          return (Utf8StringList) ctxt.handleUnexpectedToken(String.class, p);
+        }
+        builder.add(p.getText());
+      }
+      return builder.build();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.hubspot.immutable.collection.encoding;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+@Encoding
+public class Utf8StringListEncoding {
+
+  @Encoding.Impl
+  private Utf8StringList field = null;
+
+  @Encoding.Expose
+  Utf8StringList getUtf8StringList() {
+    if (field != null) {
+      return field;
+    } else {
+      return com.hubspot.immutable.collection.encoding.Utf8StringList.of();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  Utf8StringList withCollectionVarargs(String... elements) {
+    return com.hubspot.immutable.collection.encoding.Utf8StringList.of(elements);
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  Utf8StringList withCollection(Iterable<String> elements) {
+    return com.hubspot.immutable.collection.encoding.Utf8StringList.copyOf(elements);
+  }
+
+  @Encoding.Of
+  static Utf8StringList of(Collection<String> input) {
+    return com.hubspot.immutable.collection.encoding.Utf8StringList.copyOf(input);
+  }
+
+  @Encoding.Builder
+  static class Builder {
+
+    private Utf8StringList list = null;
+    private Utf8StringList.Builder builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(String... element) {
+      if (builder != null) {
+        builder.addAll(Arrays.asList(element));
+      } else if (list != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.Utf8StringList
+            .builder()
+            .addAll(list)
+            .addAll(Arrays.asList(element));
+
+        list = null;
+      } else {
+        builder =
+          com.hubspot.immutable.collection.encoding.Utf8StringList
+            .builder()
+            .addAll(Arrays.asList(element));
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<String> elements) {
+      if (builder != null) {
+        builder.addAll(elements);
+      } else if (list != null) {
+        builder =
+          com.hubspot.immutable.collection.encoding.Utf8StringList
+            .builder()
+            .addAll(list)
+            .addAll(elements);
+
+        list = null;
+      } else {
+        set(elements);
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<String> input) {
+      list = com.hubspot.immutable.collection.encoding.Utf8StringList.copyOf(input);
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return list != null || builder != null;
+    }
+
+    @Encoding.Build
+    Utf8StringList build() {
+      if (builder != null) {
+        return builder.build();
+      } else if (list != null) {
+        return list;
+      } else {
+        return com.hubspot.immutable.collection.encoding.Utf8StringList.of();
+      }
+    }
+  }
+}
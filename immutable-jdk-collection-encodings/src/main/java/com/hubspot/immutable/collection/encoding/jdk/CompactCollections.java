@@ -0,0 +1,292 @@
+package com.hubspot.immutable.collection.encoding.jdk;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Exact-size, unmodifiable {@link List}, {@link Set} and {@link Map}
+ * implementations that only depend on the JDK, used by
+ * {@link JdkListEncoding}, {@link JdkSetEncoding} and {@link JdkMapEncoding}.
+ *
+ * Each collection is a single object over exact-size arrays, rather than an
+ * {@code ArrayList} with slack capacity behind an unmodifiable wrapper. Sets
+ * and maps index their arrays with an open-addressing {@code int[]} table and
+ * iterate in insertion order, like the {@code LinkedHashSet} and
+ * {@code LinkedHashMap} that {@code jdkOnly} styles build. The copy methods
+ * return collections created here as they are, so copying an immutable that
+ * holds them doesn't copy the collections again.
+ */
+public final class CompactCollections {
+
+  private CompactCollections() {}
+
+  @SuppressWarnings("unchecked")
+  public static <T> List<T> copyOfList(Iterable<? extends T> elements) {
+    if (elements instanceof CompactList || elements == Collections.emptyList()) {
+      return (List<T>) elements;
+    }
+
+    Collection<? extends T> collection;
+    if (elements instanceof Collection) {
+      collection = (Collection<? extends T>) elements;
+    } else {
+      ArrayList<T> list = new ArrayList<>();
+      for (T element : elements) {
+        list.add(element);
+      }
+      collection = list;
+    }
+    return adoptList(collection.toArray());
+  }
+
+  /**
+   * Wraps {@code array} without copying it. Callers must not modify or leak
+   * the array afterwards.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> List<T> adoptList(Object[] array) {
+    if (array.length == 0) {
+      return Collections.emptyList();
+    }
+    for (Object element : array) {
+      Objects.requireNonNull(element, "element");
+    }
+    if (array.getClass() != Object[].class) {
+      // Collection#toArray() may return a more specific array type
+      array = Arrays.copyOf(array, array.length, Object[].class);
+    }
+    return new CompactList<>(array);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> Set<T> copyOfSet(Iterable<? extends T> elements) {
+    if (elements instanceof CompactSet || elements == Collections.emptySet()) {
+      return (Set<T>) elements;
+    }
+
+    Set<? extends T> distinct;
+    if (elements instanceof HashSet) {
+      // unlike an arbitrary Set, its elements are known to be distinct by equals
+      distinct = (HashSet<? extends T>) elements;
+    } else {
+      LinkedHashSet<T> set = new LinkedHashSet<>();
+      for (T element : elements) {
+        set.add(element);
+      }
+      distinct = set;
+    }
+    return adoptSet(distinct.toArray());
+  }
+
+  /**
+   * Wraps {@code array}, whose elements must already be distinct, without
+   * copying it. Callers must not modify or leak the array afterwards.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Set<T> adoptSet(Object[] array) {
+    if (array.length == 0) {
+      return Collections.emptySet();
+    }
+    for (Object element : array) {
+      Objects.requireNonNull(element, "element");
+    }
+    if (array.getClass() != Object[].class) {
+      array = Arrays.copyOf(array, array.length, Object[].class);
+    }
+    return new CompactSet<>(array, index(array));
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <K, V> Map<K, V> copyOfMap(Map<? extends K, ? extends V> map) {
+    if (map instanceof CompactMap || map == Collections.emptyMap()) {
+      return (Map<K, V>) map;
+    } else if (map.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Object[] keys = new Object[map.size()];
+    Object[] values = new Object[map.size()];
+    int index = 0;
+    for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+      keys[index] = Objects.requireNonNull(entry.getKey(), "key");
+      values[index] = Objects.requireNonNull(entry.getValue(), "value");
+      index++;
+    }
+    return new CompactMap<>(keys, values, index(keys));
+  }
+
+  private static int[] index(Object[] elements) {
+    int[] table = new int[Integer.highestOneBit(elements.length * 2 - 1) << 1];
+    int mask = table.length - 1;
+    for (int i = 0; i < elements.length; i++) {
+      int slot = spread(elements[i].hashCode()) & mask;
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = i + 1;
+    }
+    return table;
+  }
+
+  private static int indexOf(Object[] elements, int[] table, Object o) {
+    if (o == null) {
+      return -1;
+    }
+
+    int mask = table.length - 1;
+    for (int slot = spread(o.hashCode()) & mask;; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      } else if (o.equals(elements[entry - 1])) {
+        return entry - 1;
+      }
+    }
+  }
+
+  private static int spread(int hash) {
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private static final class CompactList<E>
+    extends AbstractList<E>
+    implements RandomAccess {
+
+    private final Object[] elements;
+
+    private CompactList(Object[] elements) {
+      this.elements = elements;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+      return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+      return elements.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+      return elements.clone();
+    }
+  }
+
+  private static final class CompactSet<E> extends AbstractSet<E> {
+
+    private final Object[] elements;
+    private final int[] table;
+
+    private CompactSet(Object[] elements, int[] table) {
+      this.elements = elements;
+      this.table = table;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return indexOf(elements, table, o) >= 0;
+    }
+
+    @Override
+    public int size() {
+      return elements.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+      return (Iterator<E>) Collections
+        .unmodifiableList(Arrays.asList(elements))
+        .iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+      return elements.clone();
+    }
+  }
+
+  private static final class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    private final Object[] keys;
+    private final Object[] values;
+    private final int[] table;
+
+    private CompactMap(Object[] keys, Object[] values, int[] table) {
+      this.keys = keys;
+      this.values = values;
+      this.table = table;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+      int index = indexOf(keys, table, key);
+      return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return indexOf(keys, table, key) >= 0;
+    }
+
+    @Override
+    public int size() {
+      return keys.length;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+      return new AbstractSet<Entry<K, V>>() {
+        @Override
+        public int size() {
+          return keys.length;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          return new Iterator<Entry<K, V>>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+              return index < keys.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Entry<K, V> next() {
+              if (index >= keys.length) {
+                throw new NoSuchElementException();
+              }
+              Entry<K, V> entry = new SimpleImmutableEntry<>(
+                (K) keys[index],
+                (V) values[index]
+              );
+              index++;
+              return entry;
+            }
+          };
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.hubspot.immutable.collection.encoding.jdk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+/**
+ * A {@link List} encoding that only uses the JDK at runtime, for
+ * {@code jdkOnly} styles like {@code HubSpotStyle}. Built lists are exact-size
+ * {@link CompactCollections} lists, and lists that already are one are kept
+ * as they are by {@code with*} and {@code set*} instead of being copied.
+ */
+@Encoding
+public class JdkListEncoding<T> {
+
+  @Encoding.Impl
+  private List<T> field = null;
+
+  @Encoding.Expose
+  List<T> getList() {
+    if (field != null) {
+      return field;
+    } else {
+      return Collections.emptyList();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  List<T> withCollectionVarargs(T... elements) {
+    return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfList(
+      Arrays.asList(elements)
+    );
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  List<T> withCollection(Iterable<? extends T> elements) {
+    return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfList(
+      elements
+    );
+  }
+
+  @Encoding.Of
+  static <T> List<T> of(Collection<? extends T> input) {
+    return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfList(
+      input
+    );
+  }
+
+  @Encoding.Builder
+  static class Builder<T> {
+
+    private List<T> list = null;
+    private ArrayList<T> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(T... element) {
+      if (builder == null) {
+        builder = new ArrayList<>((list != null ? list.size() : 0) + element.length);
+        if (list != null) {
+          builder.addAll(list);
+          list = null;
+        }
+      }
+      for (T e : element) {
+        builder.add(Objects.requireNonNull(e, "element"));
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<? extends T> elements) {
+      if (builder == null && list == null) {
+        set(elements);
+      } else {
+        if (builder == null) {
+          int additionalSize = 0;
+          if (elements instanceof Collection) {
+            additionalSize = ((Collection<? extends T>) elements).size();
+          }
+          builder = new ArrayList<>(list.size() + additionalSize);
+          builder.addAll(list);
+          list = null;
+        }
+        for (T element : elements) {
+          builder.add(Objects.requireNonNull(element, "element"));
+        }
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<? extends T> input) {
+      list = com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfList(
+        input
+      );
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return list != null || builder != null;
+    }
+
+    @Encoding.Build
+    List<T> build() {
+      if (builder != null) {
+        // toArray() is already exact-size, so the result adopts it without another copy
+        return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.adoptList(
+          builder.toArray()
+        );
+      } else if (list != null) {
+        return list;
+      } else {
+        return Collections.emptyList();
+      }
+    }
+  }
+}
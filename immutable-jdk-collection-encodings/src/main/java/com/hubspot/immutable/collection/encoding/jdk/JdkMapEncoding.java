@@ -0,0 +1,123 @@
+package com.hubspot.immutable.collection.encoding.jdk;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+/**
+ * A {@link Map} encoding that only uses the JDK at runtime, for
+ * {@code jdkOnly} styles like {@code HubSpotStyle}. Built maps are exact-size
+ * {@link CompactCollections} maps that iterate in insertion order, and maps
+ * that already are one are kept as they are by {@code with*} and
+ * {@code set*} instead of being copied.
+ *
+ * Like the {@code LinkedHashMap} a {@code jdkOnly} builder uses, putting a
+ * key again replaces its value rather than failing the build.
+ */
+@Encoding
+public class JdkMapEncoding<K, V> {
+
+  @Encoding.Impl
+  private Map<K, V> field = null;
+
+  @Encoding.Expose
+  Map<K, V> getMap() {
+    if (field != null) {
+      return field;
+    } else {
+      return Collections.emptyMap();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  Map<K, V> withCollection(Map<K, ? extends V> elements) {
+    return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfMap(
+      elements
+    );
+  }
+
+  @Encoding.Of
+  static <K, V> Map<K, V> of(Map<? extends K, ? extends V> input) {
+    return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfMap(
+      input
+    );
+  }
+
+  @Encoding.Builder
+  static class Builder<K, V> {
+
+    private Map<K, V> map = null;
+    private LinkedHashMap<K, V> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void put(K key, V value) {
+      if (builder == null) {
+        builder = map != null ? new LinkedHashMap<>(map) : new LinkedHashMap<>();
+        map = null;
+      }
+      builder.put(
+        Objects.requireNonNull(key, "key"),
+        Objects.requireNonNull(value, "value")
+      );
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT)
+    void putEntry(Map.Entry<K, ? extends V> entry) {
+      put(entry.getKey(), entry.getValue());
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.PUT_ALL)
+    void putAll(Map<K, ? extends V> elements) {
+      if (builder == null && map == null) {
+        set(elements);
+      } else {
+        if (builder == null) {
+          builder = new LinkedHashMap<>(map);
+          map = null;
+        }
+        for (Map.Entry<K, ? extends V> entry : elements.entrySet()) {
+          builder.put(
+            Objects.requireNonNull(entry.getKey(), "key"),
+            Objects.requireNonNull(entry.getValue(), "value")
+          );
+        }
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Map<K, ? extends V> input) {
+      map = com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfMap(
+        input
+      );
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return map != null || builder != null;
+    }
+
+    @Encoding.Build
+    Map<K, V> build() {
+      if (builder != null) {
+        return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfMap(
+          builder
+        );
+      } else if (map != null) {
+        return map;
+      } else {
+        return Collections.emptyMap();
+      }
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.hubspot.immutable.collection.encoding.jdk;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import org.immutables.encode.Encoding;
+import org.immutables.encode.Encoding.Naming;
+import org.immutables.encode.Encoding.StandardNaming;
+
+/**
+ * A {@link Set} encoding that only uses the JDK at runtime, for
+ * {@code jdkOnly} styles like {@code HubSpotStyle}. Built sets are exact-size
+ * {@link CompactCollections} sets that iterate in insertion order, and sets
+ * that already are one are kept as they are by {@code with*} and
+ * {@code set*} instead of being copied.
+ */
+@Encoding
+public class JdkSetEncoding<T> {
+
+  @Encoding.Impl
+  private Set<T> field = null;
+
+  @Encoding.Expose
+  Set<T> getSet() {
+    if (field != null) {
+      return field;
+    } else {
+      return Collections.emptySet();
+    }
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  Set<T> withCollectionVarargs(T... elements) {
+    return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfSet(
+      Arrays.asList(elements)
+    );
+  }
+
+  @Encoding.Copy
+  @Naming(standard = StandardNaming.WITH)
+  Set<T> withCollection(Iterable<? extends T> elements) {
+    return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfSet(
+      elements
+    );
+  }
+
+  @Encoding.Of
+  static <T> Set<T> of(Collection<? extends T> input) {
+    return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfSet(
+      input
+    );
+  }
+
+  @Encoding.Builder
+  static class Builder<T> {
+
+    private Set<T> set = null;
+    private LinkedHashSet<T> builder = null;
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD)
+    void add(T... element) {
+      if (builder == null) {
+        builder = set != null ? new LinkedHashSet<>(set) : new LinkedHashSet<>();
+        set = null;
+      }
+      for (T e : element) {
+        builder.add(Objects.requireNonNull(e, "element"));
+      }
+    }
+
+    @Encoding.Init
+    @Naming(standard = StandardNaming.ADD_ALL)
+    void addAll(Iterable<? extends T> elements) {
+      if (builder == null && set == null) {
+        set(elements);
+      } else {
+        if (builder == null) {
+          builder = new LinkedHashSet<>(set);
+          set = null;
+        }
+        for (T element : elements) {
+          builder.add(Objects.requireNonNull(element, "element"));
+        }
+      }
+    }
+
+    @Encoding.Init
+    @Encoding.Copy
+    @Naming(standard = StandardNaming.INIT)
+    void set(Iterable<? extends T> input) {
+      set = com.hubspot.immutable.collection.encoding.jdk.CompactCollections.copyOfSet(
+        input
+      );
+      builder = null;
+    }
+
+    @Encoding.IsInit
+    boolean isSet() {
+      return set != null || builder != null;
+    }
+
+    @Encoding.Build
+    Set<T> build() {
+      if (builder != null) {
+        // the builder already removed duplicates, so its array is adopted as is
+        return com.hubspot.immutable.collection.encoding.jdk.CompactCollections.adoptSet(
+          builder.toArray()
+        );
+      } else if (set != null) {
+        return set;
+      } else {
+        return Collections.emptySet();
+      }
+    }
+  }
+}